@@ -0,0 +1,59 @@
+package io.quarkus.reactivemessaging.http.load;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+
+import javax.management.remote.JMXConnector;
+import javax.management.remote.JMXConnectorFactory;
+import javax.management.remote.JMXServiceURL;
+
+import com.sun.management.ThreadMXBean;
+import com.sun.tools.attach.VirtualMachine;
+
+/**
+ * Reads the number of bytes allocated by the threads of the application, over a local JMX connection
+ * opened with the attach API.
+ * <p>
+ * The allocations of threads that terminate during the measurement are not accounted, which is fine for
+ * the event loops and worker threads of a running application
+ */
+class AllocationSampler implements AutoCloseable {
+    private final JMXConnector connector;
+    private final ThreadMXBean threads;
+
+    private AllocationSampler(JMXConnector connector, ThreadMXBean threads) {
+        this.connector = connector;
+        this.threads = threads;
+    }
+
+    static AllocationSampler attach(String pid) throws Exception {
+        VirtualMachine vm = VirtualMachine.attach(pid);
+        try {
+            String address = vm.startLocalManagementAgent();
+            JMXConnector connector = JMXConnectorFactory.connect(new JMXServiceURL(address));
+            ThreadMXBean threads = ManagementFactory.newPlatformMXBeanProxy(connector.getMBeanServerConnection(),
+                    ManagementFactory.THREAD_MXBEAN_NAME, ThreadMXBean.class);
+            return new AllocationSampler(connector, threads);
+        } finally {
+            vm.detach();
+        }
+    }
+
+    /**
+     * @return the total number of bytes allocated so far by the live threads of the application
+     */
+    long allocatedBytes() {
+        long total = 0;
+        for (long allocated : threads.getThreadAllocatedBytes(threads.getAllThreadIds())) {
+            if (allocated > 0) {
+                total += allocated;
+            }
+        }
+        return total;
+    }
+
+    @Override
+    public void close() throws IOException {
+        connector.close();
+    }
+}
@@ -0,0 +1,67 @@
+package io.quarkus.reactivemessaging.http.load;
+
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpClientOptions;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpVersion;
+import io.vertx.core.http.RequestOptions;
+
+/**
+ * Sends every message as a request to an incoming {@code quarkus-http} channel.
+ * The application responds with 202 once the message is acknowledged, and with 503 if the buffer is full
+ */
+class HttpLoadGenerator extends LoadGenerator {
+
+    private final RequestOptions requestOptions;
+    private HttpClient client;
+
+    HttpLoadGenerator(Vertx vertx, LoadOptions options) {
+        super(vertx, options);
+        this.requestOptions = new RequestOptions()
+                .setMethod(HttpMethod.valueOf(options.method()))
+                .setHost(options.host())
+                .setPort(options.port())
+                .setURI(options.path())
+                .putHeader(HttpHeaders.CONTENT_TYPE, "application/json");
+    }
+
+    @Override
+    protected Future<Void> connect() {
+        HttpClientOptions clientOptions = new HttpClientOptions()
+                .setProtocolVersion(options.http2() ? HttpVersion.HTTP_2 : HttpVersion.HTTP_1_1)
+                .setHttp2ClearTextUpgrade(false)
+                .setMaxPoolSize(options.connections())
+                .setHttp2MaxPoolSize(options.connections())
+                .setMaxWaitQueueSize(-1);
+        client = vertx.createHttpClient(clientOptions);
+        return Future.succeededFuture();
+    }
+
+    @Override
+    protected void send(int connection, Buffer payload, Handler<Outcome> done) {
+        client.request(requestOptions)
+                .compose(request -> request.send(payload))
+                .compose(response -> response.body().map(ignored -> response.statusCode()))
+                .onComplete(result -> {
+                    if (result.failed()) {
+                        done.handle(Outcome.FAILED);
+                    } else if (result.result() == 202) {
+                        done.handle(Outcome.ACCEPTED);
+                    } else if (result.result() == 503) {
+                        done.handle(Outcome.REJECTED);
+                    } else {
+                        done.handle(Outcome.FAILED);
+                    }
+                });
+    }
+
+    @Override
+    protected Future<Void> disconnect() {
+        return client.close();
+    }
+}
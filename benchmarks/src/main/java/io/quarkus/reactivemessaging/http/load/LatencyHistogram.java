@@ -0,0 +1,86 @@
+package io.quarkus.reactivemessaging.http.load;
+
+import java.util.Arrays;
+
+/**
+ * A log-linear histogram of latencies in microseconds, with a relative error below 1%.
+ * <p>
+ * Not thread-safe, every load generator records to its own histogram from its event loop,
+ * the histograms are merged when the run ends.
+ */
+class LatencyHistogram {
+    // 128 sub-buckets per power of two
+    private static final int SUB_BUCKET_BITS = 7;
+    private static final int SUB_BUCKET_MASK = (1 << SUB_BUCKET_BITS) - 1;
+
+    private final long[] counts = new long[64 << SUB_BUCKET_BITS];
+    private long total;
+    private long max;
+
+    void recordNanos(long nanos) {
+        long micros = Math.max(0, nanos / 1_000);
+        counts[index(micros)]++;
+        total++;
+        max = Math.max(max, micros);
+    }
+
+    void add(LatencyHistogram other) {
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+        total += other.total;
+        max = Math.max(max, other.max);
+    }
+
+    void reset() {
+        Arrays.fill(counts, 0);
+        total = 0;
+        max = 0;
+    }
+
+    long count() {
+        return total;
+    }
+
+    long maxMicros() {
+        return max;
+    }
+
+    /**
+     * @param percentile the percentile, between 0 and 100
+     * @return the lowest latency, in microseconds, of the bucket containing the percentile
+     */
+    long percentileMicros(double percentile) {
+        if (total == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(total * percentile / 100));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= target) {
+                return Math.min(lowestValue(i), max);
+            }
+        }
+        return max;
+    }
+
+    static int index(long value) {
+        if (value <= SUB_BUCKET_MASK) {
+            return (int) value;
+        }
+        int magnitude = 63 - Long.numberOfLeadingZeros(value);
+        int shift = magnitude - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) & SUB_BUCKET_MASK;
+        return ((shift + 1) << SUB_BUCKET_BITS) + subBucket;
+    }
+
+    static long lowestValue(int index) {
+        int bucket = index >>> SUB_BUCKET_BITS;
+        int subBucket = index & SUB_BUCKET_MASK;
+        if (bucket == 0) {
+            return subBucket;
+        }
+        return ((long) ((1 << SUB_BUCKET_BITS) | subBucket)) << (bucket - 1);
+    }
+}
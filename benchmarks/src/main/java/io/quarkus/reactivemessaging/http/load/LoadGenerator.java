@@ -0,0 +1,170 @@
+package io.quarkus.reactivemessaging.http.load;
+
+import java.util.concurrent.TimeUnit;
+
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+
+/**
+ * Sends messages to an incoming channel from a single event loop and records the latency of each of them.
+ * <p>
+ * With a rate, messages are sent on a fixed schedule (an open model), and the latency is measured from the time
+ * a message should have been sent, so that a stalled application is not hidden by the generator waiting for it.
+ * Without a rate, every connection sends a new message as soon as the previous one is responded (a closed model).
+ */
+abstract class LoadGenerator {
+    private static final String[] CURRENCIES = { "EUR", "USD", "CHF", "PLN" };
+    private static final long TICK_MILLIS = 1;
+
+    enum Outcome {
+        /** the message has been accepted and acknowledged */
+        ACCEPTED,
+        /** the message has been rejected because the buffer of the channel was full */
+        REJECTED,
+        /** the message could not be sent, or failed to be processed */
+        FAILED
+    }
+
+    protected final Vertx vertx;
+    protected final LoadOptions options;
+    private final Context context;
+    private final Buffer[] payloads;
+
+    // accessed only from the generator's context:
+    private final LatencyHistogram histogram = new LatencyHistogram();
+    private long accepted;
+    private long rejected;
+    private long failed;
+    private long missed;
+    private int outstanding;
+    private long sent;
+    private boolean running;
+    private long timerId = -1;
+    private long nextSendNanos;
+    private long intervalNanos;
+
+    LoadGenerator(Vertx vertx, LoadOptions options) {
+        this.vertx = vertx;
+        this.options = options;
+        // called from the main thread, every generator gets an event loop of its own
+        this.context = vertx.getOrCreateContext();
+        this.payloads = new Buffer[CURRENCIES.length];
+        for (int i = 0; i < CURRENCIES.length; i++) {
+            payloads[i] = Buffer.buffer("{\"value\":" + (i + 1) * 10.5 + ",\"currency\":\"" + CURRENCIES[i] + "\"}");
+        }
+    }
+
+    /**
+     * open the connections to the application, called on the generator's context
+     */
+    protected abstract Future<Void> connect();
+
+    /**
+     * send a message to the application, called on the generator's context
+     *
+     * @param connection index of the connection to use
+     * @param payload the message
+     * @param done handler to invoke on the generator's context when the message is responded
+     */
+    protected abstract void send(int connection, Buffer payload, Handler<Outcome> done);
+
+    /**
+     * close the connections, called on the generator's context
+     */
+    protected abstract Future<Void> disconnect();
+
+    Future<Void> start(double rate) {
+        Promise<Void> started = Promise.promise();
+        context.runOnContext(ignored -> connect().onComplete(result -> {
+            if (result.failed()) {
+                started.fail(result.cause());
+                return;
+            }
+            running = true;
+            if (rate > 0) {
+                intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+                nextSendNanos = System.nanoTime();
+                timerId = vertx.setPeriodic(TICK_MILLIS, id -> tick());
+            } else {
+                for (int i = 0; i < options.connections(); i++) {
+                    sendNext(i, System.nanoTime());
+                }
+            }
+            started.complete();
+        }));
+        return started.future();
+    }
+
+    /**
+     * forget the results recorded so far, e.g. at the end of the warm-up
+     */
+    Future<Void> reset() {
+        Promise<Void> done = Promise.promise();
+        context.runOnContext(ignored -> {
+            histogram.reset();
+            accepted = rejected = failed = missed = 0;
+            done.complete();
+        });
+        return done.future();
+    }
+
+    Future<Result> stop() {
+        Promise<Result> stopped = Promise.promise();
+        context.runOnContext(ignored -> {
+            running = false;
+            if (timerId != -1) {
+                vertx.cancelTimer(timerId);
+            }
+            // copied, the messages still in flight are responded after the end of the run
+            LatencyHistogram latencies = new LatencyHistogram();
+            latencies.add(histogram);
+            Result result = new Result(latencies, accepted, rejected, failed, missed);
+            disconnect().onComplete(closed -> stopped.complete(result));
+        });
+        return stopped.future();
+    }
+
+    private void tick() {
+        long now = System.nanoTime();
+        while (running && nextSendNanos <= now) {
+            if (outstanding < options.maxOutstanding()) {
+                sendNext((int) (sent % options.connections()), nextSendNanos);
+            } else {
+                // the application does not keep up with the rate
+                missed++;
+            }
+            nextSendNanos += intervalNanos;
+        }
+    }
+
+    private void sendNext(int connection, long intendedStartNanos) {
+        outstanding++;
+        Buffer payload = payloads[(int) (sent++ % payloads.length)];
+        send(connection, payload, outcome -> {
+            outstanding--;
+            switch (outcome) {
+                case ACCEPTED -> {
+                    accepted++;
+                    histogram.recordNanos(System.nanoTime() - intendedStartNanos);
+                }
+                case REJECTED -> rejected++;
+                case FAILED -> failed++;
+            }
+            if (running && timerId == -1) {
+                if (outcome == Outcome.ACCEPTED) {
+                    sendNext(connection, System.nanoTime());
+                } else {
+                    // do not spin while the application rejects the messages
+                    vertx.setTimer(TICK_MILLIS, id -> sendNext(connection, System.nanoTime()));
+                }
+            }
+        });
+    }
+
+    record Result(LatencyHistogram histogram, long accepted, long rejected, long failed, long missed) {
+    }
+}
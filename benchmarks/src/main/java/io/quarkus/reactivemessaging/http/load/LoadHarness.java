@@ -0,0 +1,130 @@
+package io.quarkus.reactivemessaging.http.load;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.VertxOptions;
+
+/**
+ * Drives an incoming channel of a running application, e.g. one of the quickstarts, and reports the throughput,
+ * the latency percentiles and, optionally, the allocation rate of the application.
+ * A stub server receives the messages of the outgoing channel of the application.
+ * <p>
+ * See the README of the benchmarks module for how to run it
+ */
+public class LoadHarness {
+
+    public static void main(String[] args) throws Exception {
+        if (List.of(args).contains("--help")) {
+            System.out.println(LoadOptions.USAGE);
+            return;
+        }
+        LoadOptions options;
+        try {
+            options = LoadOptions.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(LoadOptions.USAGE);
+            System.exit(1);
+            return;
+        }
+        new LoadHarness().run(options);
+    }
+
+    void run(LoadOptions options) throws Exception {
+        Vertx vertx = Vertx.vertx(new VertxOptions().setEventLoopPoolSize(
+                Math.max(options.generators() * 2, VertxOptions.DEFAULT_EVENT_LOOP_POOL_SIZE)));
+        StubServer stub = null;
+        AllocationSampler allocations = null;
+        try {
+            if (options.stubPort() > 0) {
+                stub = new StubServer(vertx, options.stubPort(), options.stubDelayMillis(),
+                        Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+                await(stub.start());
+            }
+            if (options.appPid() != null) {
+                allocations = AllocationSampler.attach(options.appPid());
+            }
+
+            List<LoadGenerator> generators = new ArrayList<>();
+            List<Future<Void>> starting = new ArrayList<>();
+            for (int i = 0; i < options.generators(); i++) {
+                LoadGenerator generator = options.transport().equals("websocket")
+                        ? new WebSocketLoadGenerator(vertx, options)
+                        : new HttpLoadGenerator(vertx, options);
+                generators.add(generator);
+                starting.add(generator.start(options.rate() / options.generators()));
+            }
+            await(Future.all(starting));
+
+            System.out.printf("Warming up for %d s%n", options.warmupSeconds());
+            TimeUnit.SECONDS.sleep(options.warmupSeconds());
+
+            List<Future<Void>> resetting = new ArrayList<>();
+            generators.forEach(generator -> resetting.add(generator.reset()));
+            await(Future.all(resetting));
+            long stubReceivedAtStart = stub != null ? stub.received() : 0;
+            long allocatedAtStart = allocations != null ? allocations.allocatedBytes() : 0;
+            long start = System.nanoTime();
+
+            System.out.printf("Measuring for %d s%n", options.durationSeconds());
+            TimeUnit.SECONDS.sleep(options.durationSeconds());
+
+            List<Future<LoadGenerator.Result>> stopping = new ArrayList<>();
+            generators.forEach(generator -> stopping.add(generator.stop()));
+            await(Future.join(stopping));
+            double seconds = (System.nanoTime() - start) / 1e9;
+            long allocated = allocations != null ? allocations.allocatedBytes() - allocatedAtStart : 0;
+            long stubReceived = stub != null ? stub.received() - stubReceivedAtStart : 0;
+
+            LatencyHistogram latencies = new LatencyHistogram();
+            long accepted = 0, rejected = 0, failed = 0, missed = 0;
+            for (Future<LoadGenerator.Result> stopped : stopping) {
+                LoadGenerator.Result result = stopped.result();
+                latencies.add(result.histogram());
+                accepted += result.accepted();
+                rejected += result.rejected();
+                failed += result.failed();
+                missed += result.missed();
+            }
+
+            System.out.println();
+            System.out.printf(Locale.ROOT, "transport:   %s %s%s, %s, %d x %d connections%n",
+                    options.transport(), options.path(), options.http2() ? " (h2c)" : "",
+                    options.rate() > 0 ? String.format(Locale.ROOT, "%.0f msg/s", options.rate()) : "closed model",
+                    options.generators(), options.connections());
+            System.out.printf(Locale.ROOT, "throughput:  %.1f msg/s (%d accepted, %d rejected, %d failed, %d not sent)%n",
+                    accepted / seconds, accepted, rejected, failed, missed);
+            System.out.printf(Locale.ROOT, "latency:     p50 %s, p99 %s, p99.9 %s, max %s%n",
+                    millis(latencies.percentileMicros(50)), millis(latencies.percentileMicros(99)),
+                    millis(latencies.percentileMicros(99.9)), millis(latencies.maxMicros()));
+            if (stub != null) {
+                System.out.printf(Locale.ROOT, "outgoing:    %.1f msg/s received by the stub%n", stubReceived / seconds);
+            }
+            if (allocations != null) {
+                System.out.printf(Locale.ROOT, "allocation:  %.1f MB/s, %.1f KB per accepted message%n",
+                        allocated / seconds / (1024 * 1024), accepted > 0 ? allocated / 1024.0 / accepted : 0);
+            }
+        } finally {
+            if (allocations != null) {
+                allocations.close();
+            }
+            if (stub != null) {
+                await(stub.stop());
+            }
+            await(vertx.close());
+        }
+    }
+
+    private static String millis(long micros) {
+        return String.format(Locale.ROOT, "%.3f ms", micros / 1000.0);
+    }
+
+    private static <T> T await(Future<T> future) throws Exception {
+        return future.toCompletionStage().toCompletableFuture().get(1, TimeUnit.MINUTES);
+    }
+}
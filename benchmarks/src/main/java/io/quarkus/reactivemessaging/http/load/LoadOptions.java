@@ -0,0 +1,86 @@
+package io.quarkus.reactivemessaging.http.load;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Options of a load harness run, parsed from {@code --name=value} arguments
+ *
+ * @param transport {@code http} or {@code websocket}
+ * @param host host of the application
+ * @param port port of the application
+ * @param path path of the incoming channel
+ * @param method http method of the incoming channel
+ * @param http2 whether the generator uses HTTP/2 (h2c) instead of HTTP/1.1
+ * @param rate messages per second, or 0 to send a new message as soon as the previous one is responded
+ * @param generators number of generators, each using its own event loop
+ * @param connections number of connections of every generator
+ * @param maxOutstanding maximum number of messages in flight of every generator, at a fixed rate
+ * @param warmupSeconds duration of the warm-up, the results of which are discarded
+ * @param durationSeconds duration of the measurement
+ * @param stubPort port of the stub server receiving the messages of the outgoing channel, or 0 for no stub
+ * @param stubDelayMillis delay of the responses of the stub server
+ * @param appPid process id of the application, to measure its allocation rate, or null
+ */
+record LoadOptions(String transport, String host, int port, String path, String method, boolean http2,
+        double rate, int generators, int connections, int maxOutstanding,
+        int warmupSeconds, int durationSeconds, int stubPort, long stubDelayMillis, String appPid) {
+
+    static final String USAGE = """
+            Options:
+              --transport=http|websocket   transport of the incoming channel, http by default
+              --host=localhost             host of the application
+              --port=8080                  port of the application
+              --path=/costs                path of the incoming channel
+              --method=POST                http method of the incoming channel
+              --http2=false                use HTTP/2 (h2c) instead of HTTP/1.1
+              --rate=0                     messages per second, 0 to send as fast as the application responds
+              --generators=2               number of load generators, each on its own event loop
+              --connections=16             connections per generator
+              --max-outstanding=1024       maximum messages in flight per generator, with a rate
+              --warmup=10                  warm-up duration in seconds
+              --duration=30                measurement duration in seconds
+              --stub-port=9090             port of the stub receiving the outgoing messages, 0 for no stub
+              --stub-delay=0               delay of the stub responses in milliseconds
+              --app-pid=                   process id of the application, to measure its allocation rate
+            """;
+
+    static LoadOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Invalid argument '" + arg + "', expected --name=value");
+            }
+            values.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        String transport = values.getOrDefault("transport", "http");
+        if (!transport.equals("http") && !transport.equals("websocket")) {
+            throw new IllegalArgumentException("Unsupported transport '" + transport + "'");
+        }
+        LoadOptions options = new LoadOptions(
+                transport,
+                values.getOrDefault("host", "localhost"),
+                Integer.parseInt(values.getOrDefault("port", "8080")),
+                values.getOrDefault("path", "/costs"),
+                values.getOrDefault("method", "POST").toUpperCase(),
+                Boolean.parseBoolean(values.getOrDefault("http2", "false")),
+                Double.parseDouble(values.getOrDefault("rate", "0")),
+                Integer.parseInt(values.getOrDefault("generators", "2")),
+                Integer.parseInt(values.getOrDefault("connections", "16")),
+                Integer.parseInt(values.getOrDefault("max-outstanding", "1024")),
+                Integer.parseInt(values.getOrDefault("warmup", "10")),
+                Integer.parseInt(values.getOrDefault("duration", "30")),
+                Integer.parseInt(values.getOrDefault("stub-port", "9090")),
+                Long.parseLong(values.getOrDefault("stub-delay", "0")),
+                values.get("app-pid"));
+        values.keySet().removeAll(List.of("transport", "host", "port", "path", "method", "http2", "rate",
+                "generators", "connections", "max-outstanding", "warmup", "duration", "stub-port", "stub-delay",
+                "app-pid"));
+        if (!values.isEmpty()) {
+            throw new IllegalArgumentException("Unknown options " + values.keySet());
+        }
+        return options;
+    }
+}
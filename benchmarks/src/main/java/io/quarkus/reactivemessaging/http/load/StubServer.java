@@ -0,0 +1,78 @@
+package io.quarkus.reactivemessaging.http.load;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpServer;
+import io.vertx.core.http.HttpServerOptions;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.http.ServerWebSocket;
+
+/**
+ * A server receiving the messages of the outgoing channel of the application, on any path.
+ * Responds to http requests with 204, optionally after a delay to simulate a slow downstream service,
+ * and accepts web sockets, counting the messages received over them.
+ * <p>
+ * Multiple server instances share the port, each on its own event loop, so that the stub does not limit
+ * the throughput of the application
+ */
+class StubServer {
+    private final Vertx vertx;
+    private final int port;
+    private final long delayMillis;
+    private final int instances;
+    private final LongAdder received = new LongAdder();
+    private final List<HttpServer> servers = new ArrayList<>();
+
+    StubServer(Vertx vertx, int port, long delayMillis, int instances) {
+        this.vertx = vertx;
+        this.port = port;
+        this.delayMillis = delayMillis;
+        this.instances = instances;
+    }
+
+    Future<Void> start() {
+        List<Future<HttpServer>> listening = new ArrayList<>();
+        for (int i = 0; i < instances; i++) {
+            HttpServer server = vertx.createHttpServer(new HttpServerOptions().setPort(port))
+                    .webSocketHandler(this::onWebSocket)
+                    .requestHandler(this::onRequest);
+            servers.add(server);
+            listening.add(server.listen());
+        }
+        return Future.all(listening).mapEmpty();
+    }
+
+    /**
+     * @return the number of messages received so far
+     */
+    long received() {
+        return received.sum();
+    }
+
+    Future<Void> stop() {
+        List<Future<Void>> closing = new ArrayList<>();
+        for (HttpServer server : servers) {
+            closing.add(server.close());
+        }
+        return Future.join(closing).mapEmpty();
+    }
+
+    private void onRequest(HttpServerRequest request) {
+        request.body().onComplete(body -> {
+            received.increment();
+            if (delayMillis > 0) {
+                vertx.setTimer(delayMillis, id -> request.response().setStatusCode(204).end());
+            } else {
+                request.response().setStatusCode(204).end();
+            }
+        });
+    }
+
+    private void onWebSocket(ServerWebSocket webSocket) {
+        webSocket.handler(message -> received.increment());
+    }
+}
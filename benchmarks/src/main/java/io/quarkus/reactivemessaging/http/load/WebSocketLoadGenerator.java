@@ -0,0 +1,107 @@
+package io.quarkus.reactivemessaging.http.load;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.WebSocket;
+import io.vertx.core.http.WebSocketClient;
+import io.vertx.core.http.WebSocketClientOptions;
+import io.vertx.core.http.WebSocketConnectOptions;
+
+/**
+ * Sends the messages as text frames to an incoming {@code quarkus-websocket} channel, over a fixed number of
+ * web sockets. The application responds with {@code ACK} once a message is acknowledged, and with
+ * {@code BUFFER_OVERFLOW} if the buffer is full.
+ * <p>
+ * The responses do not identify the message they belong to. The acknowledgements come in the order of
+ * the messages, but a rejection is sent right away, so it is accounted to the most recent message of
+ * the web socket. The latencies are exact only if a single message per web socket is in flight.
+ */
+class WebSocketLoadGenerator extends LoadGenerator {
+    private static final Buffer ACK = Buffer.buffer("ACK");
+    private static final Buffer BUFFER_OVERFLOW = Buffer.buffer("BUFFER_OVERFLOW");
+
+    private final List<Connection> connections = new ArrayList<>();
+    private WebSocketClient client;
+
+    WebSocketLoadGenerator(Vertx vertx, LoadOptions options) {
+        super(vertx, options);
+    }
+
+    @Override
+    protected Future<Void> connect() {
+        client = vertx.createWebSocketClient(new WebSocketClientOptions());
+        WebSocketConnectOptions connectOptions = new WebSocketConnectOptions()
+                .setHost(options.host())
+                .setPort(options.port())
+                .setURI(options.path());
+        List<Future<WebSocket>> connecting = new ArrayList<>();
+        for (int i = 0; i < options.connections(); i++) {
+            connecting.add(client.connect(connectOptions));
+        }
+        return Future.all(connecting).map(all -> {
+            for (Future<WebSocket> webSocket : connecting) {
+                connections.add(new Connection(webSocket.result()));
+            }
+            return null;
+        });
+    }
+
+    @Override
+    protected void send(int connection, Buffer payload, Handler<Outcome> done) {
+        connections.get(connection).send(payload, done);
+    }
+
+    @Override
+    protected Future<Void> disconnect() {
+        List<Future<Void>> closing = new ArrayList<>();
+        for (Connection connection : connections) {
+            closing.add(connection.webSocket.close());
+        }
+        return Future.join(closing).compose(closed -> client.close());
+    }
+
+    private static class Connection {
+        private final WebSocket webSocket;
+        private final Deque<Handler<Outcome>> pending = new ArrayDeque<>();
+
+        private Connection(WebSocket webSocket) {
+            this.webSocket = webSocket;
+            webSocket.handler(this::onResponse);
+            webSocket.closeHandler(ignored -> {
+                while (!pending.isEmpty()) {
+                    pending.poll().handle(Outcome.FAILED);
+                }
+            });
+        }
+
+        private void send(Buffer payload, Handler<Outcome> done) {
+            pending.add(done);
+            webSocket.writeTextMessage(payload.toString()).onFailure(error -> {
+                if (pending.removeLastOccurrence(done)) {
+                    done.handle(Outcome.FAILED);
+                }
+            });
+        }
+
+        private void onResponse(Buffer response) {
+            if (ACK.equals(response)) {
+                Handler<Outcome> done = pending.poll();
+                if (done != null) {
+                    done.handle(Outcome.ACCEPTED);
+                }
+            } else if (BUFFER_OVERFLOW.equals(response)) {
+                Handler<Outcome> done = pending.pollLast();
+                if (done != null) {
+                    done.handle(Outcome.REJECTED);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package io.quarkus.reactivemessaging.http.runtime;
+
+import java.util.concurrent.TimeUnit;
+import java.util.zip.Deflater;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.vertx.core.buffer.Buffer;
+
+/**
+ * Compression of the request bodies of the http sink, with the compressors reused by the sending thread,
+ * compared with a {@link Deflater} allocated for every body
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BodyCompressionBenchmark {
+
+    @Param({ "gzip", "deflate" })
+    String compression;
+
+    @Param({ "1024", "16384" })
+    int bodySize;
+
+    private BodyCompressor compressor;
+    private Buffer body;
+    private byte[] bytes;
+
+    @Setup
+    public void setUp() {
+        compressor = new BodyCompressor(BodyCompression.fromConfig(compression), 6);
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; json.length() < bodySize - 80; i++) {
+            json.append(i > 0 ? "," : "").append("{\"name\":\"cost-").append(i % 7).append("\",\"value\":")
+                    .append(10.5 + i * 3.25).append(",\"currency\":\"").append(i % 2 == 0 ? "EUR" : "USD").append("\"}");
+        }
+        body = Buffer.buffer(json.append(']').toString());
+        bytes = body.getBytes();
+    }
+
+    @TearDown
+    public void tearDown() {
+        compressor.close();
+    }
+
+    @Benchmark
+    public Buffer reusedCompressor() {
+        return compressor.compress(body);
+    }
+
+    @Benchmark
+    public Buffer newDeflater() {
+        Deflater deflater = new Deflater(6, compression.equals("gzip"));
+        try {
+            deflater.setInput(bytes);
+            deflater.finish();
+            Buffer result = Buffer.buffer(bytes.length / 4 + 32);
+            byte[] chunk = new byte[8 * 1024];
+            while (!deflater.finished()) {
+                result.appendBytes(chunk, 0, deflater.deflate(chunk));
+            }
+            return result;
+        } finally {
+            deflater.end();
+        }
+    }
+}
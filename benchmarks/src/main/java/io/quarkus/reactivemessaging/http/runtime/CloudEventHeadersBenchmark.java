@@ -0,0 +1,89 @@
+package io.quarkus.reactivemessaging.http.runtime;
+
+import java.net.URI;
+import java.time.ZonedDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.microprofile.reactive.messaging.Message;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.smallrye.reactive.messaging.ce.CloudEventMetadata;
+import io.smallrye.reactive.messaging.ce.OutgoingCloudEventMetadata;
+import io.vertx.core.MultiMap;
+
+/**
+ * Parsing of the binary-mode cloud event headers of an incoming request, and generation of the headers
+ * for an outgoing message
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CloudEventHeadersBenchmark {
+
+    private MultiMap cloudEventHeaders;
+    private MultiMap plainHeaders;
+    private Message<String> cloudEventMessage;
+    private Message<String> plainMessage;
+
+    @Setup
+    public void setUp() {
+        plainHeaders = MultiMap.caseInsensitiveMultiMap()
+                .add("Content-Type", "application/json")
+                .add("Accept", "*/*")
+                .add("User-Agent", "benchmark")
+                .add("Host", "localhost:8080");
+        cloudEventHeaders = MultiMap.caseInsensitiveMultiMap()
+                .addAll(plainHeaders)
+                .add("ce-id", "8d3f6b0e-2b4c-4f6a-9a63-1c8a1e2d3f4b")
+                .add("ce-source", "https://example.com/costs")
+                .add("ce-specversion", "1.0")
+                .add("ce-type", "com.example.cost.created")
+                .add("ce-subject", "gas")
+                .add("ce-time", "2024-03-01T12:34:56.789Z")
+                .add("ce-datacontenttype", "application/json");
+
+        plainMessage = Message.of("{\"name\":\"gas\",\"value\":42.5}");
+        cloudEventMessage = plainMessage.addMetadata(OutgoingCloudEventMetadata.builder()
+                .withId("8d3f6b0e-2b4c-4f6a-9a63-1c8a1e2d3f4b")
+                .withSource(URI.create("https://example.com/costs"))
+                .withType("com.example.cost.created")
+                .withSubject("gas")
+                .withTimestamp(ZonedDateTime.parse("2024-03-01T12:34:56.789Z"))
+                .withDataContentType("application/json")
+                .build());
+    }
+
+    @Benchmark
+    public Optional<CloudEventMetadata<?>> parseCloudEventHeaders() {
+        return HttpCloudEventHelper.getBinaryCloudEvent(cloudEventHeaders);
+    }
+
+    @Benchmark
+    public Optional<CloudEventMetadata<?>> parsePlainHeaders() {
+        return HttpCloudEventHelper.getBinaryCloudEvent(plainHeaders);
+    }
+
+    @Benchmark
+    public Map<String, String> generateCloudEventHeaders() {
+        return HttpCloudEventHelper.getCloudEventHeaders(cloudEventMessage);
+    }
+
+    @Benchmark
+    public Map<String, String> generateWithoutCloudEvent() {
+        return HttpCloudEventHelper.getCloudEventHeaders(plainMessage);
+    }
+}
@@ -0,0 +1,89 @@
+package io.quarkus.reactivemessaging.http.runtime;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.microprofile.reactive.messaging.Message;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.smallrye.reactive.messaging.ce.OutgoingCloudEventMetadata;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpVersion;
+import io.vertx.mutiny.ext.web.client.HttpRequest;
+
+/**
+ * Preparation of the request for an outgoing message: the URL with path parameters, the query parameters
+ * and the headers, including the cloud event ones
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HttpRequestPreparationBenchmark {
+
+    private static final String URL = "http://localhost:8080/costs/{region}/{kind}";
+
+    @Param({ "plain", "metadata", "cloud-event" })
+    String messageType;
+
+    private Vertx vertx;
+    private HttpSink sink;
+    private Message<String> message;
+
+    @Setup
+    public void setUp() {
+        vertx = Vertx.vertx();
+        sink = new HttpSink(vertx, "POST", new EndpointSelector(List.of(URL), EndpointSelector.Strategy.ROUND_ROBIN, 0,
+                Duration.ZERO), null,
+                0, 0.5, Optional.empty(), null, null, Optional.empty(), Optional.empty(), null, Optional.empty(),
+                128, true, false, HttpVersion.HTTP_1_1, 1, Duration.ZERO, null, BodyCompression.NONE, 6, 1024, null,
+                "408,429,5xx", Duration.ofSeconds(60), null);
+        Message<String> plain = Message.of("{\"name\":\"gas\",\"value\":42.5}");
+        message = switch (messageType) {
+            case "plain" -> plain;
+            case "metadata" -> plain.addMetadata(new OutgoingHttpMetadata.Builder()
+                    .addPathParameter("region", "eu")
+                    .addPathParameter("kind", "energy")
+                    .addQueryParameter("unit", "usd")
+                    .addQueryParameter("tag", "a")
+                    .addQueryParameter("tag", "b")
+                    .addHeader("Content-Type", "application/json")
+                    .addHeader("X-Request-Id", "8d3f6b0e")
+                    .build());
+            case "cloud-event" -> plain.addMetadata(OutgoingCloudEventMetadata.builder()
+                    .withId("8d3f6b0e-2b4c-4f6a-9a63-1c8a1e2d3f4b")
+                    .withSource(URI.create("https://example.com/costs"))
+                    .withType("com.example.cost.created")
+                    .withDataContentType("application/json")
+                    .build());
+            default -> throw new IllegalArgumentException("Unknown message type " + messageType);
+        };
+    }
+
+    @TearDown
+    public void tearDown() {
+        sink.close();
+        vertx.close().toCompletionStage().toCompletableFuture().join();
+    }
+
+    @Benchmark
+    public HttpRequest<?> toHttpRequest() {
+        return sink.toHttpRequest(message, URL);
+    }
+}
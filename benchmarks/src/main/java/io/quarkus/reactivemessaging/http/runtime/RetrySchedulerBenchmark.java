@@ -0,0 +1,63 @@
+package io.quarkus.reactivemessaging.http.runtime;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Scheduling of delayed retries by many threads at once, on the timer wheel of the sinks and on a scheduled executor,
+ * as used by a back-off per message. The retries are delayed enough for a large number of them to be pending
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class RetrySchedulerBenchmark {
+
+    private static final Duration DELAY = Duration.ofMillis(200);
+
+    private final LongAdder retries = new LongAdder();
+    private final Runnable retry = retries::increment;
+    private RetryScheduler retryScheduler;
+    private ScheduledExecutorService executor;
+
+    @Setup
+    public void setUp() {
+        retryScheduler = new RetryScheduler();
+        executor = Executors.newScheduledThreadPool(1);
+    }
+
+    @TearDown
+    public void tearDown() {
+        retryScheduler.stop();
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public Object timerWheel() {
+        return retryScheduler.schedule(DELAY, retry);
+    }
+
+    @Benchmark
+    public Object scheduledExecutor() {
+        return executor.schedule(retry, DELAY.toNanos(), TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,79 @@
+package io.quarkus.reactivemessaging.http.runtime;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.quarkus.reactivemessaging.http.runtime.config.HttpStreamConfig;
+import io.quarkus.reactivemessaging.http.runtime.config.ReactiveHttpConfig;
+import io.vertx.core.http.HttpMethod;
+
+/**
+ * Resolution of the incoming HTTP stream for a request, compared to the previous, String key based, lookup
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RouteDispatchBenchmark {
+
+    @Param({ "1", "16" })
+    int paths;
+
+    private ReactiveHttpHandlerBean bean;
+    private Map<String, Object> formattedKeyProcessors;
+    private String path;
+    private HttpMethod method;
+
+    @Setup
+    public void setUp() {
+        List<HttpStreamConfig> configs = new ArrayList<>();
+        formattedKeyProcessors = new HashMap<>();
+        for (int i = 0; i < paths; i++) {
+            for (String method : List.of("POST", "PUT")) {
+                HttpStreamConfig config = new HttpStreamConfig("/path-" + i, method, "channel-" + i + "-" + method, 8,
+                        null, false, 0, null, false, QuarkusHttpConnector.DEFAULT_MAX_LINE_SIZE);
+                configs.add(config);
+                formattedKeyProcessors.put(String.format("%s:%s", config.path, config.method), config);
+            }
+        }
+        bean = new ReactiveHttpHandlerBean();
+        bean.config = new ReactiveHttpConfig() {
+            @Override
+            public List<HttpStreamConfig> getHttpConfigs() {
+                return configs;
+            }
+        };
+        bean.init();
+
+        // a different instance than the one used as the key, as for the route path of a real request
+        path = new String("/path-" + (paths / 2));
+        method = HttpMethod.PUT;
+    }
+
+    @Benchmark
+    public Object formattedKeyLookup() {
+        return formattedKeyProcessors.get(String.format("%s:%s", path, method));
+    }
+
+    @Benchmark
+    public Object precomputedLookup() {
+        return bean.findBundle(path, method);
+    }
+}
@@ -0,0 +1,77 @@
+package io.quarkus.reactivemessaging.http.runtime;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Reservation and release of space in a guard shared by all the threads, as by the event loops handling requests
+ * for the same path, with a single counter and with striped counters.
+ * Run with {@code -t} to change the number of threads of {@code emitAndConsume}, all available processors are used
+ * by default. In {@code emitters}, multiple threads emit and a single thread consumes, as the subscriber of a stream
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StrictQueueSizeGuardBenchmark {
+
+    @Param({ "8", "1024" })
+    int queueSize;
+
+    @Param({ "strict", "striped" })
+    String guardType;
+
+    private StrictQueueSizeGuard guard;
+
+    @Setup
+    public void setUp() {
+        guard = guardType.equals("striped")
+                ? new StripedQueueSizeGuard(queueSize, StripedQueueSizeGuard.DEFAULT_STRIPES)
+                : new StrictQueueSizeGuard(queueSize);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public boolean emitAndConsume() {
+        if (guard.prepareToEmit()) {
+            guard.dequeue();
+            return true;
+        }
+        return false;
+    }
+
+    @Benchmark
+    @Group("emitters")
+    @GroupThreads(4)
+    public boolean emit() {
+        return guard.prepareToEmit();
+    }
+
+    @Benchmark
+    @Group("emitters")
+    @GroupThreads(1)
+    public boolean consume() {
+        // the only thread that dequeues, the emissions cannot be dequeued by another thread in the meantime
+        if (guard.enqueued() > 0) {
+            guard.dequeue();
+            return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,106 @@
+package io.quarkus.reactivemessaging.http.runtime;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.Deflater;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * CPU cost and size of the messages compressed by the permessage-deflate extension of web sockets, for the settings
+ * of the {@code compressionLevel} and {@code compressionNoContext} attributes of the {@code quarkus-websocket} connector.
+ * <p>
+ * The extension compresses every message with a raw deflate stream, flushed at the end of the message, as done here.
+ * The {@code bytesIn} and {@code bytesOut} counters give the bandwidth saved for the time spent:
+ * their ratio is the compression ratio, the score is the time spent per message
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WebSocketCompressionBenchmark {
+
+    @Param({ "1", "6", "9" })
+    int level;
+
+    @Param({ "false", "true" })
+    boolean noContext;
+
+    @Param({ "1", "32" })
+    int events;
+
+    private Deflater deflater;
+    private byte[] message;
+    private final byte[] output = new byte[64 * 1024];
+    private int next;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Bandwidth {
+        public long bytesIn;
+        public long bytesOut;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            bytesIn = 0;
+            bytesOut = 0;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        deflater = new Deflater(level, true);
+        // a batch of cost events, as sent by the quickstarts, with varying values
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < events; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"name\":\"cost-").append(i % 7).append("\",\"value\":").append(10.5 + i * 3.25)
+                    .append(",\"currency\":\"").append(i % 2 == 0 ? "EUR" : "USD").append("\",\"timestamp\":")
+                    .append(1_700_000_000_000L + i * 1013L).append('}');
+        }
+        message = json.append(']').toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @TearDown
+    public void tearDown() {
+        deflater.end();
+    }
+
+    @Benchmark
+    public int compress(Bandwidth bandwidth) {
+        if (noContext) {
+            deflater.reset();
+        }
+        // vary the last digit of the last timestamp, so that the message is not an exact repetition of the previous one
+        message[message.length - 3] = (byte) ('0' + (next++ % 10));
+        deflater.setInput(message);
+        int compressed = 0;
+        int written;
+        do {
+            written = deflater.deflate(output, compressed, output.length - compressed, Deflater.SYNC_FLUSH);
+            compressed += written;
+        } while (written > 0 && compressed < output.length);
+        // the extension strips the trailing empty block of the flush
+        compressed -= 4;
+        bandwidth.bytesIn += message.length;
+        bandwidth.bytesOut += compressed;
+        return compressed;
+    }
+}
@@ -0,0 +1,123 @@
+package io.quarkus.reactivemessaging.http.runtime.converters;
+
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.microprofile.reactive.messaging.Message;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+
+import io.quarkus.reactivemessaging.http.runtime.serializers.DeserializerFactoryBase;
+import io.smallrye.reactive.messaging.MessageConverter;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.json.jackson.DatabindCodec;
+
+/**
+ * Conversion of an incoming message payload to the type expected by the consumer, for each of the converters
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConverterBenchmark {
+
+    private static final String OBJECT = "{\"name\":\"gas\",\"value\":42.5}";
+
+    @Param({ "string", "json-object", "json-array", "object", "object-list" })
+    String target;
+
+    private MessageConverter converter;
+    private Type targetType;
+    private Message<Buffer> message;
+
+    @Setup
+    public void setUp() {
+        String payload;
+        switch (target) {
+            case "string" -> {
+                converter = new StringConverter();
+                targetType = String.class;
+                payload = OBJECT;
+            }
+            case "json-object" -> {
+                converter = new JsonObjectConverter();
+                targetType = JsonObject.class;
+                payload = OBJECT;
+            }
+            case "json-array" -> {
+                converter = new JsonArrayConverter();
+                targetType = JsonArray.class;
+                payload = "[" + OBJECT + "," + OBJECT + "," + OBJECT + "]";
+            }
+            case "object" -> {
+                converter = objectConverter();
+                targetType = Cost.class;
+                payload = OBJECT;
+            }
+            case "object-list" -> {
+                converter = objectConverter();
+                targetType = new TypeReference<List<Cost>>() {
+                }.getType();
+                payload = "[" + OBJECT + "," + OBJECT + "," + OBJECT + "]";
+            }
+            default -> throw new IllegalArgumentException("Unknown target " + target);
+        }
+        message = Message.of(Buffer.buffer(payload));
+        if (!converter.canConvert(message, targetType)) {
+            throw new IllegalStateException(converter + " cannot convert the payload to " + targetType);
+        }
+    }
+
+    private static ObjectConverter objectConverter() {
+        ObjectConverter converter = new ObjectConverter();
+        converter.mapper = DatabindCodec.mapper();
+        converter.deserializerFactory = new DeserializerFactoryBase() {
+            @Override
+            protected void initAdditionalSerializers() {
+            }
+        };
+        return converter;
+    }
+
+    @Benchmark
+    public Message<?> convert() {
+        return converter.convert(message, targetType);
+    }
+
+    public static class Cost {
+        private String name;
+        private double value;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public double getValue() {
+            return value;
+        }
+
+        public void setValue(double value) {
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package io.quarkus.reactivemessaging.http.runtime.serializers;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.json.Json;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Resolution of the serializer for a payload, and serialization of the payload, for each of the predefined serializers
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializerBenchmark {
+
+    @Param({ "string", "buffer", "number", "json-object", "json-array", "jakarta-json-object", "jakarta-json-array",
+            "collection", "object" })
+    String payloadType;
+
+    private SerializerFactoryBase factory;
+    private Object payload;
+
+    @Setup
+    public void setUp() {
+        factory = new SerializerFactoryBase() {
+            @Override
+            protected void initAdditionalSerializers() {
+            }
+        };
+        payload = switch (payloadType) {
+            case "string" -> "{\"name\":\"gas\",\"value\":42.5,\"tags\":[\"a\",\"b\"]}";
+            case "buffer" -> Buffer.buffer("{\"name\":\"gas\",\"value\":42.5,\"tags\":[\"a\",\"b\"]}");
+            case "number" -> 42.5d;
+            case "json-object" -> new JsonObject().put("name", "gas").put("value", 42.5).put("tags", List.of("a", "b"));
+            case "json-array" -> new JsonArray().add("gas").add(42.5).add(new JsonArray().add("a").add("b"));
+            case "jakarta-json-object" -> Json.createObjectBuilder().add("name", "gas").add("value", 42.5)
+                    .add("tags", Json.createArrayBuilder().add("a").add("b")).build();
+            case "jakarta-json-array" -> Json.createArrayBuilder().add("gas").add(42.5)
+                    .add(Json.createArrayBuilder().add("a").add("b")).build();
+            case "collection" -> List.of(new Cost("gas", 42.5), new Cost("coal", 12.0), new Cost("wind", 3.2));
+            case "object" -> new Cost("gas", 42.5);
+            default -> throw new IllegalArgumentException("Unknown payload type " + payloadType);
+        };
+    }
+
+    @Benchmark
+    public Serializer<Object> resolve() {
+        return factory.getSerializer(null, payload);
+    }
+
+    @Benchmark
+    public Buffer resolveAndSerialize() {
+        return factory.getSerializer(null, payload).serialize(payload);
+    }
+
+    public static class Cost {
+        private final String name;
+        private final double value;
+
+        Cost(String name, double value) {
+            this.name = name;
+            this.value = value;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public double getValue() {
+            return value;
+        }
+    }
+}
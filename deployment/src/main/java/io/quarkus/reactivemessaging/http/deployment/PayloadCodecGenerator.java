@@ -0,0 +1,414 @@
+package io.quarkus.reactivemessaging.http.deployment;
+
+import java.io.IOException;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jboss.jandex.AnnotationInstance;
+import org.jboss.jandex.ClassInfo;
+import org.jboss.jandex.DotName;
+import org.jboss.jandex.FieldInfo;
+import org.jboss.jandex.IndexView;
+import org.jboss.jandex.MethodInfo;
+import org.jboss.jandex.PrimitiveType;
+import org.jboss.jandex.Type;
+import org.jboss.logging.Logger;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+
+import io.quarkus.gizmo.BytecodeCreator;
+import io.quarkus.gizmo.ClassCreator;
+import io.quarkus.gizmo.ClassOutput;
+import io.quarkus.gizmo.MethodCreator;
+import io.quarkus.gizmo.MethodDescriptor;
+import io.quarkus.gizmo.ResultHandle;
+import io.quarkus.reactivemessaging.http.runtime.serializers.GeneratedDeserializer;
+import io.quarkus.reactivemessaging.http.runtime.serializers.GeneratedSerializer;
+
+/**
+ * Generates serializers and deserializers for payload classes that are plain Java beans, so that the payloads
+ * are written and read without reflective introspection of the classes.
+ * <p>
+ * Only the classes for which the generated code behaves the same as Jackson's bean introspection are handled:
+ * public, non-generic classes extending {@link Object}, with public getters (and setters, for deserialization),
+ * without public fields and without Jackson annotations. The other payload classes are serialized and deserialized
+ * with the ObjectMapper.
+ */
+class PayloadCodecGenerator {
+    private static final Logger log = Logger.getLogger(PayloadCodecGenerator.class);
+
+    private static final String SERIALIZER_SUFFIX = "$$ReactiveHttpSerializer";
+    private static final String DESERIALIZER_SUFFIX = "$$ReactiveHttpDeserializer";
+
+    private static final String JACKSON_PACKAGE = "com.fasterxml.jackson.";
+    private static final DotName JACKSON_ANNOTATIONS_INSIDE = DotName
+            .createSimple("com.fasterxml.jackson.annotation.JacksonAnnotationsInside");
+    private static final DotName OBJECT = DotName.createSimple(Object.class.getName());
+    private static final DotName STRING = DotName.createSimple(String.class.getName());
+    private static final DotName SERIALIZABLE = DotName.createSimple(java.io.Serializable.class.getName());
+
+    private static final MethodDescriptor STRING_EQUALS = MethodDescriptor.ofMethod(String.class, "equals",
+            boolean.class, Object.class);
+
+    private final IndexView index;
+    private final ClassOutput classOutput;
+
+    PayloadCodecGenerator(IndexView index, ClassOutput classOutput) {
+        this.index = index;
+        this.classOutput = classOutput;
+    }
+
+    /**
+     * generate serializers for the payload classes that can be handled
+     *
+     * @param payloadClassNames names of the payload classes of the outgoing channels
+     * @return names of the generated serializer classes
+     */
+    List<String> generateSerializers(Collection<String> payloadClassNames) {
+        List<String> result = new ArrayList<>();
+        for (String payloadClassName : payloadClassNames) {
+            Map<String, BeanProperty> properties = readBeanProperties(payloadClassName);
+            if (properties != null) {
+                result.add(generateSerializer(payloadClassName, properties.values()));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * generate deserializers for the payload classes that can be handled
+     *
+     * @param payloadClassNames names of the payload classes of the incoming channels
+     * @return names of the generated deserializer classes
+     */
+    List<String> generateDeserializers(Collection<String> payloadClassNames) {
+        List<String> result = new ArrayList<>();
+        for (String payloadClassName : payloadClassNames) {
+            Map<String, BeanProperty> properties = readBeanProperties(payloadClassName);
+            if (properties != null && index.getClassByName(payloadClassName).hasNoArgsConstructor()
+                    && properties.values().stream().allMatch(BeanProperty::isWritable)) {
+                result.add(generateDeserializer(payloadClassName, properties.values()));
+            }
+        }
+        return result;
+    }
+
+    private String generateSerializer(String payloadClassName, Collection<BeanProperty> properties) {
+        String className = payloadClassName + SERIALIZER_SUFFIX;
+        try (ClassCreator serializer = ClassCreator.builder().classOutput(classOutput)
+                .className(className)
+                .superClass(GeneratedSerializer.class)
+                .build()) {
+            addConstructor(serializer, GeneratedSerializer.class, payloadClassName);
+
+            try (MethodCreator write = serializer.getMethodCreator("writeProperties", void.class, Object.class,
+                    JsonGenerator.class)) {
+                write.setModifiers(Modifier.PROTECTED);
+                write.addException(IOException.class);
+                ResultHandle payload = write.checkCast(write.getMethodParam(0), payloadClassName);
+                ResultHandle generator = write.getMethodParam(1);
+                for (BeanProperty property : properties) {
+                    ResultHandle value = write.invokeVirtualMethod(MethodDescriptor.of(property.getter), payload);
+                    write.invokeVirtualMethod(writeFieldMethod(property.type()), generator, write.load(property.name),
+                            value);
+                }
+                write.returnValue(null);
+            }
+        }
+        return className;
+    }
+
+    private String generateDeserializer(String payloadClassName, Collection<BeanProperty> properties) {
+        String className = payloadClassName + DESERIALIZER_SUFFIX;
+        try (ClassCreator deserializer = ClassCreator.builder().classOutput(classOutput)
+                .className(className)
+                .superClass(GeneratedDeserializer.class)
+                .build()) {
+            addConstructor(deserializer, GeneratedDeserializer.class, payloadClassName);
+
+            try (MethodCreator newInstance = deserializer.getMethodCreator("newInstance", Object.class)) {
+                newInstance.setModifiers(Modifier.PROTECTED);
+                newInstance.returnValue(newInstance.newInstance(MethodDescriptor.ofConstructor(payloadClassName)));
+            }
+
+            try (MethodCreator read = deserializer.getMethodCreator("readProperty", boolean.class, Object.class,
+                    String.class, JsonParser.class)) {
+                read.setModifiers(Modifier.PROTECTED);
+                read.addException(IOException.class);
+                ResultHandle payload = read.checkCast(read.getMethodParam(0), payloadClassName);
+                ResultHandle name = read.getMethodParam(1);
+                ResultHandle parser = read.getMethodParam(2);
+                for (BeanProperty property : properties) {
+                    BytecodeCreator matches = read
+                            .ifTrue(read.invokeVirtualMethod(STRING_EQUALS, read.load(property.name), name))
+                            .trueBranch();
+                    ResultHandle value = readValue(matches, property.type(), parser);
+                    matches.invokeVirtualMethod(MethodDescriptor.of(property.setter), payload, value);
+                    matches.returnValue(matches.load(true));
+                }
+                read.returnValue(read.load(false));
+            }
+        }
+        return className;
+    }
+
+    private static void addConstructor(ClassCreator creator, Class<?> superClass, String payloadClassName) {
+        try (MethodCreator constructor = creator.getMethodCreator("<init>", void.class)) {
+            constructor.setModifiers(Modifier.PUBLIC);
+            constructor.invokeSpecialMethod(MethodDescriptor.ofConstructor(superClass, Class.class),
+                    constructor.getThis(), constructor.loadClass(payloadClassName));
+            constructor.returnValue(null);
+        }
+    }
+
+    private static MethodDescriptor writeFieldMethod(Type type) {
+        if (type.kind() == Type.Kind.PRIMITIVE) {
+            switch (type.asPrimitiveType().primitive()) {
+                case BOOLEAN:
+                    return MethodDescriptor.ofMethod(JsonGenerator.class, "writeBooleanField", void.class,
+                            String.class, boolean.class);
+                case INT:
+                    return MethodDescriptor.ofMethod(JsonGenerator.class, "writeNumberField", void.class,
+                            String.class, int.class);
+                case LONG:
+                    return MethodDescriptor.ofMethod(JsonGenerator.class, "writeNumberField", void.class,
+                            String.class, long.class);
+                case FLOAT:
+                    return MethodDescriptor.ofMethod(JsonGenerator.class, "writeNumberField", void.class,
+                            String.class, float.class);
+                case DOUBLE:
+                    return MethodDescriptor.ofMethod(JsonGenerator.class, "writeNumberField", void.class,
+                            String.class, double.class);
+                default:
+                    throw new IllegalStateException("Unsupported property type: " + type);
+            }
+        }
+        if (type.name().equals(STRING)) {
+            return MethodDescriptor.ofMethod(JsonGenerator.class, "writeStringField", void.class,
+                    String.class, String.class);
+        }
+        // the ObjectMapper writes the value
+        return MethodDescriptor.ofMethod(JsonGenerator.class, "writeObjectField", void.class,
+                String.class, Object.class);
+    }
+
+    private static ResultHandle readValue(BytecodeCreator creator, Type type, ResultHandle parser) {
+        if (type.kind() == Type.Kind.PRIMITIVE) {
+            switch (type.asPrimitiveType().primitive()) {
+                case BOOLEAN:
+                    return readPrimitive(creator, "readBoolean", boolean.class, parser);
+                case INT:
+                    return readPrimitive(creator, "readInt", int.class, parser);
+                case LONG:
+                    return readPrimitive(creator, "readLong", long.class, parser);
+                case FLOAT:
+                    return readPrimitive(creator, "readFloat", float.class, parser);
+                case DOUBLE:
+                    return readPrimitive(creator, "readDouble", double.class, parser);
+                default:
+                    throw new IllegalStateException("Unsupported property type: " + type);
+            }
+        }
+        if (type.name().equals(STRING)) {
+            return readPrimitive(creator, "readString", String.class, parser);
+        }
+        // the ObjectMapper reads the value
+        ResultHandle value = creator.invokeVirtualMethod(
+                MethodDescriptor.ofMethod(GeneratedDeserializer.class, "readValue", Object.class, JsonParser.class,
+                        String.class),
+                creator.getThis(), parser, creator.load(canonicalName(type)));
+        return creator.checkCast(value, type.name().toString());
+    }
+
+    private static ResultHandle readPrimitive(BytecodeCreator creator, String method, Class<?> type,
+            ResultHandle parser) {
+        return creator.invokeStaticMethod(
+                MethodDescriptor.ofMethod(GeneratedDeserializer.class, method, type, JsonParser.class), parser);
+    }
+
+    /**
+     * find bean properties of a payload class, the way Jackson does it with the default configuration
+     *
+     * @param payloadClassName name of the payload class
+     * @return properties by name or null if the class cannot be handled by generated code
+     */
+    private Map<String, BeanProperty> readBeanProperties(String payloadClassName) {
+        ClassInfo payloadClass = index.getClassByName(payloadClassName);
+        if (payloadClass == null || !isPlainBean(payloadClass)) {
+            log.debugf("Payload class %s will be handled by the ObjectMapper", payloadClassName);
+            return null;
+        }
+        Map<String, BeanProperty> properties = new LinkedHashMap<>();
+        List<MethodInfo> setters = new ArrayList<>();
+        for (MethodInfo method : payloadClass.methods()) {
+            if (!Modifier.isPublic(method.flags()) || Modifier.isStatic(method.flags()) || method.isSynthetic()
+                    || method.isConstructor()) {
+                continue;
+            }
+            String name = method.name();
+            if (method.parametersCount() == 0) {
+                String propertyName = null;
+                if (name.startsWith("get") && name.length() > 3 && method.returnType().kind() != Type.Kind.VOID) {
+                    propertyName = propertyName(name, 3);
+                } else if (name.startsWith("is") && name.length() > 2
+                        && method.returnType().equals(PrimitiveType.BOOLEAN)) {
+                    propertyName = propertyName(name, 2);
+                }
+                if (propertyName != null) {
+                    if (!isSupported(method.returnType())
+                            || properties.put(propertyName, new BeanProperty(propertyName, method)) != null) {
+                        return null;
+                    }
+                }
+            } else if (method.parametersCount() == 1 && name.startsWith("set") && name.length() > 3) {
+                setters.add(method);
+            }
+        }
+        for (MethodInfo setter : setters) {
+            BeanProperty property = properties.get(propertyName(setter.name(), 3));
+            if (property == null || property.setter != null
+                    || setter.returnType().kind() != Type.Kind.VOID
+                    || !setter.parameterType(0).equals(property.type())) {
+                // Jackson would treat a setter without a matching getter as a property of its own,
+                // deserialization is left to the ObjectMapper, serialization does not depend on setters
+                for (BeanProperty p : properties.values()) {
+                    p.writable = false;
+                }
+                break;
+            }
+            property.setter = setter;
+        }
+        return properties.isEmpty() ? null : properties;
+    }
+
+    private boolean isPlainBean(ClassInfo payloadClass) {
+        short flags = payloadClass.flags();
+        if (!Modifier.isPublic(flags) || Modifier.isAbstract(flags) || payloadClass.isInterface()
+                || payloadClass.isEnum() || payloadClass.isRecord() || payloadClass.isAnnotation()
+                || !payloadClass.typeParameters().isEmpty()
+                || !OBJECT.equals(payloadClass.superName())) {
+            return false;
+        }
+        if (payloadClass.nestingType() != ClassInfo.NestingType.TOP_LEVEL
+                && (payloadClass.nestingType() != ClassInfo.NestingType.INNER || !Modifier.isStatic(flags))) {
+            return false;
+        }
+        for (DotName interfaceName : payloadClass.interfaceNames()) {
+            // e.g. collections, maps or JsonSerializable have a special treatment in Jackson
+            if (!interfaceName.equals(SERIALIZABLE)) {
+                return false;
+            }
+        }
+        for (FieldInfo field : payloadClass.fields()) {
+            if (Modifier.isPublic(field.flags()) && !Modifier.isStatic(field.flags())
+                    && !Modifier.isTransient(field.flags())) {
+                // Jackson would use the public field as a property
+                return false;
+            }
+        }
+        for (AnnotationInstance annotation : payloadClass.annotations()) {
+            if (isJacksonAnnotation(annotation.name())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isJacksonAnnotation(DotName annotationName) {
+        if (annotationName.toString().startsWith(JACKSON_PACKAGE)) {
+            return true;
+        }
+        ClassInfo annotationClass = index.getClassByName(annotationName);
+        return annotationClass != null && annotationClass.hasDeclaredAnnotation(JACKSON_ANNOTATIONS_INSIDE);
+    }
+
+    private static boolean isSupported(Type type) {
+        switch (type.kind()) {
+            case PRIMITIVE:
+                switch (type.asPrimitiveType().primitive()) {
+                    case BOOLEAN:
+                    case INT:
+                    case LONG:
+                    case FLOAT:
+                    case DOUBLE:
+                        return true;
+                    default:
+                        return false;
+                }
+            case CLASS:
+            case PARAMETERIZED_TYPE:
+                return canonicalName(type) != null;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * @return canonical name of the type, as understood by Jackson's TypeFactory, or null if the type contains
+     *         type variables, wildcards or arrays
+     */
+    private static String canonicalName(Type type) {
+        if (type.kind() == Type.Kind.CLASS) {
+            return type.name().toString();
+        }
+        if (type.kind() != Type.Kind.PARAMETERIZED_TYPE) {
+            return null;
+        }
+        StringBuilder result = new StringBuilder(type.name().toString()).append('<');
+        List<Type> arguments = type.asParameterizedType().arguments();
+        for (int i = 0; i < arguments.size(); i++) {
+            String argument = canonicalName(arguments.get(i));
+            if (argument == null) {
+                return null;
+            }
+            if (i > 0) {
+                result.append(',');
+            }
+            result.append(argument);
+        }
+        return result.append('>').toString();
+    }
+
+    /**
+     * Jackson's default property naming: the leading upper case characters are lower-cased, getURL -> url
+     */
+    private static String propertyName(String methodName, int prefixLength) {
+        StringBuilder result = new StringBuilder(methodName.length() - prefixLength);
+        boolean leading = true;
+        for (int i = prefixLength; i < methodName.length(); i++) {
+            char c = methodName.charAt(i);
+            if (leading && Character.isUpperCase(c)) {
+                result.append(Character.toLowerCase(c));
+            } else {
+                leading = false;
+                result.append(c);
+            }
+        }
+        return result.toString();
+    }
+
+    private static class BeanProperty {
+        private final String name;
+        private final MethodInfo getter;
+        private MethodInfo setter;
+        private boolean writable = true;
+
+        private BeanProperty(String name, MethodInfo getter) {
+            this.name = name;
+            this.getter = getter;
+        }
+
+        private Type type() {
+            return getter.returnType();
+        }
+
+        private boolean isWritable() {
+            return writable && setter != null;
+        }
+    }
+}
@@ -5,19 +5,27 @@ import static io.quarkus.arc.processor.DotNames.STRING;
 import static java.util.Arrays.asList;
 
 import java.lang.reflect.Modifier;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletionStage;
+import java.util.stream.Collectors;
 
 import jakarta.enterprise.context.ApplicationScoped;
 
 import org.eclipse.microprofile.reactive.messaging.Incoming;
 import org.eclipse.microprofile.reactive.messaging.Message;
+import org.eclipse.microprofile.reactive.messaging.Outgoing;
 import org.eclipse.microprofile.reactive.streams.operators.ProcessorBuilder;
 import org.eclipse.microprofile.reactive.streams.operators.PublisherBuilder;
 import org.eclipse.microprofile.reactive.streams.operators.SubscriberBuilder;
 import org.jboss.jandex.AnnotationInstance;
+import org.jboss.jandex.AnnotationTarget;
 import org.jboss.jandex.DotName;
+import org.jboss.jandex.IndexView;
 import org.jboss.jandex.MethodInfo;
 import org.jboss.jandex.ParameterizedType;
 import org.jboss.jandex.Type;
@@ -29,12 +37,16 @@ import io.quarkus.arc.deployment.AdditionalBeanBuildItem;
 import io.quarkus.arc.deployment.BeanArchiveIndexBuildItem;
 import io.quarkus.arc.deployment.GeneratedBeanBuildItem;
 import io.quarkus.arc.deployment.GeneratedBeanGizmoAdaptor;
+import io.quarkus.deployment.Capabilities;
+import io.quarkus.deployment.Capability;
+import io.quarkus.deployment.GeneratedClassGizmoAdaptor;
 import io.quarkus.deployment.annotations.BuildProducer;
 import io.quarkus.deployment.annotations.BuildStep;
 import io.quarkus.deployment.annotations.ExecutionTime;
 import io.quarkus.deployment.annotations.Record;
 import io.quarkus.deployment.builditem.CombinedIndexBuildItem;
 import io.quarkus.deployment.builditem.FeatureBuildItem;
+import io.quarkus.deployment.builditem.GeneratedClassBuildItem;
 import io.quarkus.deployment.builditem.nativeimage.ReflectiveClassBuildItem;
 import io.quarkus.gizmo.ClassCreator;
 import io.quarkus.gizmo.ClassOutput;
@@ -46,7 +58,9 @@ import io.quarkus.reactivemessaging.http.runtime.QuarkusWebSocketConnector;
 import io.quarkus.reactivemessaging.http.runtime.ReactiveHttpHandlerBean;
 import io.quarkus.reactivemessaging.http.runtime.ReactiveHttpRecorder;
 import io.quarkus.reactivemessaging.http.runtime.ReactiveWebSocketHandlerBean;
+import io.quarkus.reactivemessaging.http.runtime.RetryScheduler;
 import io.quarkus.reactivemessaging.http.runtime.RouteFunction;
+import io.quarkus.reactivemessaging.http.runtime.WebSocketCompressionCustomizer;
 import io.quarkus.reactivemessaging.http.runtime.config.HttpStreamConfig;
 import io.quarkus.reactivemessaging.http.runtime.config.ReactiveHttpConfig;
 import io.quarkus.reactivemessaging.http.runtime.config.WebSocketStreamConfig;
@@ -56,11 +70,14 @@ import io.quarkus.reactivemessaging.http.runtime.converters.ObjectConverter;
 import io.quarkus.reactivemessaging.http.runtime.converters.StringConverter;
 import io.quarkus.reactivemessaging.http.runtime.serializers.Deserializer;
 import io.quarkus.reactivemessaging.http.runtime.serializers.DeserializerFactoryBase;
+import io.quarkus.reactivemessaging.http.runtime.serializers.GeneratedDeserializer;
+import io.quarkus.reactivemessaging.http.runtime.serializers.GeneratedSerializer;
 import io.quarkus.reactivemessaging.http.runtime.serializers.Serializer;
 import io.quarkus.reactivemessaging.http.runtime.serializers.SerializerFactoryBase;
 import io.quarkus.vertx.http.deployment.BodyHandlerBuildItem;
 import io.quarkus.vertx.http.deployment.RouteBuildItem;
 import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
 import io.vertx.core.Handler;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
@@ -80,16 +97,33 @@ public class ReactiveHttpProcessor {
     private static final DotName PUBLISHER_BUILDER = DotName.createSimple(PublisherBuilder.class.getName());
     private static final DotName SUBSCRIBER = DotName.createSimple(Subscriber.class.getName());
     private static final DotName SUBSCRIBER_BUILDER = DotName.createSimple(SubscriberBuilder.class.getName());
+    private static final DotName UNI = DotName.createSimple(Uni.class.getName());
+    private static final DotName COMPLETION_STAGE = DotName.createSimple(CompletionStage.class.getName());
+    private static final DotName OUTGOING = DotName.createSimple(Outgoing.class.getName());
+    private static final DotName INCOMING = DotName.createSimple(Incoming.class.getName());
 
     @BuildStep
     FeatureBuildItem feature() {
         return new FeatureBuildItem(FEATURE);
     }
 
+    @BuildStep
+    void registerMetrics(Capabilities capabilities, BuildProducer<AdditionalBeanBuildItem> beanProducer) {
+        if (capabilities.isPresent(Capability.MICROMETER)) {
+            // referenced by name, Micrometer is an optional dependency
+            beanProducer.produce(AdditionalBeanBuildItem.builder()
+                    .addBeanClasses("io.quarkus.reactivemessaging.http.runtime.metrics.MicrometerConnectorMetrics")
+                    .setDefaultScope(DotName.createSimple(ApplicationScoped.class.getName()))
+                    .setUnremovable()
+                    .build());
+        }
+    }
+
     @BuildStep
     @Record(ExecutionTime.RUNTIME_INIT)
     void registerHttpConnector(BuildProducer<AdditionalBeanBuildItem> beanProducer,
             BuildProducer<GeneratedBeanBuildItem> generatedBeanProducer,
+            BuildProducer<GeneratedClassBuildItem> generatedClassProducer,
             BuildProducer<RouteBuildItem> routeProducer,
             BodyHandlerBuildItem bodyHandler,
             ReactiveHttpRecorder recorder,
@@ -101,6 +135,7 @@ public class ReactiveHttpProcessor {
         beanProducer.produce(new AdditionalBeanBuildItem(ReactiveHttpConfig.class));
         beanProducer.produce(new AdditionalBeanBuildItem(ReactiveHttpHandlerBean.class));
         beanProducer.produce(new AdditionalBeanBuildItem(ReactiveWebSocketHandlerBean.class));
+        beanProducer.produce(new AdditionalBeanBuildItem(RetryScheduler.class));
 
         beanProducer.produce(new AdditionalBeanBuildItem(JsonArrayConverter.class));
         beanProducer.produce(new AdditionalBeanBuildItem(JsonObjectConverter.class));
@@ -114,13 +149,16 @@ public class ReactiveHttpProcessor {
             Handler<RoutingContext> handler = recorder.createHttpHandler();
 
             httpConfigs.stream()
-                    .map(HttpStreamConfig::path)
-                    .distinct()
-                    .forEach(path -> {
-                        routeProducer.produce(RouteBuildItem.builder()
-                                .routeFunction(path, new RouteFunction(path, bodyHandler.getHandler()))
-                                .handler(bodyHandler.getHandler())
-                                .build());
+                    .collect(Collectors.groupingBy(HttpStreamConfig::path, LinkedHashMap::new,
+                            Collectors.reducing(true, c -> c.streaming, Boolean::logicalAnd)))
+                    .forEach((path, streamingOnly) -> {
+                        // streaming channels read the body themselves, as it arrives
+                        if (!streamingOnly) {
+                            routeProducer.produce(RouteBuildItem.builder()
+                                    .routeFunction(path, new RouteFunction(path, bodyHandler.getHandler()))
+                                    .handler(bodyHandler.getHandler())
+                                    .build());
+                        }
 
                         routeProducer.produce(RouteBuildItem.builder()
                                 .routeFunction(path, new RouteFunction(path, handler))
@@ -135,14 +173,65 @@ public class ReactiveHttpProcessor {
                     .map(WebSocketStreamConfig::path)
                     .distinct()
                     .forEach(path -> routeProducer.produce(RouteBuildItem.builder().route(path).handler(handler).build()));
+
+            if (wsConfigs.stream().anyMatch(WebSocketStreamConfig::customizesCompression)) {
+                beanProducer.produce(AdditionalBeanBuildItem.unremovableOf(WebSocketCompressionCustomizer.class));
+            }
         }
 
+        IndexView index = indexBuildItem.getIndex();
+        Set<String> outgoingPayloadTypes = collectOutgoingPayloadTypes(index);
+        PayloadCodecGenerator codecGenerator = new PayloadCodecGenerator(index,
+                new GeneratedClassGizmoAdaptor(generatedClassProducer, true));
+
         initSerializers(ReactiveHttpConfig.readSerializers(),
                 "io.quarkus.reactivemessaging.http.runtime.serializers.SerializerFactory", Serializer.class,
-                SerializerFactoryBase.class, generatedBeanProducer);
+                SerializerFactoryBase.class, outgoingPayloadTypes, GeneratedSerializer.class,
+                codecGenerator.generateSerializers(outgoingPayloadTypes), generatedBeanProducer);
         initSerializers(ReactiveHttpConfig.readDeserializers(),
                 "io.quarkus.reactivemessaging.http.runtime.serializers.DeserializerFactory", Deserializer.class,
-                DeserializerFactoryBase.class, generatedBeanProducer);
+                DeserializerFactoryBase.class, Collections.emptySet(), GeneratedDeserializer.class,
+                codecGenerator.generateDeserializers(collectIncomingPayloadTypes(index)), generatedBeanProducer);
+    }
+
+    /**
+     * collects payload types of the {@code @Incoming} methods that consume messages from http or web socket channels
+     */
+    private Set<String> collectIncomingPayloadTypes(IndexView index) {
+        Set<String> channels = ReactiveHttpConfig.readIncomingChannels();
+        Set<String> payloadClasses = new HashSet<>();
+        for (AnnotationInstance incoming : index.getAnnotations(INCOMING)) {
+            if (incoming.target().kind() == AnnotationTarget.Kind.METHOD
+                    && channels.contains(incoming.value().asString())) {
+                collectIncomingPayloadType(payloadClasses, incoming.target().asMethod());
+            }
+        }
+        return payloadClasses;
+    }
+
+    /**
+     * collects payload types of the {@code @Outgoing} methods that send messages to http or web socket channels
+     */
+    private Set<String> collectOutgoingPayloadTypes(IndexView index) {
+        Set<String> channels = ReactiveHttpConfig.readOutgoingChannels();
+        Set<String> payloadClasses = new HashSet<>();
+        for (AnnotationInstance outgoing : index.getAnnotations(OUTGOING)) {
+            if (outgoing.target().kind() != AnnotationTarget.Kind.METHOD
+                    || !channels.contains(outgoing.value().asString())) {
+                continue;
+            }
+            Type type = outgoing.target().asMethod().returnType();
+            // payload can be produced as Publisher[Builder]<PayloadObject>, Multi<PayloadObject>, Uni<PayloadObject>
+            // or CompletionStage<PayloadObject>, with the payload optionally wrapped in a Message
+            DotName typeName = type.name();
+            if (type.kind() == Type.Kind.PARAMETERIZED_TYPE
+                    && (typeName.equals(PUBLISHER_BUILDER) || typeName.equals(PUBLISHER) || typeName.equals(MULTI)
+                            || typeName.equals(UNI) || typeName.equals(COMPLETION_STAGE))) {
+                type = type.asParameterizedType().arguments().get(0);
+            }
+            collectPayloadType(payloadClasses, type);
+        }
+        return payloadClasses;
     }
 
     @BuildStep
@@ -150,39 +239,8 @@ public class ReactiveHttpProcessor {
             BuildProducer<ReflectiveClassBuildItem> reflectiveClasses) {
 
         Set<String> payloadClasses = new HashSet<>();
-        for (AnnotationInstance incoming : index.getIndex().getAnnotations(DotName.createSimple(Incoming.class.getName()))) {
-            MethodInfo methodInfo = incoming.target().asMethod();
-            List<Type> parameters = methodInfo.parameterTypes();
-
-            if (parameters.size() == 1) {
-                Type type = parameters.get(0);
-                // payload can be consumed as Publisher[Builder]<PayloadObject> or Publisher[Builder]<Message<PayloadObject>>
-                // or Multi<PayloadObject>, Multi<Message<PayloadObject>>
-                DotName typeName = type.name();
-                if (type.kind() == Type.Kind.PARAMETERIZED_TYPE
-                        && (typeName.equals(PUBLISHER_BUILDER) || typeName.equals(PUBLISHER) || typeName.equals(MULTI))) {
-                    List<Type> arguments = type.asParameterizedType().arguments();
-                    if (!arguments.isEmpty()) {
-                        collectPayloadType(payloadClasses, arguments.get(0));
-                    }
-                } else {
-                    collectPayloadType(payloadClasses, type);
-                }
-            } else if (parameters.isEmpty()) {
-                // @Incoming method can also return a Subscriber[Builder] or Processor[Builder] for message payloads:
-                Type returnType = methodInfo.returnType();
-                if ((returnType.name().equals(SUBSCRIBER_BUILDER)
-                        || returnType.name().equals(PROCESSOR_BUILDER)
-                        || returnType.name().equals(SUBSCRIBER)
-                        || returnType.name().equals(PROCESSOR))
-                        && returnType.kind() == Type.Kind.PARAMETERIZED_TYPE) {
-                    ParameterizedType parameterizedType = returnType.asParameterizedType();
-                    List<Type> arguments = parameterizedType.arguments();
-                    if (!arguments.isEmpty()) {
-                        collectPayloadType(payloadClasses, arguments.get(0));
-                    }
-                }
-            }
+        for (AnnotationInstance incoming : index.getIndex().getAnnotations(INCOMING)) {
+            collectIncomingPayloadType(payloadClasses, incoming.target().asMethod());
         }
 
         asList(JSON_OBJECT.toString(), OBJECT.toString(), JSON_ARRAY.toString(), STRING.toString())
@@ -192,6 +250,40 @@ public class ReactiveHttpProcessor {
                 ReflectiveClassBuildItem.builder(payloadClasses.toArray(new String[] {})).methods(true).fields(false).build());
     }
 
+    private void collectIncomingPayloadType(Set<String> payloadClasses, MethodInfo methodInfo) {
+        List<Type> parameters = methodInfo.parameterTypes();
+
+        if (parameters.size() == 1) {
+            Type type = parameters.get(0);
+            // payload can be consumed as Publisher[Builder]<PayloadObject> or Publisher[Builder]<Message<PayloadObject>>
+            // or Multi<PayloadObject>, Multi<Message<PayloadObject>>
+            DotName typeName = type.name();
+            if (type.kind() == Type.Kind.PARAMETERIZED_TYPE
+                    && (typeName.equals(PUBLISHER_BUILDER) || typeName.equals(PUBLISHER) || typeName.equals(MULTI))) {
+                List<Type> arguments = type.asParameterizedType().arguments();
+                if (!arguments.isEmpty()) {
+                    collectPayloadType(payloadClasses, arguments.get(0));
+                }
+            } else {
+                collectPayloadType(payloadClasses, type);
+            }
+        } else if (parameters.isEmpty()) {
+            // @Incoming method can also return a Subscriber[Builder] or Processor[Builder] for message payloads:
+            Type returnType = methodInfo.returnType();
+            if ((returnType.name().equals(SUBSCRIBER_BUILDER)
+                    || returnType.name().equals(PROCESSOR_BUILDER)
+                    || returnType.name().equals(SUBSCRIBER)
+                    || returnType.name().equals(PROCESSOR))
+                    && returnType.kind() == Type.Kind.PARAMETERIZED_TYPE) {
+                ParameterizedType parameterizedType = returnType.asParameterizedType();
+                List<Type> arguments = parameterizedType.arguments();
+                if (!arguments.isEmpty()) {
+                    collectPayloadType(payloadClasses, arguments.get(0));
+                }
+            }
+        }
+    }
+
     private void collectPayloadType(Set<String> payloadClasses, Type type) {
         if (type.kind() != Type.Kind.CLASS && type.kind() != Type.Kind.PARAMETERIZED_TYPE) {
             return;
@@ -211,6 +303,7 @@ public class ReactiveHttpProcessor {
     }
 
     private void initSerializers(List<String> serializers, String className, Class<?> type, Class<?> baseClass,
+            Collection<String> payloadTypesToResolve, Class<?> generatedType, List<String> generatedSerializers,
             BuildProducer<GeneratedBeanBuildItem> generatedBeans) {
         ClassOutput classOutput = new GeneratedBeanGizmoAdaptor(generatedBeans);
         try (ClassCreator factory = ClassCreator.builder().classOutput(classOutput)
@@ -228,6 +321,20 @@ public class ReactiveHttpProcessor {
                     ResultHandle serializer = init.newInstance(MethodDescriptor.ofConstructor(serializerName));
                     init.invokeVirtualMethod(addSerializer, init.getThis(), init.load(serializerName), serializer);
                 }
+                MethodDescriptor addGeneratedSerializer = MethodDescriptor.ofMethod(baseClass, "addGeneratedSerializer",
+                        void.class, generatedType);
+                for (String generatedSerializer : generatedSerializers) {
+                    ResultHandle serializer = init.newInstance(MethodDescriptor.ofConstructor(generatedSerializer));
+                    init.invokeVirtualMethod(addGeneratedSerializer, init.getThis(), serializer);
+                }
+                // resolve after the generated serializers are added, they take precedence
+                if (!payloadTypesToResolve.isEmpty()) {
+                    MethodDescriptor resolveAhead = MethodDescriptor.ofMethod(baseClass, "resolveAhead",
+                            void.class, String.class);
+                    for (String payloadType : payloadTypesToResolve) {
+                        init.invokeVirtualMethod(resolveAhead, init.getThis(), init.load(payloadType));
+                    }
+                }
                 init.returnValue(null);
             }
         }
@@ -0,0 +1,79 @@
+package io.quarkus.reactivemessaging.http.codecs;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import jakarta.inject.Inject;
+
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import io.quarkus.reactivemessaging.http.codecs.app.Measurement;
+import io.quarkus.reactivemessaging.http.codecs.app.MeasurementApp;
+import io.quarkus.reactivemessaging.http.runtime.serializers.DeserializerFactoryBase;
+import io.quarkus.reactivemessaging.http.runtime.serializers.GeneratedDeserializer;
+import io.quarkus.reactivemessaging.http.runtime.serializers.GeneratedSerializer;
+import io.quarkus.reactivemessaging.http.runtime.serializers.Serializer;
+import io.quarkus.reactivemessaging.http.runtime.serializers.SerializerFactoryBase;
+import io.quarkus.test.QuarkusUnitTest;
+import io.vertx.core.json.JsonObject;
+
+class GeneratedCodecsTest {
+
+    @RegisterExtension
+    static final QuarkusUnitTest config = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class)
+                    .addClasses(Measurement.class, MeasurementApp.class))
+            .withConfigurationResource("generated-codecs-test-application.properties");
+
+    @Inject
+    SerializerFactoryBase serializerFactory;
+
+    @Inject
+    DeserializerFactoryBase deserializerFactory;
+
+    @Inject
+    MeasurementApp app;
+
+    @Test
+    void shouldSerializeWithGeneratedSerializer() {
+        Measurement measurement = new Measurement("s-1", 21.5, 1000L, true, List.of("indoor"));
+        Serializer<Measurement> serializer = serializerFactory.getSerializer(null, measurement);
+        assertThat(serializer).isInstanceOf(GeneratedSerializer.class);
+
+        JsonObject json = serializer.serialize(measurement).toJsonObject();
+        assertThat(json.getString("sensor")).isEqualTo("s-1");
+        assertThat(json.getDouble("value")).isEqualTo(21.5);
+        assertThat(json.getLong("timestamp")).isEqualTo(1000L);
+        assertThat(json.getBoolean("calibrated")).isTrue();
+        assertThat(json.getJsonArray("tags").getList()).containsExactly("indoor");
+    }
+
+    @Test
+    void shouldDeserializeWithGeneratedDeserializer() {
+        assertThat(deserializerFactory.getGeneratedDeserializer(Measurement.class))
+                .isInstanceOf(GeneratedDeserializer.class);
+
+        // @formatter:off
+        given()
+                .body("{\"sensor\": \"s-2\", \"value\": 3, \"timestamp\": 2000, \"calibrated\": false, "
+                        + "\"tags\": [\"outdoor\", \"roof\"], \"unknown\": {\"ignored\": true}}")
+        .when()
+                .post("/measurement-source")
+        .then()
+                .statusCode(202);
+        // @formatter:on
+
+        assertThat(app.getMeasurements()).hasSize(1);
+        Measurement measurement = app.getMeasurements().get(0);
+        assertThat(measurement.getSensor()).isEqualTo("s-2");
+        assertThat(measurement.getValue()).isEqualTo(3.0);
+        assertThat(measurement.getTimestamp()).isEqualTo(2000L);
+        assertThat(measurement.isCalibrated()).isFalse();
+        assertThat(measurement.getTags()).containsExactly("outdoor", "roof");
+    }
+}
@@ -0,0 +1,116 @@
+package io.quarkus.reactivemessaging.http.codecs;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.LogRecord;
+
+import jakarta.inject.Inject;
+
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import io.quarkus.reactivemessaging.http.codecs.app.UpperCaseApp;
+import io.quarkus.reactivemessaging.http.runtime.serializers.CollectionSerializer;
+import io.quarkus.reactivemessaging.http.runtime.serializers.GeneratedSerializer;
+import io.quarkus.reactivemessaging.http.runtime.serializers.NumberSerializer;
+import io.quarkus.reactivemessaging.http.runtime.serializers.Serializer;
+import io.quarkus.reactivemessaging.http.runtime.serializers.SerializerFactoryBase;
+import io.quarkus.reactivemessaging.http.runtime.serializers.StringSerializer;
+import io.quarkus.reactivemessaging.utils.ToUpperCaseSerializer;
+import io.quarkus.test.QuarkusUnitTest;
+
+class SerializerResolutionTest {
+
+    private static final String UPPER_CASE = ToUpperCaseSerializer.class.getName();
+
+    @RegisterExtension
+    static final QuarkusUnitTest config = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class)
+                    .addClasses(UpperCaseApp.class, ToUpperCaseSerializer.class))
+            .withConfigurationResource("serializer-resolution-test-application.properties")
+            .setLogRecordPredicate(record -> SerializerFactoryBase.class.getName().equals(record.getLoggerName()));
+
+    @Inject
+    SerializerFactoryBase serializerFactory;
+
+    @Test
+    void shouldResolvePredefinedSerializerOncePerType() {
+        SerializerFactoryBase factory = new SerializerFactoryBase() {
+            @Override
+            protected void initAdditionalSerializers() {
+            }
+        };
+        CountingSerializer counting = new CountingSerializer();
+        // checked before all the other predefined serializers
+        factory.addGeneratedSerializer(counting);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(factory.getSerializer(null, new Probe())).isSameAs(counting);
+            assertThat(factory.getSerializer(null, "text-" + i)).isInstanceOf(StringSerializer.class);
+        }
+
+        // one check for Probe and one for String, the payloads themselves are never inspected
+        assertThat(counting.typeChecks).hasValue(2);
+        assertThat(counting.payloadChecks).hasValue(0);
+    }
+
+    @Test
+    void shouldResolvePredefinedSerializerByPayloadType() {
+        Serializer<List<String>> forList = serializerFactory.getSerializer(null, List.of("a"));
+        assertThat(forList).isInstanceOf(CollectionSerializer.class)
+                .isSameAs(serializerFactory.getSerializer(null, new ArrayList<>(List.of("b"))));
+        assertThat(serializerFactory.getSerializer(null, 42)).isInstanceOf(NumberSerializer.class)
+                .isSameAs(serializerFactory.getSerializer(null, 4.2d));
+    }
+
+    @Test
+    void shouldWarnOncePerPayloadTypeNotHandledByNamedSerializer() {
+        for (int i = 0; i < 3; i++) {
+            // falls back to the predefined serializers
+            assertThat(serializerFactory.getSerializer(UPPER_CASE, i)).isInstanceOf(NumberSerializer.class);
+            assertThat(serializerFactory.getSerializer(UPPER_CASE, i + 0.5d)).isInstanceOf(NumberSerializer.class);
+        }
+        assertThat(serializerFactory.getSerializer(UPPER_CASE, "handled")).isInstanceOf(ToUpperCaseSerializer.class);
+
+        List<LogRecord> warnings = config.getLogRecords().stream()
+                .filter(record -> record.getMessage().startsWith("Specified serializer"))
+                .toList();
+        assertThat(warnings).extracting(record -> record.getParameters()[1])
+                .containsExactlyInAnyOrder(Integer.class, Double.class);
+    }
+
+    public static class Probe {
+    }
+
+    static class CountingSerializer extends GeneratedSerializer<Probe> {
+        final AtomicInteger typeChecks = new AtomicInteger();
+        final AtomicInteger payloadChecks = new AtomicInteger();
+
+        CountingSerializer() {
+            super(Probe.class);
+        }
+
+        @Override
+        public boolean handles(Object payload) {
+            payloadChecks.incrementAndGet();
+            return super.handles(payload);
+        }
+
+        @Override
+        public boolean handlesType(Class<?> type) {
+            typeChecks.incrementAndGet();
+            return super.handlesType(type);
+        }
+
+        @Override
+        protected void writeProperties(Probe payload, JsonGenerator generator) {
+        }
+    }
+}
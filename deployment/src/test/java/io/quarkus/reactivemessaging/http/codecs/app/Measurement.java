@@ -0,0 +1,62 @@
+package io.quarkus.reactivemessaging.http.codecs.app;
+
+import java.util.List;
+
+public class Measurement {
+    private String sensor;
+    private double value;
+    private long timestamp;
+    private boolean calibrated;
+    private List<String> tags;
+
+    public Measurement() {
+    }
+
+    public Measurement(String sensor, double value, long timestamp, boolean calibrated, List<String> tags) {
+        this.sensor = sensor;
+        this.value = value;
+        this.timestamp = timestamp;
+        this.calibrated = calibrated;
+        this.tags = tags;
+    }
+
+    public String getSensor() {
+        return sensor;
+    }
+
+    public void setSensor(String sensor) {
+        this.sensor = sensor;
+    }
+
+    public double getValue() {
+        return value;
+    }
+
+    public void setValue(double value) {
+        this.value = value;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public void setTimestamp(long timestamp) {
+        this.timestamp = timestamp;
+    }
+
+    public boolean isCalibrated() {
+        return calibrated;
+    }
+
+    public void setCalibrated(boolean calibrated) {
+        this.calibrated = calibrated;
+    }
+
+    public List<String> getTags() {
+        return tags;
+    }
+
+    public void setTags(List<String> tags) {
+        this.tags = tags;
+    }
+}
@@ -0,0 +1,32 @@
+package io.quarkus.reactivemessaging.http.codecs.app;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import jakarta.enterprise.context.ApplicationScoped;
+
+import org.eclipse.microprofile.reactive.messaging.Incoming;
+import org.eclipse.microprofile.reactive.messaging.Outgoing;
+
+import io.smallrye.mutiny.Multi;
+
+@ApplicationScoped
+public class MeasurementApp {
+
+    private final List<Measurement> measurements = new CopyOnWriteArrayList<>();
+
+    @Outgoing("measurement-sink")
+    Multi<Measurement> produce() {
+        // only the payload type matters for the generated serializer
+        return Multi.createFrom().empty();
+    }
+
+    @Incoming("measurement-source")
+    void consume(Measurement measurement) {
+        measurements.add(measurement);
+    }
+
+    public List<Measurement> getMeasurements() {
+        return measurements;
+    }
+}
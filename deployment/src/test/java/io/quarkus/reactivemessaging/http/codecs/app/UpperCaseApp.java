@@ -0,0 +1,17 @@
+package io.quarkus.reactivemessaging.http.codecs.app;
+
+import jakarta.enterprise.context.ApplicationScoped;
+
+import org.eclipse.microprofile.reactive.messaging.Outgoing;
+
+import io.smallrye.mutiny.Multi;
+
+@ApplicationScoped
+public class UpperCaseApp {
+
+    @Outgoing("upper-case-sink")
+    Multi<String> produce() {
+        // only registers the serializer of the channel
+        return Multi.createFrom().empty();
+    }
+}
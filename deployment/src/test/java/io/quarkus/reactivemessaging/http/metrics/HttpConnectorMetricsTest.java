@@ -0,0 +1,146 @@
+package io.quarkus.reactivemessaging.http.metrics;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.inject.Inject;
+
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.search.Search;
+import io.quarkus.reactivemessaging.http.metrics.app.PausableConsumer;
+import io.quarkus.reactivemessaging.http.sink.app.Dto;
+import io.quarkus.reactivemessaging.http.sink.app.HttpAdaptiveEmitter;
+import io.quarkus.reactivemessaging.http.sink.app.HttpCircuitBreakerEmitter;
+import io.quarkus.reactivemessaging.http.sink.app.HttpEndpoint;
+import io.quarkus.reactivemessaging.http.sink.app.HttpHedgingEmitter;
+import io.quarkus.reactivemessaging.utils.VertxFriendlyLock;
+import io.quarkus.test.QuarkusUnitTest;
+
+class HttpConnectorMetricsTest {
+
+    private static final int MESSAGE_COUNT = 20;
+
+    @RegisterExtension
+    static final QuarkusUnitTest config = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class)
+                    .addClasses(Dto.class, HttpEndpoint.class, HttpAdaptiveEmitter.class, HttpCircuitBreakerEmitter.class,
+                            HttpHedgingEmitter.class, PausableConsumer.class, VertxFriendlyLock.class))
+            .withConfigurationResource("http-connector-metrics-test-application.properties");
+
+    @Inject
+    MeterRegistry registry;
+    @Inject
+    HttpEndpoint endpoint;
+    @Inject
+    HttpAdaptiveEmitter adaptiveEmitter;
+    @Inject
+    HttpCircuitBreakerEmitter circuitBreakerEmitter;
+    @Inject
+    HttpHedgingEmitter hedgingEmitter;
+    @Inject
+    PausableConsumer consumer;
+
+    @AfterEach
+    void cleanUp() {
+        endpoint.reset();
+        consumer.clear();
+    }
+
+    @Test
+    void shouldRecordSendsResponsesAndRetries() throws Exception {
+        endpoint.setInitialFailures(3);
+
+        List<CompletableFuture<Void>> emissions = new ArrayList<>();
+        for (int i = 0; i < MESSAGE_COUNT; i++) {
+            emissions.add(adaptiveEmitter.emit(new Dto("message-" + i)).toCompletableFuture());
+        }
+        CompletableFuture.allOf(emissions.toArray(new CompletableFuture[0])).get(20, TimeUnit.SECONDS);
+
+        String channel = "adaptive-http-sink";
+        assertThat(sink(channel, "sink.send").tag("outcome", "success").timer().count()).isEqualTo(MESSAGE_COUNT);
+        assertThat(sink(channel, "sink.send").tag("outcome", "failure").timer().count()).isEqualTo(3);
+        assertThat(sink(channel, "sink.responses").tag("status", "200").counter().count()).isEqualTo(MESSAGE_COUNT);
+        assertThat(sink(channel, "sink.responses").tag("status", "500").counter().count()).isEqualTo(3);
+        assertThat(sink(channel, "sink.retries").counter().count()).isEqualTo(3);
+        assertThat(sink(channel, "sink.nacks").counter().count()).isZero();
+        assertThat(sink(channel, "sink.inflight").gauge().value()).isZero();
+        assertThat(sink(channel, "sink.concurrency.limit").gauge().value()).isBetween(1.0, 50.0);
+    }
+
+    @Test
+    void shouldRecordNacksAndTheOpenCircuitBreaker() {
+        endpoint.setInitialFailures(1000);
+
+        String channel = "circuit-breaker-http-sink";
+        assertThat(sink(channel, "sink.circuit.breaker.state").gauge().value()).isZero();
+
+        // the first 4 messages fill the window and open the breaker, the next ones fail fast
+        for (int i = 0; i < 6; i++) {
+            assertThatThrownBy(
+                    () -> circuitBreakerEmitter.emit(new Dto("message")).toCompletableFuture().get(5, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class);
+        }
+
+        assertThat(sink(channel, "sink.nacks").counter().count()).isEqualTo(6);
+        assertThat(sink(channel, "sink.send").tag("outcome", "failure").timer().count()).isEqualTo(4);
+        assertThat(sink(channel, "sink.responses").tag("status", "500").counter().count()).isEqualTo(4);
+        // 1 for open
+        assertThat(sink(channel, "sink.circuit.breaker.state").gauge().value()).isEqualTo(1.0);
+    }
+
+    @Test
+    void shouldRecordHedgedRequests() throws Exception {
+        hedgingEmitter.emit(new Dto("hedged")).toCompletableFuture().get(4, TimeUnit.SECONDS);
+
+        assertThat(sink("hedged-http-sink", "sink.hedges").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRecordRequestsRejectionsAndQueueSize() {
+        // 1 message is being consumed, 2 are buffered, the rest is rejected with 503
+        consumer.pause();
+        ExecutorService executorService = Executors.newFixedThreadPool(5);
+        List<Future<Integer>> statuses = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            statuses.add(executorService.submit(() -> given().body("some-text")
+                    .when().post("/metrics-http-source")
+                    .then().extract().statusCode()));
+        }
+
+        await().atMost(10, TimeUnit.SECONDS)
+                .until(() -> source("source.rejections").counter().count() == 2);
+        assertThat(source("source.requests").counter().count()).isEqualTo(5);
+        assertThat(source("source.queue.size").gauge().value()).isEqualTo(2.0);
+
+        consumer.resume();
+        await().atMost(10, TimeUnit.SECONDS)
+                .until(() -> statuses.stream().allMatch(Future::isDone));
+        assertThat(source("source.queue.size").gauge().value()).isZero();
+        executorService.shutdown();
+    }
+
+    private Search sink(String channel, String name) {
+        return registry.find("messaging.http." + name).tags("connector", "quarkus-http", "channel", channel);
+    }
+
+    private Search source(String name) {
+        return registry.find("messaging.http." + name).tags("connector", "quarkus-http", "channel", "metrics-http-source");
+    }
+}
@@ -0,0 +1,47 @@
+package io.quarkus.reactivemessaging.http.metrics.app;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import org.eclipse.microprofile.reactive.messaging.Incoming;
+import org.eclipse.microprofile.reactive.messaging.Message;
+
+import io.quarkus.reactivemessaging.utils.VertxFriendlyLock;
+import io.vertx.core.Vertx;
+
+@ApplicationScoped
+public class PausableConsumer {
+
+    VertxFriendlyLock lock;
+
+    @Inject
+    PausableConsumer(Vertx vertx) {
+        lock = new VertxFriendlyLock(vertx);
+    }
+
+    @Incoming("metrics-http-source")
+    public CompletionStage<Void> process(Message<?> message) {
+        CompletableFuture<Void> result = new CompletableFuture<>();
+
+        lock.triggerWhenUnlocked(() -> {
+            message.ack();
+            result.complete(null);
+        }, 10000);
+        return result;
+    }
+
+    public void pause() {
+        lock.lock();
+    }
+
+    public void resume() {
+        lock.unlock();
+    }
+
+    public void clear() {
+        lock.reset();
+    }
+}
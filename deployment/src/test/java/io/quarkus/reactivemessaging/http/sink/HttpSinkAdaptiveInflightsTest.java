@@ -0,0 +1,87 @@
+package io.quarkus.reactivemessaging.http.sink;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.inject.Inject;
+
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.reactivemessaging.http.sink.app.Dto;
+import io.quarkus.reactivemessaging.http.sink.app.HttpAdaptiveEmitter;
+import io.quarkus.reactivemessaging.http.sink.app.HttpEndpoint;
+import io.quarkus.test.QuarkusUnitTest;
+
+class HttpSinkAdaptiveInflightsTest {
+
+    private static final int MESSAGE_COUNT = 100;
+
+    @RegisterExtension
+    static final QuarkusUnitTest config = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class)
+                    .addClasses(Dto.class, HttpAdaptiveEmitter.class, HttpEndpoint.class))
+            .withConfigurationResource("http-sink-adaptive-inflights-test-application.properties");
+
+    @Inject
+    HttpAdaptiveEmitter emitter;
+    @Inject
+    HttpEndpoint endpoint;
+    @Inject
+    MeterRegistry registry;
+
+    @AfterEach
+    void cleanUp() {
+        endpoint.reset();
+    }
+
+    @Test
+    void shouldSendAllMessagesDespiteFailures() throws Exception {
+        // failures shrink the limit, the retries have to get through once the endpoint recovers
+        endpoint.setInitialFailures(3);
+
+        List<CompletableFuture<Void>> emissions = emitAll("message");
+
+        CompletableFuture.allOf(emissions.toArray(new CompletableFuture[0])).get(20, TimeUnit.SECONDS);
+        assertThat(emissions).allMatch(emission -> emission.isDone() && !emission.isCompletedExceptionally());
+    }
+
+    @Test
+    void shouldShrinkTheLimitOnFailuresAndGrowItUnderLoad() throws Exception {
+        endpoint.setInitialFailures(1000);
+        List<CompletableFuture<Void>> failing = emitAll("failing");
+        for (CompletableFuture<Void> emission : failing) {
+            assertThatThrownBy(() -> emission.get(20, TimeUnit.SECONDS)).isInstanceOf(ExecutionException.class);
+        }
+        // every failed attempt shrinks the limit by 10%
+        assertThat(limit()).isEqualTo(1.0);
+
+        endpoint.setInitialFailures(0);
+        List<CompletableFuture<Void>> emissions = emitAll("message");
+        CompletableFuture.allOf(emissions.toArray(new CompletableFuture[0])).get(20, TimeUnit.SECONDS);
+        // the messages waiting for the limit keep it fully used, so that every fast response grows it
+        assertThat(limit()).isGreaterThan(4.0);
+    }
+
+    private List<CompletableFuture<Void>> emitAll(String prefix) {
+        List<CompletableFuture<Void>> emissions = new ArrayList<>();
+        for (int i = 0; i < MESSAGE_COUNT; i++) {
+            emissions.add(emitter.emit(new Dto(prefix + "-" + i)).toCompletableFuture());
+        }
+        return emissions;
+    }
+
+    private double limit() {
+        return registry.get("messaging.http.sink.concurrency.limit").tag("channel", "adaptive-http-sink").gauge().value();
+    }
+}
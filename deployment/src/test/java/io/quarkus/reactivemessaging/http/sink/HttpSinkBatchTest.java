@@ -0,0 +1,83 @@
+package io.quarkus.reactivemessaging.http.sink;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.inject.Inject;
+
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import io.quarkus.reactivemessaging.http.sink.app.Dto;
+import io.quarkus.reactivemessaging.http.sink.app.HttpBatchEmitter;
+import io.quarkus.reactivemessaging.http.sink.app.HttpEndpoint;
+import io.quarkus.test.QuarkusUnitTest;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+class HttpSinkBatchTest {
+
+    @RegisterExtension
+    static final QuarkusUnitTest config = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class)
+                    .addClasses(Dto.class, HttpBatchEmitter.class, HttpEndpoint.class))
+            .withConfigurationResource("http-sink-batch-test-application.properties");
+
+    @Inject
+    HttpBatchEmitter emitter;
+    @Inject
+    HttpEndpoint endpoint;
+
+    @AfterEach
+    void cleanUp() {
+        endpoint.reset();
+    }
+
+    @Test
+    void shouldSendFullBatchAsJsonArray() throws Exception {
+        CompletableFuture.allOf(
+                emitter.emitJsonArray(new Dto("foo")).toCompletableFuture(),
+                emitter.emitJsonArray(new Dto("bar")).toCompletableFuture(),
+                emitter.emitJsonArray(new Dto("baz")).toCompletableFuture())
+                .get(5, TimeUnit.SECONDS);
+
+        List<HttpEndpoint.Request> requests = endpoint.getRequests();
+        assertThat(requests).hasSize(1);
+        assertThat(new JsonArray(requests.get(0).getBody())).isEqualTo(
+                new JsonArray("[{\"field\": \"foo\"}, {\"field\": \"bar\"}, {\"field\": \"baz\"}]"));
+    }
+
+    @Test
+    void shouldSendIncompleteBatchAsNdjsonAfterLinger() throws Exception {
+        CompletableFuture.allOf(
+                emitter.emitNdjson(new Dto("foo")).toCompletableFuture(),
+                emitter.emitNdjson(new Dto("bar")).toCompletableFuture())
+                .get(5, TimeUnit.SECONDS);
+
+        List<HttpEndpoint.Request> requests = endpoint.getRequests();
+        assertThat(requests).hasSize(1);
+        String[] lines = requests.get(0).getBody().split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(new JsonObject(lines[0])).isEqualTo(new JsonObject().put("field", "foo"));
+        assertThat(new JsonObject(lines[1])).isEqualTo(new JsonObject().put("field", "bar"));
+    }
+
+    @Test
+    void shouldNackWholeBatchOnFailure() {
+        endpoint.setInitialFailures(1);
+        CompletableFuture<Void> first = emitter.emitJsonArray(new Dto("foo")).toCompletableFuture();
+        CompletableFuture<Void> second = emitter.emitJsonArray(new Dto("bar")).toCompletableFuture();
+        CompletableFuture<Void> third = emitter.emitJsonArray(new Dto("baz")).toCompletableFuture();
+
+        for (CompletableFuture<Void> emission : List.of(first, second, third)) {
+            assertThat(emission).failsWithin(5, TimeUnit.SECONDS);
+        }
+        assertThat(endpoint.getRequests()).isEmpty();
+    }
+}
@@ -0,0 +1,70 @@
+package io.quarkus.reactivemessaging.http.sink;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.inject.Inject;
+
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import io.quarkus.reactivemessaging.http.runtime.CircuitBreakerOpenException;
+import io.quarkus.reactivemessaging.http.sink.app.Dto;
+import io.quarkus.reactivemessaging.http.sink.app.HttpCircuitBreakerEmitter;
+import io.quarkus.reactivemessaging.http.sink.app.HttpEndpoint;
+import io.quarkus.test.QuarkusUnitTest;
+
+class HttpSinkCircuitBreakerTest {
+
+    @RegisterExtension
+    static final QuarkusUnitTest config = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class)
+                    .addClasses(Dto.class, HttpCircuitBreakerEmitter.class, HttpEndpoint.class))
+            .withConfigurationResource("http-sink-circuit-breaker-test-application.properties");
+
+    @Inject
+    HttpCircuitBreakerEmitter emitter;
+    @Inject
+    HttpEndpoint endpoint;
+
+    @AfterEach
+    void cleanUp() {
+        endpoint.reset();
+    }
+
+    @Test
+    void shouldFailFastWhileTheTargetFailsAndRecover() {
+        endpoint.setInitialFailures(1000);
+
+        // the first message and its 2 retries, and the second message, fill the window of 4 and open the breaker
+        for (int i = 0; i < 10; i++) {
+            assertThatThrownBy(() -> emitter.emit(new Dto("message")).toCompletableFuture().get(5, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class);
+        }
+        assertThat(endpoint.getAttempts()).isEqualTo(4);
+        assertThatThrownBy(() -> emitter.emit(new Dto("message")).toCompletableFuture().get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(CircuitBreakerOpenException.class);
+
+        // once the target recovers, a probe closes the breaker
+        endpoint.setInitialFailures(0);
+        await().atMost(10, TimeUnit.SECONDS)
+                .pollInterval(200, TimeUnit.MILLISECONDS)
+                .until(() -> {
+                    try {
+                        emitter.emit(new Dto("recovered")).toCompletableFuture().get(5, TimeUnit.SECONDS);
+                        return true;
+                    } catch (ExecutionException e) {
+                        return false;
+                    }
+                });
+        emitter.emit(new Dto("recovered")).toCompletableFuture().join();
+        assertThat(endpoint.getRequests()).hasSize(2);
+    }
+}
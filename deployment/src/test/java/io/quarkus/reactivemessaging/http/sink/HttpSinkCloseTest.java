@@ -0,0 +1,57 @@
+package io.quarkus.reactivemessaging.http.sink;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import java.util.concurrent.TimeUnit;
+
+import jakarta.inject.Inject;
+
+import org.eclipse.microprofile.reactive.messaging.spi.Connector;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import io.quarkus.reactivemessaging.http.runtime.QuarkusHttpConnector;
+import io.quarkus.reactivemessaging.http.sink.app.Dto;
+import io.quarkus.reactivemessaging.http.sink.app.HttpEndpoint;
+import io.quarkus.reactivemessaging.http.sink.app.HttpRetryingEmitter;
+import io.quarkus.test.QuarkusUnitTest;
+
+class HttpSinkCloseTest {
+
+    @RegisterExtension
+    static final QuarkusUnitTest config = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class)
+                    .addClasses(Dto.class, HttpRetryingEmitter.class, HttpEndpoint.class))
+            .withConfigurationResource("http-sink-close-test-application.properties");
+
+    @Inject
+    HttpRetryingEmitter emitter;
+    @Inject
+    HttpEndpoint endpoint;
+    @Inject
+    @Connector(QuarkusHttpConnector.NAME)
+    QuarkusHttpConnector connector;
+
+    @AfterEach
+    void cleanUp() {
+        endpoint.reset();
+    }
+
+    @Test
+    void shouldNotRetryAfterTheSinkIsClosed() {
+        endpoint.setInitialFailures(1000);
+        emitter.emit(new Dto("message"));
+        await().atMost(5, TimeUnit.SECONDS).until(() -> endpoint.getAttempts() == 1);
+
+        // the retry is delayed by 1 second, closing the sink cancels it
+        connector.terminate(null);
+
+        await().during(2, TimeUnit.SECONDS).atMost(3, TimeUnit.SECONDS)
+                .until(() -> endpoint.getAttempts() == 1);
+        assertThat(endpoint.getAttempts()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,47 @@
+package io.quarkus.reactivemessaging.http.sink;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+
+import jakarta.inject.Inject;
+
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import io.quarkus.reactivemessaging.http.sink.app.Dto;
+import io.quarkus.reactivemessaging.http.sink.app.HttpEndpoint;
+import io.quarkus.reactivemessaging.http.sink.app.HttpHedgingEmitter;
+import io.quarkus.test.QuarkusUnitTest;
+
+class HttpSinkHedgingTest {
+
+    @RegisterExtension
+    static final QuarkusUnitTest config = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class)
+                    .addClasses(Dto.class, HttpHedgingEmitter.class, HttpEndpoint.class))
+            .withConfigurationResource("http-sink-hedging-test-application.properties");
+
+    @Inject
+    HttpHedgingEmitter emitter;
+    @Inject
+    HttpEndpoint endpoint;
+
+    @AfterEach
+    void cleanUp() {
+        endpoint.reset();
+    }
+
+    @Test
+    void shouldAckOnTheResponseToTheHedgedRequest() throws Exception {
+        long start = System.nanoTime();
+        emitter.emit(new Dto("hedged")).toCompletableFuture().get(4, TimeUnit.SECONDS);
+
+        // the first request is held for 5 seconds, the hedged one is responded right away
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(3000);
+        assertThat(endpoint.getSlowOnceAttempts()).isEqualTo(2);
+    }
+}
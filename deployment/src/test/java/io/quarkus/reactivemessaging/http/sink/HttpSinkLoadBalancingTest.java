@@ -0,0 +1,61 @@
+package io.quarkus.reactivemessaging.http.sink;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+
+import jakarta.inject.Inject;
+
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import io.quarkus.reactivemessaging.http.sink.app.Dto;
+import io.quarkus.reactivemessaging.http.sink.app.HttpEndpoint;
+import io.quarkus.reactivemessaging.http.sink.app.HttpLoadBalancingEmitter;
+import io.quarkus.test.QuarkusUnitTest;
+
+class HttpSinkLoadBalancingTest {
+
+    @RegisterExtension
+    static final QuarkusUnitTest config = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class)
+                    .addClasses(Dto.class, HttpLoadBalancingEmitter.class, HttpEndpoint.class))
+            .withConfigurationResource("http-sink-load-balancing-test-application.properties");
+
+    @Inject
+    HttpLoadBalancingEmitter emitter;
+    @Inject
+    HttpEndpoint endpoint;
+
+    @AfterEach
+    void cleanUp() {
+        endpoint.reset();
+    }
+
+    @Test
+    void shouldSpreadRequestsOverReplicas() throws Exception {
+        for (int i = 0; i < 9; i++) {
+            emitter.emitBalanced(new Dto("message-" + i)).toCompletableFuture().get(5, TimeUnit.SECONDS);
+        }
+
+        assertThat(endpoint.getReplicaAttempts("a")).isEqualTo(3);
+        assertThat(endpoint.getReplicaAttempts("b")).isEqualTo(3);
+        assertThat(endpoint.getReplicaAttempts("c")).isEqualTo(3);
+    }
+
+    @Test
+    void shouldStopSendingToFailingReplica() throws Exception {
+        endpoint.setFailingReplica("c");
+
+        for (int i = 0; i < 12; i++) {
+            emitter.emitEjecting(new Dto("message-" + i)).toCompletableFuture().get(5, TimeUnit.SECONDS);
+        }
+
+        // the retries of the failed requests go to the next replica, c is ejected after its second failure
+        assertThat(endpoint.getReplicaAttempts("c")).isEqualTo(2);
+        assertThat(endpoint.getReplicaAttempts("a") + endpoint.getReplicaAttempts("b")).isEqualTo(12);
+    }
+}
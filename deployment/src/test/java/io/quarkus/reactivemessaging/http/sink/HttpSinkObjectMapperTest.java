@@ -0,0 +1,61 @@
+package io.quarkus.reactivemessaging.http.sink;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.inject.Inject;
+
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import io.quarkus.reactivemessaging.http.sink.app.Dto;
+import io.quarkus.reactivemessaging.http.sink.app.HttpEndpoint;
+import io.quarkus.reactivemessaging.http.sink.app.HttpObjectMapperEmitter;
+import io.quarkus.reactivemessaging.http.sink.app.UpperCamelCaseCustomizer;
+import io.quarkus.test.QuarkusUnitTest;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+class HttpSinkObjectMapperTest {
+
+    @RegisterExtension
+    static final QuarkusUnitTest config = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class)
+                    .addClasses(Dto.class, HttpObjectMapperEmitter.class, HttpEndpoint.class,
+                            UpperCamelCaseCustomizer.class))
+            .withConfigurationResource("http-sink-object-mapper-test-application.properties");
+
+    @Inject
+    HttpObjectMapperEmitter emitter;
+    @Inject
+    HttpEndpoint endpoint;
+
+    @AfterEach
+    void cleanUp() {
+        endpoint.reset();
+    }
+
+    @Test
+    void shouldSerializeObjectWithCustomizedObjectMapper() throws Exception {
+        emitter.emit(new Dto("object")).toCompletableFuture().get(10, TimeUnit.SECONDS);
+
+        assertThat(endpoint.getRequests()).hasSize(1);
+        assertThat(new JsonObject(endpoint.getRequests().get(0).getBody()))
+                .isEqualTo(new JsonObject().put("Field", "object"));
+    }
+
+    @Test
+    void shouldSerializeCollectionWithCustomizedObjectMapper() throws Exception {
+        emitter.emit(List.of(new Dto("first"), new Dto("second"))).toCompletableFuture().get(10, TimeUnit.SECONDS);
+
+        assertThat(endpoint.getRequests()).hasSize(1);
+        assertThat(new JsonArray(endpoint.getRequests().get(0).getBody())).isEqualTo(new JsonArray()
+                .add(new JsonObject().put("Field", "first"))
+                .add(new JsonObject().put("Field", "second")));
+    }
+}
@@ -0,0 +1,65 @@
+package io.quarkus.reactivemessaging.http.sink;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.inject.Inject;
+
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import io.quarkus.reactivemessaging.http.sink.app.Dto;
+import io.quarkus.reactivemessaging.http.sink.app.HttpEndpoint;
+import io.quarkus.reactivemessaging.http.sink.app.HttpRetryBudgetEmitter;
+import io.quarkus.test.QuarkusUnitTest;
+
+class HttpSinkRetryBudgetTest {
+
+    @RegisterExtension
+    static final QuarkusUnitTest config = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class)
+                    .addClasses(Dto.class, HttpRetryBudgetEmitter.class, HttpEndpoint.class))
+            .withConfigurationResource("http-sink-retry-budget-test-application.properties");
+
+    @Inject
+    HttpRetryBudgetEmitter emitter;
+    @Inject
+    HttpEndpoint endpoint;
+
+    @AfterEach
+    void cleanUp() {
+        endpoint.reset();
+    }
+
+    @Test
+    void shouldStopRetryingOnceTheBudgetIsExhausted() {
+        endpoint.setInitialFailures(1000);
+
+        for (int i = 0; i < 10; i++) {
+            assertThatThrownBy(() -> emitter.emit(new Dto("message")).toCompletableFuture().get(5, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class);
+        }
+        // the burst of 2 retries is used by the first message, the next 9 messages deposit 0.9 of a retry
+        assertThat(endpoint.getAttempts()).isEqualTo(12);
+    }
+
+    @Test
+    void shouldRetryWithinTheBudget() throws Exception {
+        // the burst is refilled by sending messages
+        for (int i = 0; i < 20; i++) {
+            emitter.emit(new Dto("message")).toCompletableFuture().get(5, TimeUnit.SECONDS);
+        }
+        endpoint.reset();
+        endpoint.setInitialFailures(1);
+
+        emitter.emit(new Dto("retried")).toCompletableFuture().get(5, TimeUnit.SECONDS);
+        assertThat(endpoint.getAttempts()).isEqualTo(2);
+        assertThat(endpoint.getRequests()).hasSize(1);
+    }
+}
@@ -0,0 +1,60 @@
+package io.quarkus.reactivemessaging.http.sink;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.inject.Inject;
+
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import io.quarkus.reactivemessaging.http.runtime.HttpResponseException;
+import io.quarkus.reactivemessaging.http.sink.app.Dto;
+import io.quarkus.reactivemessaging.http.sink.app.HttpEndpoint;
+import io.quarkus.reactivemessaging.http.sink.app.HttpStatusEmitter;
+import io.quarkus.test.QuarkusUnitTest;
+
+class HttpSinkStatusCodeRetryTest {
+
+    @RegisterExtension
+    static final QuarkusUnitTest config = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class)
+                    .addClasses(Dto.class, HttpStatusEmitter.class, HttpEndpoint.class))
+            .withConfigurationResource("http-sink-status-test-application.properties");
+
+    @Inject
+    HttpStatusEmitter emitter;
+    @Inject
+    HttpEndpoint endpoint;
+
+    @AfterEach
+    void cleanUp() {
+        endpoint.reset();
+    }
+
+    @Test
+    void shouldNotRetryPermanentFailures() {
+        assertThatThrownBy(() -> emitter.emitBadRequest(new Dto("invalid")).toCompletableFuture().get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .cause().isInstanceOfSatisfying(HttpResponseException.class,
+                        failure -> assertThat(failure.getStatusCode()).isEqualTo(400));
+        assertThat(endpoint.getStatusAttemptTimes()).hasSize(1);
+    }
+
+    @Test
+    void shouldRetryAfterTheRequestedDelay() throws Exception {
+        emitter.emitThrottled(new Dto("throttled")).toCompletableFuture().get(10, TimeUnit.SECONDS);
+
+        List<Long> attemptTimes = endpoint.getStatusAttemptTimes();
+        assertThat(attemptTimes).hasSize(2);
+        // no delay is configured, the retry waits only because of the Retry-After header
+        assertThat(TimeUnit.NANOSECONDS.toMillis(attemptTimes.get(1) - attemptTimes.get(0))).isGreaterThanOrEqualTo(900);
+    }
+}
@@ -8,12 +8,15 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.awaitility.Awaitility.await;
 import static org.hamcrest.Matchers.hasSize;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
+import java.util.zip.GZIPInputStream;
 
 import jakarta.inject.Inject;
 
@@ -52,6 +55,7 @@ class HttpSinkTest {
     @AfterEach
     void cleanUp() {
         httpEndpoint.getRequests().clear();
+        httpEndpoint.getCompressedRequests().clear();
     }
 
     @Test
@@ -163,6 +167,23 @@ class HttpSinkTest {
         assertThat(new JsonObject(body)).isEqualTo(new JsonObject("{\"field\": \"fooo2\"}"));
     }
 
+    @Test
+    void shouldCompressBodiesAboveThreshold() throws Exception {
+        String large = "{\"foo\": \"bar\"}".repeat(20);
+        emit(emitter::emitCompressedObject, "small");
+        emit(emitter::emitCompressedObject, large);
+
+        List<HttpEndpoint.CompressedRequest> requests = httpEndpoint.getCompressedRequests();
+        assertThat(requests).hasSize(2);
+        assertThat(requests.get(0).contentEncoding()).isNull();
+        assertThat(new String(requests.get(0).body(), StandardCharsets.UTF_8)).isEqualTo("small");
+        assertThat(requests.get(1).contentEncoding()).isEqualTo("gzip");
+        assertThat(requests.get(1).body().length).isLessThan(large.length());
+        try (GZIPInputStream decompressed = new GZIPInputStream(new ByteArrayInputStream(requests.get(1).body()))) {
+            assertThat(new String(decompressed.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(large);
+        }
+    }
+
     private void emit(Object payload) throws InterruptedException {
         emit(emitter::emitObject, payload);
     }
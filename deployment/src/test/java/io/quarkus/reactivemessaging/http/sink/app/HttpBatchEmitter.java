@@ -0,0 +1,26 @@
+package io.quarkus.reactivemessaging.http.sink.app;
+
+import java.util.concurrent.CompletionStage;
+
+import jakarta.enterprise.context.ApplicationScoped;
+
+import org.eclipse.microprofile.reactive.messaging.Channel;
+import org.eclipse.microprofile.reactive.messaging.Emitter;
+
+@ApplicationScoped
+public class HttpBatchEmitter {
+
+    @Channel("json-array-batch-sink")
+    Emitter<Object> jsonArrayEmitter;
+
+    @Channel("ndjson-batch-sink")
+    Emitter<Object> ndjsonEmitter;
+
+    public CompletionStage<Void> emitJsonArray(Object payload) {
+        return jsonArrayEmitter.send(payload);
+    }
+
+    public CompletionStage<Void> emitNdjson(Object payload) {
+        return ndjsonEmitter.send(payload);
+    }
+}
@@ -24,6 +24,9 @@ public class HttpEmitter {
     @Channel("retrying-http-sink")
     Emitter<Object> retryingEmitter;
 
+    @Channel("compressing-http-sink")
+    Emitter<Object> compressingEmitter;
+
     @Incoming("custom-http-source")
     @Outgoing("custom-http-sink")
     String passThroughWithCustomSerializer(Buffer message) {
@@ -38,6 +41,10 @@ public class HttpEmitter {
         return retryingEmitter.send(message);
     }
 
+    public CompletionStage<Void> emitCompressedObject(Object message) {
+        return compressingEmitter.send(message);
+    }
+
     public CompletionStage<Void> emitObject(Object message) {
         return emitter.send(message);
     }
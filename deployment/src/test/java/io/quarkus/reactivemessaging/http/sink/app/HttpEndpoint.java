@@ -4,6 +4,10 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
@@ -25,7 +29,14 @@ public class HttpEndpoint {
     private List<Request> requests = new ArrayList<>();
     private Map<String, Request> identifiableRequests = new HashMap<>();
     private AtomicInteger initialFailures = new AtomicInteger(0);
+    private AtomicInteger attempts = new AtomicInteger(0);
     private ReadWriteLock consumptionLock = new ReentrantReadWriteLock();
+    private List<CompressedRequest> compressedRequests = new ArrayList<>();
+    private List<Long> statusAttemptTimes = new CopyOnWriteArrayList<>();
+    private AtomicInteger slowOnceAttempts = new AtomicInteger(0);
+    private volatile CountDownLatch slowResponse = new CountDownLatch(1);
+    private Map<String, AtomicInteger> replicaAttempts = new ConcurrentHashMap<>();
+    private volatile String failingReplica;
 
     @POST
     @Path("{id}")
@@ -36,10 +47,50 @@ public class HttpEndpoint {
         identifiableRequests.put(id, new Request(body, headers.getRequestHeaders(), uriInfo.getQueryParameters()));
     }
 
+    @POST
+    @Path("compressed")
+    public void handleCompressed(byte[] body, @Context HttpHeaders headers) {
+        compressedRequests.add(new CompressedRequest(body, headers.getHeaderString(HttpHeaders.CONTENT_ENCODING)));
+    }
+
+    /**
+     * responds with the status code, a 429 response asks for a retry after 1 second and is only sent once
+     */
+    @POST
+    @Path("status/{code}")
+    public Response handleWithStatus(@PathParam int code) {
+        statusAttemptTimes.add(System.nanoTime());
+        if (code == 429) {
+            return statusAttemptTimes.size() == 1
+                    ? Response.status(429).header("Retry-After", "1").build()
+                    : Response.ok().build();
+        }
+        return Response.status(code).build();
+    }
+
+    /**
+     * the first request is responded after 5 seconds, or when the endpoint is reset, the next ones right away
+     */
+    @POST
+    @Path("slow-once")
+    public void handleSlowOnce(String body) throws InterruptedException {
+        if (slowOnceAttempts.incrementAndGet() == 1) {
+            slowResponse.await(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @POST
+    @Path("replica/{name}")
+    public Response handleReplica(@PathParam String name) {
+        replicaAttempts.computeIfAbsent(name, ignored -> new AtomicInteger()).incrementAndGet();
+        return name.equals(failingReplica) ? Response.status(503).build() : Response.ok().build();
+    }
+
     @POST
     public Response handlePost(String body) {
         consumptionLock.readLock().lock();
         try {
+            attempts.incrementAndGet();
             if (initialFailures.getAndDecrement() > 0) {
                 return Response.status(500).entity("forced failure").build();
             }
@@ -54,6 +105,31 @@ public class HttpEndpoint {
         return requests;
     }
 
+    public int getAttempts() {
+        return attempts.get();
+    }
+
+    public int getReplicaAttempts(String name) {
+        AtomicInteger attempts = replicaAttempts.get(name);
+        return attempts != null ? attempts.get() : 0;
+    }
+
+    public void setFailingReplica(String failingReplica) {
+        this.failingReplica = failingReplica;
+    }
+
+    public int getSlowOnceAttempts() {
+        return slowOnceAttempts.get();
+    }
+
+    public List<Long> getStatusAttemptTimes() {
+        return statusAttemptTimes;
+    }
+
+    public List<CompressedRequest> getCompressedRequests() {
+        return compressedRequests;
+    }
+
     public Map<String, Request> getIdentifiableRequests() {
         return identifiableRequests;
     }
@@ -83,13 +159,24 @@ public class HttpEndpoint {
         }
     }
 
+    public record CompressedRequest(byte[] body, String contentEncoding) {
+    }
+
     public void setInitialFailures(int initialFailures) {
         this.initialFailures.set(initialFailures);
     }
 
     public void reset() {
         requests.clear();
+        compressedRequests.clear();
+        statusAttemptTimes.clear();
+        slowOnceAttempts.set(0);
+        replicaAttempts.clear();
+        failingReplica = null;
+        slowResponse.countDown();
+        slowResponse = new CountDownLatch(1);
         initialFailures.set(0);
+        attempts.set(0);
         try {
             consumptionLock.writeLock().unlock();
         } catch (RuntimeException ignored) {
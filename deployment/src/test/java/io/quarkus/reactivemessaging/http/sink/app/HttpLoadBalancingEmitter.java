@@ -0,0 +1,26 @@
+package io.quarkus.reactivemessaging.http.sink.app;
+
+import java.util.concurrent.CompletionStage;
+
+import jakarta.enterprise.context.ApplicationScoped;
+
+import org.eclipse.microprofile.reactive.messaging.Channel;
+import org.eclipse.microprofile.reactive.messaging.Emitter;
+
+@ApplicationScoped
+public class HttpLoadBalancingEmitter {
+
+    @Channel("balanced-http-sink")
+    Emitter<Object> balancedEmitter;
+
+    @Channel("ejecting-http-sink")
+    Emitter<Object> ejectingEmitter;
+
+    public CompletionStage<Void> emitBalanced(Object payload) {
+        return balancedEmitter.send(payload);
+    }
+
+    public CompletionStage<Void> emitEjecting(Object payload) {
+        return ejectingEmitter.send(payload);
+    }
+}
@@ -0,0 +1,24 @@
+package io.quarkus.reactivemessaging.http.sink.app;
+
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+
+import jakarta.enterprise.context.ApplicationScoped;
+
+import org.eclipse.microprofile.reactive.messaging.Channel;
+import org.eclipse.microprofile.reactive.messaging.Emitter;
+
+@ApplicationScoped
+public class HttpObjectMapperEmitter {
+
+    @Channel("object-mapper-http-sink")
+    Emitter<Object> emitter;
+
+    public CompletionStage<Void> emit(Dto payload) {
+        return emitter.send(payload);
+    }
+
+    public CompletionStage<Void> emit(List<Dto> payload) {
+        return emitter.send(payload);
+    }
+}
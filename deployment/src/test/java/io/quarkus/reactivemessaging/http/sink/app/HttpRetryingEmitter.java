@@ -0,0 +1,19 @@
+package io.quarkus.reactivemessaging.http.sink.app;
+
+import java.util.concurrent.CompletionStage;
+
+import jakarta.enterprise.context.ApplicationScoped;
+
+import org.eclipse.microprofile.reactive.messaging.Channel;
+import org.eclipse.microprofile.reactive.messaging.Emitter;
+
+@ApplicationScoped
+public class HttpRetryingEmitter {
+
+    @Channel("retrying-http-sink")
+    Emitter<Object> emitter;
+
+    public CompletionStage<Void> emit(Object payload) {
+        return emitter.send(payload);
+    }
+}
@@ -0,0 +1,26 @@
+package io.quarkus.reactivemessaging.http.sink.app;
+
+import java.util.concurrent.CompletionStage;
+
+import jakarta.enterprise.context.ApplicationScoped;
+
+import org.eclipse.microprofile.reactive.messaging.Channel;
+import org.eclipse.microprofile.reactive.messaging.Emitter;
+
+@ApplicationScoped
+public class HttpStatusEmitter {
+
+    @Channel("bad-request-http-sink")
+    Emitter<Object> badRequestEmitter;
+
+    @Channel("throttled-http-sink")
+    Emitter<Object> throttledEmitter;
+
+    public CompletionStage<Void> emitBadRequest(Object payload) {
+        return badRequestEmitter.send(payload);
+    }
+
+    public CompletionStage<Void> emitThrottled(Object payload) {
+        return throttledEmitter.send(payload);
+    }
+}
@@ -0,0 +1,167 @@
+package io.quarkus.reactivemessaging.http.source;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import jakarta.inject.Inject;
+
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import io.quarkus.reactivemessaging.http.source.app.BulkConsumer;
+import io.quarkus.reactivemessaging.utils.VertxFriendlyLock;
+import io.quarkus.test.QuarkusUnitTest;
+import io.vertx.core.json.JsonObject;
+
+class HttpSourceBulkTest {
+
+    @RegisterExtension
+    static final QuarkusUnitTest config = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class)
+                    .addClasses(BulkConsumer.class, VertxFriendlyLock.class))
+            .withConfigurationResource("http-source-bulk-test-application.properties");
+
+    @Inject
+    BulkConsumer consumer;
+
+    @AfterEach
+    void cleanUp() {
+        consumer.clear();
+    }
+
+    @Test
+    void shouldSplitJsonArray() {
+        // @formatter:off
+        given()
+                .body("[{\"id\": 1}, {\"id\": 2, \"tags\": [\"a,b\", \"]\"]}, {\"id\": 3}]")
+        .when()
+                .post("/json-array-bulk-source")
+        .then()
+                .statusCode(202);
+        // @formatter:on
+
+        // the response is sent once all the messages are acknowledged
+        assertThat(consumer.getJsonArrayPayloads()).extracting(json -> json.getInteger("id"))
+                .containsExactly(1, 2, 3);
+        assertThat(consumer.getJsonArrayPayloads().get(1).getJsonArray("tags").getList())
+                .containsExactly("a,b", "]");
+    }
+
+    @Test
+    void shouldSplitNdjson() {
+        // @formatter:off
+        given()
+                .body("{\"id\": 1}\n{\"id\": 2}\r\n\n{\"id\": 3}\n")
+        .when()
+                .post("/ndjson-bulk-source")
+        .then()
+                .statusCode(202);
+        // @formatter:on
+
+        assertThat(consumer.getNdjsonPayloads()).containsExactly(
+                new JsonObject().put("id", 1), new JsonObject().put("id", 2), new JsonObject().put("id", 3));
+    }
+
+    @Test
+    void shouldRejectMalformedJsonArray() {
+        // @formatter:off
+        given()
+                .body("[{\"id\": 1}, {\"id\": 2}")
+        .when()
+                .post("/json-array-bulk-source")
+        .then()
+                .statusCode(400);
+        // @formatter:on
+
+        assertThat(consumer.getJsonArrayPayloads()).isEmpty();
+    }
+
+    @Test
+    void shouldRejectRequestNotFittingInBuffer() {
+        // @formatter:off
+        given()
+                .body("{\"id\": 1}\n{\"id\": 2}\n{\"id\": 3}\n{\"id\": 4}")
+        .when()
+                .post("/ndjson-bulk-source")
+        .then()
+                .statusCode(413);
+        // @formatter:on
+
+        assertThat(consumer.getNdjsonPayloads()).isEmpty();
+    }
+
+    @Test
+    void shouldStreamMoreLinesThanBufferSize() {
+        String body = IntStream.range(0, 100)
+                .mapToObj(i -> new JsonObject().put("id", i).encode())
+                .collect(Collectors.joining("\n"));
+        // @formatter:off
+        given()
+                .body(body)
+        .when()
+                .post("/streaming-bulk-source")
+        .then()
+                .statusCode(202);
+        // @formatter:on
+
+        assertThat(consumer.getStreamedPayloads()).extracting(json -> json.getInteger("id"))
+                .containsExactlyElementsOf(IntStream.range(0, 100).boxed().collect(Collectors.toList()));
+    }
+
+    @Test
+    void shouldRejectStreamedLineLongerThanMaxLineSize() {
+        // a single line, the body never contains a new line
+        String body = new JsonObject().put("id", 1).put("padding", "x".repeat(1000)).encode();
+        // @formatter:off
+        given()
+                .body(body)
+        .when()
+                .post("/streaming-bulk-source")
+        .then()
+                .statusCode(413);
+        // @formatter:on
+
+        assertThat(consumer.getStreamedPayloads()).isEmpty();
+    }
+
+    @Test
+    void shouldPassTheSpaceOnWhenAWaitingRequestIsResponded() throws Exception {
+        consumer.pause();
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+
+        // the first line is being consumed, the second one is buffered, the third one waits for space
+        Future<Integer> failing = executorService.submit(() -> given()
+                .body("{\"id\": 1, \"fail\": true}\n{\"id\": 2}\n{\"id\": 3}\n")
+                .when().post("/pausing-streaming-bulk-source")
+                .then().extract().statusCode());
+        await("first request waiting for space")
+                .during(500, TimeUnit.MILLISECONDS)
+                .atMost(2, TimeUnit.SECONDS)
+                .until(() -> !failing.isDone());
+        Future<Integer> waiting = executorService.submit(() -> given()
+                .body("{\"id\": 4}\n")
+                .when().post("/pausing-streaming-bulk-source")
+                .then().extract().statusCode());
+
+        // the nack responds the first request, the space freed afterwards has to reach the second one
+        consumer.resume();
+
+        assertThat(failing.get(10, TimeUnit.SECONDS)).isEqualTo(500);
+        assertThat(waiting.get(10, TimeUnit.SECONDS)).isEqualTo(202);
+        assertThat(consumer.getPausedPayloads()).extracting(json -> json.getInteger("id"))
+                .contains(1, 2, 4)
+                .doesNotContain(3);
+        executorService.shutdown();
+    }
+}
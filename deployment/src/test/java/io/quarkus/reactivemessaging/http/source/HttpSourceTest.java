@@ -29,6 +29,7 @@ import org.junit.jupiter.api.extension.RegisterExtension;
 import io.quarkus.reactivemessaging.http.runtime.IncomingHttpMetadata;
 import io.quarkus.reactivemessaging.http.runtime.RequestMetadata;
 import io.quarkus.reactivemessaging.http.source.app.Consumer;
+import io.quarkus.reactivemessaging.http.source.app.Item;
 import io.quarkus.reactivemessaging.utils.VertxFriendlyLock;
 import io.quarkus.test.QuarkusUnitTest;
 import io.restassured.response.ValidatableResponse;
@@ -42,7 +43,7 @@ class HttpSourceTest {
     @RegisterExtension
     static final QuarkusUnitTest config = new QuarkusUnitTest()
             .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class)
-                    .addClasses(Consumer.class, VertxFriendlyLock.class))
+                    .addClasses(Consumer.class, Item.class, VertxFriendlyLock.class))
             .withConfigurationResource("http-source-test-application.properties");
 
     @Inject
@@ -189,6 +190,18 @@ class HttpSourceTest {
         assertThat(payload.getJsonObject(0).getString("some")).isEqualTo("json");
     }
 
+    @Test
+    void shouldConsumeListOfObjects() {
+        send("[{\"name\": \"foo\"}, {\"name\": \"bar\"}]", "/item-list-http-source");
+
+        List<?> payloads = consumer.getPayloads();
+        assertThat(payloads).hasSize(1);
+        assertThat(payloads.get(0)).isInstanceOf(List.class);
+        List<?> items = (List<?>) payloads.get(0);
+        assertThat(items).hasSize(2).allSatisfy(item -> assertThat(item).isInstanceOf(Item.class));
+        assertThat(items).extracting(item -> ((Item) item).getName()).containsExactly("foo", "bar");
+    }
+
     @Test
     void shouldConsumeString() {
         send("someString", "/string-http-source");
@@ -223,6 +236,58 @@ class HttpSourceTest {
         assertThat(consumer.getPostMessages()).hasSize(14);
     }
 
+    @Test
+    void shouldBuffer13MessagesWithStripedBuffer() {
+        // the stripes borrow space from each other, the buffer size is the same strict limit
+        consumer.pause();
+        List<Future<Integer>> sendStates = new ArrayList<>();
+        ExecutorService executorService = Executors.newFixedThreadPool(17);
+        for (int i = 0; i < 17; i++) {
+            sendStates.add(executorService.submit(() -> sendAndGetStatus("some-text", "/striped-http-source")));
+        }
+
+        await("assert 3 failures")
+                .atMost(10, TimeUnit.SECONDS)
+                .until(() -> countCodes(sendStates, 503), Predicate.isEqual(3L));
+
+        consumer.resume();
+
+        await("all processing finished")
+                .atMost(10, TimeUnit.SECONDS)
+                .until(() -> countCodes(sendStates, 503, 202), Predicate.isEqual(17L));
+
+        assertThat(consumer.getPostMessages()).hasSize(14);
+    }
+
+    @Test
+    void shouldBuffer10MessagesWithinByteLimit() {
+        // 10 bytes each, one message being processed and 100 bytes in the buffer
+        consumer.pause();
+        List<Future<Integer>> sendStates = new ArrayList<>();
+        ExecutorService executorService = Executors.newFixedThreadPool(17);
+        for (int i = 0; i < 17; i++) {
+            sendStates.add(executorService.submit(() -> sendAndGetStatus("0123456789", "/byte-limited-http-source")));
+        }
+
+        await("assert 6 failures")
+                .atMost(10, TimeUnit.SECONDS)
+                .until(() -> countCodes(sendStates, 503), Predicate.isEqual(6L));
+
+        consumer.resume();
+
+        await("all processing finished")
+                .atMost(10, TimeUnit.SECONDS)
+                .until(() -> countCodes(sendStates, 503, 202), Predicate.isEqual(17L));
+
+        assertThat(consumer.getPostMessages()).hasSize(11);
+    }
+
+    @Test
+    void shouldRejectBodyLargerThanByteLimit() {
+        assertThat(sendAndGetStatus("x".repeat(101), "/byte-limited-http-source")).isEqualTo(413);
+        assertThat(consumer.getPostMessages()).isEmpty();
+    }
+
     private long countCodes(List<Future<Integer>> sendStates, int... codes) {
         List<Integer> statusCodes = new ArrayList<>();
         for (Future<Integer> sendState : sendStates) {
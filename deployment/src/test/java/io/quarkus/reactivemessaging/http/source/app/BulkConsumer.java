@@ -0,0 +1,95 @@
+package io.quarkus.reactivemessaging.http.source.app;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import org.eclipse.microprofile.reactive.messaging.Incoming;
+import org.eclipse.microprofile.reactive.messaging.Message;
+
+import io.quarkus.reactivemessaging.utils.VertxFriendlyLock;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+
+@ApplicationScoped
+public class BulkConsumer {
+
+    private final List<JsonObject> jsonArrayPayloads = new CopyOnWriteArrayList<>();
+    private final List<JsonObject> ndjsonPayloads = new CopyOnWriteArrayList<>();
+    private final List<JsonObject> streamedPayloads = new CopyOnWriteArrayList<>();
+    private final List<JsonObject> pausedPayloads = new CopyOnWriteArrayList<>();
+
+    VertxFriendlyLock lock;
+
+    @Inject
+    BulkConsumer(Vertx vertx) {
+        lock = new VertxFriendlyLock(vertx);
+    }
+
+    @Incoming("json-array-bulk-source")
+    void consumeJsonArray(JsonObject payload) {
+        jsonArrayPayloads.add(payload);
+    }
+
+    @Incoming("ndjson-bulk-source")
+    void consumeNdjson(JsonObject payload) {
+        ndjsonPayloads.add(payload);
+    }
+
+    @Incoming("streaming-bulk-source")
+    void consumeStreamed(JsonObject payload) {
+        streamedPayloads.add(payload);
+    }
+
+    @Incoming("pausing-streaming-bulk-source")
+    CompletionStage<Void> consumePaused(Message<JsonObject> message) {
+        CompletableFuture<Void> result = new CompletableFuture<>();
+
+        lock.triggerWhenUnlocked(() -> {
+            pausedPayloads.add(message.getPayload());
+            if (message.getPayload().getBoolean("fail", false)) {
+                message.nack(new IllegalStateException("failing on purpose"));
+            } else {
+                message.ack();
+            }
+            result.complete(null);
+        }, 10000);
+        return result;
+    }
+
+    public List<JsonObject> getJsonArrayPayloads() {
+        return jsonArrayPayloads;
+    }
+
+    public List<JsonObject> getNdjsonPayloads() {
+        return ndjsonPayloads;
+    }
+
+    public List<JsonObject> getStreamedPayloads() {
+        return streamedPayloads;
+    }
+
+    public List<JsonObject> getPausedPayloads() {
+        return pausedPayloads;
+    }
+
+    public void pause() {
+        lock.lock();
+    }
+
+    public void resume() {
+        lock.unlock();
+    }
+
+    public void clear() {
+        jsonArrayPayloads.clear();
+        ndjsonPayloads.clear();
+        streamedPayloads.clear();
+        pausedPayloads.clear();
+        lock.reset();
+    }
+}
@@ -49,6 +49,30 @@ public class Consumer {
         return result;
     }
 
+    @Incoming("striped-http-source")
+    public CompletionStage<Void> processStriped(Message<?> message) {
+        CompletableFuture<Void> result = new CompletableFuture<>();
+
+        lock.triggerWhenUnlocked(() -> {
+            postMessages.add(message);
+            message.ack();
+            result.complete(null);
+        }, 10000);
+        return result;
+    }
+
+    @Incoming("byte-limited-http-source")
+    public CompletionStage<Void> processByteLimited(Message<?> message) {
+        CompletableFuture<Void> result = new CompletableFuture<>();
+
+        lock.triggerWhenUnlocked(() -> {
+            postMessages.add(message);
+            message.ack();
+            result.complete(null);
+        }, 10000);
+        return result;
+    }
+
     @Incoming("post-http-source-with-pathparam")
     public CompletionStage<Void> process2(Message<?> message) {
         CompletableFuture<Void> result = new CompletableFuture<>();
@@ -80,6 +104,12 @@ public class Consumer {
         return COMPLETED;
     }
 
+    @Incoming("item-list-http-source")
+    public CompletionStage<Void> processItemList(List<Item> items) {
+        payloads.add(items);
+        return COMPLETED;
+    }
+
     @Incoming("string-http-source")
     @Acknowledgment(Acknowledgment.Strategy.POST_PROCESSING)
     public CompletionStage<Void> processString(Message<String> stringMessage) {
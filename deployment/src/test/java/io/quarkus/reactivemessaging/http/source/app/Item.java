@@ -0,0 +1,13 @@
+package io.quarkus.reactivemessaging.http.source.app;
+
+public class Item {
+    private String name;
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+}
@@ -8,8 +8,11 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
+import io.vertx.core.MultiMap;
 import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.WebSocket;
+import io.vertx.core.http.WebSocketClientOptions;
 
 public class WebSocketClient {
 
@@ -24,17 +27,26 @@ public class WebSocketClient {
     }
 
     public WsConnection connect(URI uri, long timeout, TimeUnit unit) {
-        CompletableFuture<WebSocket> webSocket = new CompletableFuture<>();
-        vertx.createWebSocketClient().connect(uri.getPort(), uri.getHost(),
+        return connect(uri, new WebSocketClientOptions(), timeout, unit);
+    }
+
+    public WsConnection connect(URI uri, WebSocketClientOptions options) {
+        return connect(uri, options, 1, TimeUnit.SECONDS);
+    }
+
+    public WsConnection connect(URI uri, WebSocketClientOptions options, long timeout, TimeUnit unit) {
+        CompletableFuture<WsConnection> webSocket = new CompletableFuture<>();
+        vertx.createWebSocketClient(options).connect(uri.getPort(), uri.getHost(),
                 uri.getPath() + (uri.getQuery() != null ? "?" + uri.getQuery() : ""), ws -> {
                     if (ws.succeeded()) {
-                        webSocket.complete(ws.result());
+                        // created in the handler, the handshake headers are not available afterwards
+                        webSocket.complete(new WsConnection(ws.result()));
                     } else {
                         webSocket.completeExceptionally(ws.cause());
                     }
                 });
         try {
-            return new WsConnection(webSocket.get(timeout, unit));
+            return webSocket.get(timeout, unit);
         } catch (InterruptedException | ExecutionException | TimeoutException e) {
             throw new RuntimeException("Web socket client failed", e);
         }
@@ -43,10 +55,12 @@ public class WebSocketClient {
     public static class WsConnection {
 
         private final WebSocket ws;
+        private final MultiMap headers;
         private final List<String> responses = new CopyOnWriteArrayList<>();
 
         private WsConnection(WebSocket ws) {
             this.ws = ws;
+            this.headers = ws.headers();
             ws.handler(buffer -> responses.add(buffer.toString()));
         }
 
@@ -59,6 +73,22 @@ public class WebSocketClient {
             return this;
         }
 
+        public WsConnection sendBinary(String message) {
+            try {
+                ws.writeBinaryMessage(Buffer.buffer(message));
+            } catch (Exception any) {
+                throw new RuntimeException("Failed to send message " + message, any);
+            }
+            return this;
+        }
+
+        /**
+         * @return the headers of the handshake response
+         */
+        public MultiMap getHeaders() {
+            return headers;
+        }
+
         public List<String> getResponses() {
             return responses;
         }
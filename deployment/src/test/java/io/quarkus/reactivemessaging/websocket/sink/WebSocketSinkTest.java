@@ -4,6 +4,9 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.awaitility.Awaitility.await;
 import static org.hamcrest.Matchers.hasSize;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 
 import jakarta.inject.Inject;
@@ -17,6 +20,8 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.RegisterExtension;
 
 import io.quarkus.reactivemessaging.utils.ToUpperCaseSerializer;
+import io.quarkus.reactivemessaging.websocket.sink.app.CompressedMessageConsumer;
+import io.quarkus.reactivemessaging.websocket.sink.app.SlowWebSocketEndpoint;
 import io.quarkus.reactivemessaging.websocket.sink.app.WebSocketEmitter;
 import io.quarkus.reactivemessaging.websocket.sink.app.WebSocketEndpoint;
 import io.quarkus.test.QuarkusUnitTest;
@@ -26,16 +31,25 @@ import io.vertx.core.json.JsonObject;
 
 class WebSocketSinkTest {
     private static final Logger log = Logger.getLogger(WebSocketSinkTest.class);
+    private static final String WEB_SOCKET_SINK = "io.quarkus.reactivemessaging.http.runtime.WebSocketSink";
 
     @RegisterExtension
     static final QuarkusUnitTest config = new QuarkusUnitTest()
             .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class)
-                    .addClasses(WebSocketEndpoint.class, WebSocketEmitter.class, ToUpperCaseSerializer.class))
-            .withConfigurationResource("websocket-sink-test-application.properties");
+                    .addClasses(WebSocketEndpoint.class, SlowWebSocketEndpoint.class, WebSocketEmitter.class,
+                            CompressedMessageConsumer.class, ToUpperCaseSerializer.class))
+            .withConfigurationResource("websocket-sink-test-application.properties")
+            .setLogRecordPredicate(record -> WEB_SOCKET_SINK.equals(record.getLoggerName()));
 
     @Inject
     WebSocketEndpoint webSocketEndpoint;
 
+    @Inject
+    SlowWebSocketEndpoint slowEndpoint;
+
+    @Inject
+    CompressedMessageConsumer compressedConsumer;
+
     @Inject
     WebSocketEmitter emitter;
 
@@ -86,6 +100,40 @@ class WebSocketSinkTest {
         assertThat(webSocketEndpoint.getMessages().get(0)).isEqualTo("SOMETEXT");
     }
 
+    @Test
+    void shouldSendBinaryFramesByDefault() {
+        log.debug("shouldSendBinaryFramesByDefault");
+        emitter.sendMessage(Message.of("someText"));
+        await().atMost(10, TimeUnit.SECONDS)
+                .until(() -> webSocketEndpoint.getMessages(), hasSize(1));
+        assertThat(webSocketEndpoint.getTextMessages()).isEmpty();
+    }
+
+    @Test
+    void shouldSendTextFramesIfConfigured() {
+        log.debug("shouldSendTextFramesIfConfigured");
+        emitter.sendTextMessage(Message.of(new JsonObject().put("textFoo", "textBar")));
+        await().atMost(10, TimeUnit.SECONDS)
+                .until(() -> webSocketEndpoint.getTextMessages(), hasSize(1));
+        assertThat(new JsonObject(webSocketEndpoint.getTextMessages().get(0)))
+                .isEqualTo(new JsonObject("{\"textFoo\": \"textBar\"}"));
+    }
+
+    @Test
+    void shouldSendCompressedMessages() {
+        log.debug("shouldSendCompressedMessages");
+        String payload = "{\"foo\": \"bar\"}".repeat(100);
+        emitter.sendCompressedMessage(Message.of(Buffer.buffer(payload)));
+        await().atMost(10, TimeUnit.SECONDS)
+                .until(() -> compressedConsumer.getMessages(), hasSize(1));
+        assertThat(compressedConsumer.getMessages().get(0)).isEqualTo(payload);
+        // the extensions of the handshake response, logged by the sink once connected
+        assertThat(config.getLogRecords())
+                .filteredOn(record -> record.getMessage().startsWith("Connected to"))
+                .anySatisfy(record -> assertThat(String.valueOf(record.getParameters()[1]))
+                        .contains("permessage-deflate"));
+    }
+
     @Test
     void shouldReuseClientIfConnected() {
         log.debug("shouldReuseClientIfConnected");
@@ -109,11 +157,51 @@ class WebSocketSinkTest {
         assertThat(webSocketEndpoint.sessionCount()).isEqualTo(1);
     }
 
+    @Test
+    void shouldSpreadMessagesOverPooledConnections() {
+        log.debug("shouldSpreadMessagesOverPooledConnections");
+        for (int i = 0; i < 6; i++) {
+            emitter.sendMessageWithPool(Message.of("sometext-" + i));
+        }
+        await().atMost(10, TimeUnit.SECONDS)
+                .until(() -> webSocketEndpoint.getMessages(), hasSize(6));
+        assertThat(webSocketEndpoint.getMessages()).containsExactlyInAnyOrder(
+                "sometext-0", "sometext-1", "sometext-2", "sometext-3", "sometext-4", "sometext-5");
+        assertThat(webSocketEndpoint.sessionCount()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldHoldMessagesWhileTheWriteQueueIsFull() {
+        log.debug("shouldHoldMessagesWhileTheWriteQueueIsFull");
+        // more than the socket buffers can take while the endpoint does not read
+        int count = 400;
+        String payload = "x".repeat(60_000);
+        slowEndpoint.pause();
+        List<CompletableFuture<Void>> sends = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            sends.add(emitter.sendToSlowTarget(Buffer.buffer(payload)).toCompletableFuture());
+        }
+
+        // the sends wait for the write queue to drain, instead of failing or being buffered by the web socket
+        await().during(2, TimeUnit.SECONDS).atMost(3, TimeUnit.SECONDS)
+                .until(() -> sends.stream().filter(CompletableFuture::isDone).count() < count);
+        assertThat(sends).noneMatch(CompletableFuture::isCompletedExceptionally);
+
+        slowEndpoint.resume();
+        await().atMost(30, TimeUnit.SECONDS)
+                .until(() -> sends.stream().allMatch(CompletableFuture::isDone));
+        assertThat(sends).noneMatch(CompletableFuture::isCompletedExceptionally);
+        await().atMost(10, TimeUnit.SECONDS)
+                .until(slowEndpoint::getReceived, received -> received == count);
+    }
+
     // TODO: test retry mechanism when STOMP or similar protocol is implemented
 
     @AfterEach
     void cleanUp() {
         webSocketEndpoint.reset();
+        slowEndpoint.reset();
+        compressedConsumer.reset();
     }
 
 }
@@ -0,0 +1,32 @@
+package io.quarkus.reactivemessaging.websocket.sink.app;
+
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import jakarta.enterprise.context.ApplicationScoped;
+
+import org.eclipse.microprofile.reactive.messaging.Incoming;
+import org.eclipse.microprofile.reactive.messaging.Message;
+
+/**
+ * the target of the compressed sink, the web socket sources of the http server negotiate permessage-deflate
+ */
+@ApplicationScoped
+public class CompressedMessageConsumer {
+    private final List<String> messages = new CopyOnWriteArrayList<>();
+
+    @Incoming("compressed-ws-target")
+    public CompletionStage<Void> consume(Message<String> message) {
+        messages.add(message.getPayload());
+        return message.ack();
+    }
+
+    public List<String> getMessages() {
+        return messages;
+    }
+
+    public void reset() {
+        messages.clear();
+    }
+}
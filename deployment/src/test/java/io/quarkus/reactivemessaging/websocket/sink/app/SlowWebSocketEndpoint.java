@@ -0,0 +1,42 @@
+package io.quarkus.reactivemessaging.websocket.sink.app;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.websocket.OnMessage;
+import jakarta.websocket.server.ServerEndpoint;
+
+/**
+ * stops reading the messages while paused, so that the sender's write queue fills up
+ */
+@ApplicationScoped
+@ServerEndpoint("/ws-slow-target-url")
+public class SlowWebSocketEndpoint {
+    private final AtomicInteger received = new AtomicInteger();
+    private volatile CountDownLatch paused = new CountDownLatch(0);
+
+    @OnMessage
+    void consumeMessage(byte[] message) throws InterruptedException {
+        paused.await(30, TimeUnit.SECONDS);
+        received.incrementAndGet();
+    }
+
+    public void pause() {
+        paused = new CountDownLatch(1);
+    }
+
+    public void resume() {
+        paused.countDown();
+    }
+
+    public int getReceived() {
+        return received.get();
+    }
+
+    public void reset() {
+        resume();
+        received.set(0);
+    }
+}
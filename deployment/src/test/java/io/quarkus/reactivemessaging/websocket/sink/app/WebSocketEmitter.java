@@ -1,11 +1,14 @@
 package io.quarkus.reactivemessaging.websocket.sink.app;
 
+import java.util.concurrent.CompletionStage;
+
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 
 import org.eclipse.microprofile.reactive.messaging.Channel;
 import org.eclipse.microprofile.reactive.messaging.Emitter;
 import org.eclipse.microprofile.reactive.messaging.Message;
+import org.eclipse.microprofile.reactive.messaging.OnOverflow;
 
 @ApplicationScoped
 public class WebSocketEmitter {
@@ -23,6 +26,23 @@ public class WebSocketEmitter {
     @Channel("ws-sink-with-serializer")
     Emitter<Object> emitterWithCustomSerializer;
 
+    @Inject
+    @Channel("pooled-ws-sink")
+    Emitter<Object> pooledEmitter;
+
+    @Inject
+    @Channel("text-ws-sink")
+    Emitter<Object> textEmitter;
+
+    @Inject
+    @Channel("compressed-ws-sink")
+    Emitter<Object> compressedEmitter;
+
+    @Inject
+    @Channel("slow-target-ws-sink")
+    @OnOverflow(value = OnOverflow.Strategy.BUFFER, bufferSize = 1000)
+    Emitter<Object> slowTargetEmitter;
+
     public void sendMessage(Message<?> message) {
         emitter.send(message);
     }
@@ -30,4 +50,20 @@ public class WebSocketEmitter {
     public void sendMessageWithCustomSerializer(Message<String> message) {
         emitterWithCustomSerializer.send(message);
     }
+
+    public void sendMessageWithPool(Message<?> message) {
+        pooledEmitter.send(message);
+    }
+
+    public void sendTextMessage(Message<?> message) {
+        textEmitter.send(message);
+    }
+
+    public void sendCompressedMessage(Message<?> message) {
+        compressedEmitter.send(message);
+    }
+
+    public CompletionStage<Void> sendToSlowTarget(Object payload) {
+        return slowTargetEmitter.send(payload);
+    }
 }
@@ -1,7 +1,7 @@
 package io.quarkus.reactivemessaging.websocket.sink.app;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.websocket.OnError;
@@ -16,9 +16,12 @@ import org.jboss.logging.Logger;
 @ServerEndpoint("/ws-target-url")
 public class WebSocketEndpoint {
     private static final Logger log = Logger.getLogger(WebSocketEndpoint.class);
-    private final List<String> messages = new ArrayList<>();
+    // written by multiple connections of a pooled sink at the same time
+    private final List<String> messages = new CopyOnWriteArrayList<>();
 
-    private final List<Session> sessions = new ArrayList<>();
+    private final List<Session> sessions = new CopyOnWriteArrayList<>();
+
+    private final List<String> textMessages = new CopyOnWriteArrayList<>();
 
     @OnError
     void onError(Throwable error) {
@@ -35,6 +38,12 @@ public class WebSocketEndpoint {
         messages.add(new String(message));
     }
 
+    @OnMessage
+    void consumeTextMessage(String message) {
+        messages.add(message);
+        textMessages.add(message);
+    }
+
     public void killAllSessions() {
         for (Session session : sessions) {
             try {
@@ -53,8 +62,13 @@ public class WebSocketEndpoint {
         return messages;
     }
 
+    public List<String> getTextMessages() {
+        return textMessages;
+    }
+
     public void reset() {
         messages.clear();
+        textMessages.clear();
 
         killAllSessions();
     }
@@ -25,11 +25,14 @@ import org.junit.jupiter.api.extension.RegisterExtension;
 import io.quarkus.reactivemessaging.http.runtime.RequestMetadata;
 import io.quarkus.reactivemessaging.utils.VertxFriendlyLock;
 import io.quarkus.reactivemessaging.websocket.WebSocketClient;
+import io.quarkus.reactivemessaging.websocket.WebSocketClient.WsConnection;
 import io.quarkus.reactivemessaging.websocket.source.app.Consumer;
 import io.quarkus.test.QuarkusUnitTest;
 import io.quarkus.test.common.http.TestHTTPResource;
 import io.vertx.core.MultiMap;
 import io.vertx.core.Vertx;
+import io.vertx.core.http.WebSocketClientOptions;
+import io.vertx.core.http.WebSocketFrameType;
 
 class WebSocketSourceTest {
 
@@ -51,6 +54,15 @@ class WebSocketSourceTest {
     @TestHTTPResource("my-ws-buffer-13")
     URI wsSourceBuffer13Uri;
 
+    @TestHTTPResource("my-ws-pause")
+    URI wsSourcePauseUri;
+
+    @TestHTTPResource("my-ws-pause-bytes")
+    URI wsSourcePauseBytesUri;
+
+    @TestHTTPResource("my-ws-compressed")
+    URI wsSourceCompressedUri;
+
     @TestHTTPResource("/shoes/stiletto")
     URI wsSourceUriWithPathParam;
 
@@ -71,6 +83,26 @@ class WebSocketSourceTest {
         assertThat(payload).isEqualTo("test-message");
     }
 
+    @Test
+    void shouldNegotiateConfiguredCompression() {
+        WsConnection connection = client.connect(wsSourceCompressedUri, new WebSocketClientOptions()
+                .setTryUsePerMessageCompression(true)
+                .setCompressionAllowClientNoContext(true)
+                .setCompressionRequestServerNoContext(true));
+        String message = "compressed-message".repeat(100);
+        connection.send(message);
+
+        await("wait for message to be consumed")
+                .atMost(10, TimeUnit.SECONDS)
+                .until(() -> consumer.getMessages(), hasSize(1));
+        assertThat(consumer.getMessages().get(0)).isEqualTo(message);
+        // compression-no-context lets the server drop the context if the client asks for it, and asks the client to
+        assertThat(connection.getHeaders().get("Sec-WebSocket-Extensions"))
+                .contains("permessage-deflate")
+                .contains("server_no_context_takeover")
+                .contains("client_no_context_takeover");
+    }
+
     @Test
     void shouldPassPathParamsAndValidateConfiguredPath() {
         client.connect(wsSourceUriWithPathParam).send("test-message");
@@ -84,6 +116,7 @@ class WebSocketSourceTest {
         assertThat(consumer.getRequestMetadata()).isNotNull();
         RequestMetadata m = consumer.getRequestMetadata();
 
+        assertThat(m.getFrameType()).isEqualTo(WebSocketFrameType.TEXT);
         assertThat(m.getConfiguredPath()).isNotNull();
         assertThat(m.getConfiguredPath()).isNotEmpty();
         assertThat(m.getConfiguredPath()).isEqualTo("/shoes/:shoetype");
@@ -98,6 +131,17 @@ class WebSocketSourceTest {
         assertThat(params.get("shoetype")).isEqualTo("stiletto");
     }
 
+    @Test
+    void shouldPassBinaryFrameType() {
+        client.connect(wsSourceUriWithPathParam).sendBinary("test-message");
+
+        await("wait for message to be consumed")
+                .atMost(10, TimeUnit.SECONDS)
+                .until(() -> consumer.getMessages(), hasSize(1));
+        assertThat(consumer.getMessages().get(0)).isEqualTo("test-message");
+        assertThat(consumer.getRequestMetadata().getFrameType()).isEqualTo(WebSocketFrameType.BINARY);
+    }
+
     @Test
     void shouldPassQueryParams() {
         client.connect(wsSourceUriWithQueryParam).send("test-message");
@@ -135,6 +179,64 @@ class WebSocketSourceTest {
         shouldBuffer(8, wsSourceUri);
     }
 
+    @Test
+    void shouldPauseInsteadOfRejectingIfConfigured() {
+        WebSocketClient.WsConnection connection = client.connect(wsSourcePauseUri);
+        int messagesToSend = 17;
+
+        consumer.pause();
+        for (int i = 0; i < messagesToSend; i++) {
+            connection.send("some-text");
+        }
+
+        // 1 message being consumed and 3 buffered, the rest waits until the web socket is resumed
+        await("no message rejected")
+                .during(1, TimeUnit.SECONDS)
+                .atMost(2, TimeUnit.SECONDS)
+                .until(() -> connection.getResponses().isEmpty());
+
+        consumer.resume();
+
+        await("all processing finished")
+                .atMost(10, TimeUnit.SECONDS)
+                .until(() -> connection.getResponses().size(), equalTo(messagesToSend));
+
+        assertThat(connection.getResponses()).containsOnly("ACK");
+        assertThat(consumer.getMessages()).hasSize(messagesToSend);
+    }
+
+    @Test
+    void shouldPauseUntilTheBufferedBytesLeaveRoomForALargeMessage() {
+        WebSocketClient.WsConnection connection = client.connect(wsSourcePauseBytesUri);
+        String large = "large-message-1";
+
+        consumer.pause();
+        // 1 message being consumed and 3 buffered, 15 of the 20 bytes are taken
+        for (int i = 0; i < 4; i++) {
+            connection.send("small");
+        }
+        await("small messages buffered")
+                .during(500, TimeUnit.MILLISECONDS)
+                .atMost(2, TimeUnit.SECONDS)
+                .until(() -> connection.getResponses().isEmpty());
+
+        // 5 bytes are free, not enough for the 15 bytes of the large message
+        connection.send(large);
+        await("large message waiting for space")
+                .during(1, TimeUnit.SECONDS)
+                .atMost(2, TimeUnit.SECONDS)
+                .until(() -> connection.getResponses().isEmpty());
+
+        consumer.resume();
+
+        await("all processing finished")
+                .atMost(10, TimeUnit.SECONDS)
+                .until(() -> connection.getResponses().size(), equalTo(5));
+
+        assertThat(connection.getResponses()).containsOnly("ACK");
+        assertThat(consumer.getMessages()).containsExactly("small", "small", "small", "small", large);
+    }
+
     void shouldBuffer(int bufferSize, URI wsUri) {
         WebSocketClient.WsConnection connection = client.connect(wsUri);
         int messagesToSend = 17;
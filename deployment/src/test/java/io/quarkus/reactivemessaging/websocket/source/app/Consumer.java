@@ -58,6 +58,30 @@ public class Consumer {
         return result;
     }
 
+    @Incoming("my-ws-source-pause")
+    public CompletionStage<Void> processWithPause(Message<String> message) {
+        CompletableFuture<Void> result = new CompletableFuture<>();
+
+        lock.triggerWhenUnlocked(() -> {
+            messages.add(message.getPayload());
+            message.ack();
+            result.complete(null);
+        }, 10000);
+        return result;
+    }
+
+    @Incoming("my-ws-pause-bytes")
+    public CompletionStage<Void> processWithPauseAndMaxBytes(Message<String> message) {
+        CompletableFuture<Void> result = new CompletableFuture<>();
+
+        lock.triggerWhenUnlocked(() -> {
+            messages.add(message.getPayload());
+            message.ack();
+            result.complete(null);
+        }, 10000);
+        return result;
+    }
+
     @Incoming("my-ws-pathparam")
     public CompletionStage<Void> processWithPathParam(Message<String> message) {
         CompletableFuture<Void> result = new CompletableFuture<>();
@@ -71,6 +95,12 @@ public class Consumer {
         return result;
     }
 
+    @Incoming("my-ws-compressed")
+    public CompletionStage<Void> processCompressed(Message<String> message) {
+        messages.add(message.getPayload());
+        return message.ack();
+    }
+
     public List<String> getMessages() {
         return messages;
     }
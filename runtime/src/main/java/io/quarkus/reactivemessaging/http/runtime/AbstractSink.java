@@ -3,41 +3,82 @@ package io.quarkus.reactivemessaging.http.runtime;
 import java.time.Duration;
 import java.util.Optional;
 import java.util.concurrent.Flow;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.eclipse.microprofile.reactive.messaging.Message;
 import org.jboss.logging.Logger;
 
+import io.quarkus.reactivemessaging.http.runtime.metrics.SinkMetrics;
 import io.smallrye.mutiny.Uni;
-import io.smallrye.mutiny.groups.UniRetry;
+import io.smallrye.mutiny.subscription.Cancellable;
+import io.smallrye.mutiny.subscription.UniEmitter;
 import io.smallrye.reactive.messaging.providers.helpers.MultiUtils;
 import io.smallrye.reactive.messaging.providers.helpers.SenderProcessor;
 
 abstract class AbstractSink {
+    // the back-off stops growing after this many retries
+    private static final int MAX_BACKOFF_SHIFT = 16;
 
     private final SenderProcessor processor;
     private final Flow.Subscriber<? extends Message<?>> subscriber;
+    private final AdaptiveConcurrencyLimit concurrencyLimit;
+    private final CircuitBreaker circuitBreaker;
+    private final int maxRetries;
+    private final long delayNanos;
+    private final double jitter;
+    private final RetryBudget retryBudget;
+    private final RetryScheduler retryScheduler;
+    private final AtomicInteger inflight = new AtomicInteger();
+    private SinkMetrics metrics = SinkMetrics.NOOP; // set before the sink is subscribed
+    private volatile boolean closed;
 
     public AbstractSink(Logger log, String url,
-            int maxRetries, double jitter, Optional<Duration> delay,
-            long inflights, boolean waitForCompletion) {
+            int maxRetries, double jitter, Optional<Duration> delay, RetryBudget retryBudget, RetryScheduler retryScheduler,
+            long inflights, boolean waitForCompletion, boolean adaptiveInflights) {
+        this(log, url, maxRetries, jitter, delay, retryBudget, retryScheduler, inflights, waitForCompletion,
+                adaptiveInflights, null);
+    }
+
+    /**
+     * @param retryBudget bounds the retries to a ratio of the sent messages, not bounded if null
+     * @param retryScheduler runs the delayed retries
+     */
+    public AbstractSink(Logger log, String url,
+            int maxRetries, double jitter, Optional<Duration> delay, RetryBudget retryBudget, RetryScheduler retryScheduler,
+            long inflights, boolean waitForCompletion, boolean adaptiveInflights, CircuitBreaker circuitBreaker) {
         if (inflights <= 0) {
             throw new IllegalArgumentException("Inflights must be greater than 0, but was " + inflights);
         }
+        // in the adaptive mode, inflights is the upper bound of the limit
+        this.concurrencyLimit = adaptiveInflights
+                ? new AdaptiveConcurrencyLimit((int) Math.min(inflights, Integer.MAX_VALUE))
+                : null;
+        this.circuitBreaker = circuitBreaker;
+        this.maxRetries = maxRetries;
+        this.delayNanos = delay.map(Duration::toNanos).orElse(0L);
+        this.jitter = jitter;
+        this.retryBudget = retryBudget;
+        this.retryScheduler = retryScheduler;
         this.processor = new SenderProcessor(inflights, waitForCompletion, m -> {
-            Uni<Void> send = send(m);
+            Uni<Void> send = dispatch(m);
 
             log.debugf("maxRetries: %d for %s", maxRetries, url);
             if (maxRetries > 0) {
-                UniRetry<Void> retry = send.onFailure().retry();
-                if (delay.isPresent()) {
-                    retry = retry.withBackOff(delay.get()).withJitter(jitter);
-                }
-                send = retry.atMost(maxRetries);
+                send = withRetries(send);
+            }
+
+            if (metrics != SinkMetrics.NOOP) {
+                send = send.onSubscription().invoke(inflight::incrementAndGet)
+                        .onTermination().invoke(inflight::decrementAndGet);
             }
 
             return send
                     .onItemOrFailure().transformToUni((result, error) -> {
                         if (error != null) {
+                            metrics.recordNack();
                             return Uni.createFrom().completionStage(
                                     m.nack(error).thenRun(() -> log.debugf(error, "Error responding to %s", url)));
                         }
@@ -51,11 +92,167 @@ abstract class AbstractSink {
 
     protected abstract Uni<Void> send(Message<?> message);
 
+    /**
+     * @param message message to send
+     * @return a Uni sending the message once subscribed, subscribed again on every retry
+     */
+    Uni<Void> dispatch(Message<?> message) {
+        return guard(send(message));
+    }
+
+    /**
+     * apply the circuit breaker and the concurrency limit to an attempt to send, and record its duration
+     */
+    final Uni<Void> guard(Uni<Void> send) {
+        return protect(limit(measure(send)));
+    }
+
+    /**
+     * record the duration of every attempt to send. The time spent waiting for the concurrency limit is not included
+     */
+    private Uni<Void> measure(Uni<Void> send) {
+        if (metrics == SinkMetrics.NOOP) {
+            return send;
+        }
+        return Uni.createFrom().deferred(() -> {
+            long start = System.nanoTime();
+            return send.onItemOrFailure()
+                    .invoke((result, error) -> metrics.recordSend(System.nanoTime() - start, error == null));
+        });
+    }
+
+    /**
+     * retry a failed send up to {@code maxRetries} times, as long as the retry budget allows it.
+     * The delayed retries are run by the retry scheduler, instead of a timer per message.
+     * Cancelling the returned Uni cancels the running attempt and the pending retry. Once the sink is closed, the
+     * message fails with its last failure instead of being retried
+     */
+    private Uni<Void> withRetries(Uni<Void> send) {
+        return Uni.createFrom().emitter(emitter -> {
+            AtomicBoolean terminated = new AtomicBoolean();
+            AtomicReference<Cancellable> currentAttempt = new AtomicReference<>();
+            // invoked on completion too, cancelling a completed attempt does nothing
+            emitter.onTermination(() -> {
+                terminated.set(true);
+                Cancellable attempt = currentAttempt.getAndSet(null);
+                if (attempt != null) {
+                    attempt.cancel();
+                }
+            });
+            if (retryBudget != null) {
+                retryBudget.deposit();
+            }
+            attempt(send, 0, emitter, terminated, currentAttempt);
+        });
+    }
+
+    private void attempt(Uni<Void> send, int retries, UniEmitter<? super Void> emitter, AtomicBoolean terminated,
+            AtomicReference<Cancellable> currentAttempt) {
+        if (terminated.get()) {
+            // cancelled while the retry was waiting for its delay
+            return;
+        }
+        currentAttempt.set(null);
+        Cancellable attempt = send.subscribe().with(emitter::complete, failure -> {
+            // retrying while the circuit breaker is open would only burn the attempts
+            if (retries >= maxRetries || terminated.get() || closed || failure instanceof CircuitBreakerOpenException
+                    || !isRetryable(failure) || (retryBudget != null && !retryBudget.tryWithdraw())) {
+                emitter.fail(failure);
+                return;
+            }
+            metrics.recordRetry();
+            Runnable retry = () -> {
+                if (closed) {
+                    emitter.fail(failure);
+                } else {
+                    attempt(send, retries + 1, emitter, terminated, currentAttempt);
+                }
+            };
+            Duration requestedDelay = requestedRetryDelay(failure);
+            if (requestedDelay == null && delayNanos == 0) {
+                retry.run();
+            } else if (retryScheduler.schedule(requestedDelay != null ? requestedDelay : backoff(retries), retry) == null) {
+                emitter.fail(failure);
+            }
+        });
+        // an immediate retry runs before subscribe returns, and has set itself as the current attempt then
+        currentAttempt.compareAndSet(null, attempt);
+        if (terminated.get()) {
+            // cancelled while subscribing
+            attempt.cancel();
+        }
+    }
+
+    /**
+     * @param retries number of retries made so far
+     * @return the delay doubled for every retry made so far, randomized by the jitter
+     */
+    private Duration backoff(int retries) {
+        long nanos = delayNanos << Math.min(retries, MAX_BACKOFF_SHIFT);
+        long jitterNanos = (long) (nanos * jitter);
+        // the delay is never shorter than the configured one
+        long lowBound = Math.max(delayNanos - nanos, -jitterNanos);
+        if (jitterNanos > lowBound) {
+            nanos += ThreadLocalRandom.current().nextLong(lowBound, jitterNanos + 1);
+        }
+        return Duration.ofNanos(nanos);
+    }
+
+    /**
+     * @param failure failure of an attempt to send
+     * @return false if the send can never succeed, e.g. because the target rejected the message as invalid.
+     *         The message is nacked without retries then, and the failure does not count for the circuit breaker
+     */
+    protected boolean isRetryable(Throwable failure) {
+        return true;
+    }
+
+    /**
+     * @param failure failure of an attempt to send
+     * @return the delay before the next attempt requested by the target, or null to use the back-off
+     */
+    protected Duration requestedRetryDelay(Throwable failure) {
+        return null;
+    }
+
+    /**
+     * fail fast if the circuit breaker is open. The duration of a send checked by the circuit breaker includes the
+     * time spent waiting for the concurrency limit, so that the sends rejected fast do not take a place in the limit
+     */
+    private Uni<Void> protect(Uni<Void> send) {
+        return circuitBreaker != null ? circuitBreaker.protect(send, this::isRetryable) : send;
+    }
+
+    private Uni<Void> limit(Uni<Void> send) {
+        return concurrencyLimit != null ? concurrencyLimit.limit(send) : send;
+    }
+
+    /**
+     * start recording the metrics of the sink, must be called before the sink is subscribed
+     *
+     * @param metrics metrics of the outgoing channel
+     */
+    void registerMetrics(SinkMetrics metrics) {
+        this.metrics = metrics;
+        metrics.registerInflight(inflight::get);
+        if (concurrencyLimit != null) {
+            metrics.registerConcurrencyLimit(concurrencyLimit::getLimit);
+        }
+        if (circuitBreaker != null) {
+            metrics.registerCircuitBreakerState(() -> circuitBreaker.getState().ordinal());
+        }
+    }
+
+    protected SinkMetrics metrics() {
+        return metrics;
+    }
+
     Flow.Subscriber<? extends Message<?>> sink() {
         return subscriber;
     }
 
     void close() {
+        closed = true;
         if (processor != null) {
             processor.cancel();
         }
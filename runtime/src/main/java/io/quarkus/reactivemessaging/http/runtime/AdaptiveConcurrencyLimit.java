@@ -0,0 +1,202 @@
+package io.quarkus.reactivemessaging.http.runtime;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.subscription.Cancellable;
+import io.smallrye.mutiny.subscription.UniEmitter;
+
+/**
+ * Limits the number of concurrent sends, adapting the limit to the observed latency and failures (AIMD).
+ * <p>
+ * Every successful send that used a good part of the current limit increases the limit by one, up to the maximum.
+ * A failed send, or a send that took much longer than the long-term average, decreases the limit by
+ * {@value #BACKOFF_RATIO} times, down to one.
+ * Sends that do not fit in the limit wait until one of the running sends completes.
+ * A send cancelled while waiting never runs, a send cancelled while running is cancelled and gives its place to the
+ * next one.
+ */
+class AdaptiveConcurrencyLimit {
+    static final double BACKOFF_RATIO = 0.9;
+    // a send slower than the average times this value is a sign of an overloaded downstream
+    static final double LATENCY_TOLERANCE = 2.0;
+    // weight of a new sample in the long-term average latency
+    static final double LATENCY_SMOOTHING = 0.05;
+    static final int INITIAL_LIMIT = 4;
+
+    private final int maxLimit;
+
+    // guarded by this:
+    private final Deque<Permit<?>> waiting = new ArrayDeque<>();
+    private double limit;
+    private int inflight;
+    private double averageLatencyNanos = -1;
+
+    /**
+     * @param maxLimit maximum number of concurrent sends
+     */
+    AdaptiveConcurrencyLimit(int maxLimit) {
+        if (maxLimit <= 0) {
+            throw new IllegalArgumentException("Maximum limit must be greater than 0, but was " + maxLimit);
+        }
+        this.maxLimit = maxLimit;
+        this.limit = Math.min(INITIAL_LIMIT, maxLimit);
+    }
+
+    /**
+     * @return the current limit of concurrent sends
+     */
+    synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    /**
+     * @return the number of sends in progress
+     */
+    synchronized int getInflight() {
+        return inflight;
+    }
+
+    /**
+     * run the operation once it fits in the limit, and adjust the limit based on its outcome
+     *
+     * @param operation the send operation
+     * @return a Uni completed with the result of the operation. Subscribing to it again runs the operation again,
+     *         e.g. on retry, each run taking its own place in the limit
+     */
+    <T> Uni<T> limit(Uni<T> operation) {
+        return Uni.createFrom().emitter(emitter -> {
+            Permit<T> permit = new Permit<>(operation, emitter);
+            // invoked on completion too, a permit is released once only
+            emitter.onTermination(permit::cancel);
+            if (acquire(permit)) {
+                permit.start();
+            }
+        });
+    }
+
+    /**
+     * @return true if the permit fits in the limit, it is queued otherwise
+     */
+    private synchronized boolean acquire(Permit<?> permit) {
+        if (inflight >= (int) limit) {
+            waiting.add(permit);
+            return false;
+        }
+        inflight++;
+        permit.running = true;
+        return true;
+    }
+
+    // must be called while holding the lock
+    private void adjust(boolean success, long latencyNanos, int inflightAtStart) {
+        if (!success) {
+            limit = Math.max(1, limit * BACKOFF_RATIO);
+            return;
+        }
+        if (averageLatencyNanos < 0) {
+            averageLatencyNanos = latencyNanos;
+        }
+        boolean slow = latencyNanos > averageLatencyNanos * LATENCY_TOLERANCE;
+        averageLatencyNanos += (latencyNanos - averageLatencyNanos) * LATENCY_SMOOTHING;
+        if (slow) {
+            limit = Math.max(1, limit * BACKOFF_RATIO);
+        } else if (inflightAtStart * 2 >= limit) {
+            // grow only if the limit is actually used, an idle sink would grow it without bounds otherwise
+            limit = Math.min(maxLimit, limit + 1);
+        }
+    }
+
+    private void runWaiting() {
+        while (true) {
+            Permit<?> next;
+            synchronized (this) {
+                if (waiting.isEmpty() || inflight >= (int) limit) {
+                    return;
+                }
+                next = waiting.poll();
+                inflight++;
+                next.running = true;
+            }
+            next.start();
+        }
+    }
+
+    private class Permit<T> {
+        private final Uni<T> operation;
+        private final UniEmitter<? super T> emitter;
+
+        // guarded by AdaptiveConcurrencyLimit.this:
+        private boolean running;
+        private boolean done;
+        private Cancellable subscription;
+
+        private Permit(Uni<T> operation, UniEmitter<? super T> emitter) {
+            this.operation = operation;
+            this.emitter = emitter;
+        }
+
+        private void start() {
+            long start = System.nanoTime();
+            int inflightAtStart = getInflight();
+            Cancellable cancellable = operation.subscribe().with(
+                    item -> {
+                        if (finish(true, System.nanoTime() - start, inflightAtStart)) {
+                            emitter.complete(item);
+                        }
+                    },
+                    failure -> {
+                        if (finish(false, System.nanoTime() - start, inflightAtStart)) {
+                            emitter.fail(failure);
+                        }
+                    });
+            boolean cancelled;
+            synchronized (AdaptiveConcurrencyLimit.this) {
+                subscription = cancellable;
+                cancelled = done;
+            }
+            if (cancelled) {
+                // cancelled while subscribing, a no-op if the operation has completed already
+                cancellable.cancel();
+            }
+        }
+
+        /**
+         * @return false if the permit has been cancelled
+         */
+        private boolean finish(boolean success, long latencyNanos, int inflightAtStart) {
+            synchronized (AdaptiveConcurrencyLimit.this) {
+                if (done) {
+                    return false;
+                }
+                done = true;
+                inflight--;
+                adjust(success, latencyNanos, inflightAtStart);
+            }
+            runWaiting();
+            return true;
+        }
+
+        private void cancel() {
+            Cancellable toCancel;
+            synchronized (AdaptiveConcurrencyLimit.this) {
+                if (done) {
+                    return;
+                }
+                done = true;
+                if (!running) {
+                    waiting.remove(this);
+                    return;
+                }
+                // the outcome is unknown, the limit is not adjusted
+                inflight--;
+                toCancel = subscription;
+            }
+            if (toCancel != null) {
+                toCancel.cancel();
+            }
+            runWaiting();
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package io.quarkus.reactivemessaging.http.runtime;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import org.eclipse.microprofile.reactive.messaging.Message;
+import org.jboss.logging.Logger;
+
+import io.smallrye.mutiny.Uni;
+import io.vertx.core.Vertx;
+
+/**
+ * A sink able to send multiple messages at once.
+ * <p>
+ * If the sink is created with a batch size greater than 1, the messages are handed to a {@link MessageBatcher} and
+ * sent with {@link #sendBatch(List)}, otherwise they are sent one by one with {@link #send(Message)}.
+ */
+abstract class BatchingSink extends AbstractSink {
+
+    private final MessageBatcher batcher;
+
+    /**
+     * @param batchSize maximum number of messages sent at once, 1 to send the messages one by one
+     * @param batchLinger maximum time a message waits for its batch to fill up
+     */
+    BatchingSink(Logger log, Vertx vertx, String url,
+            int maxRetries, double jitter, Optional<Duration> delay, RetryBudget retryBudget, RetryScheduler retryScheduler,
+            long inflights, boolean waitForCompletion, boolean adaptiveInflights,
+            int batchSize, Duration batchLinger, CircuitBreaker circuitBreaker) {
+        super(log, url, maxRetries, jitter, delay, retryBudget, retryScheduler, batchInflights(inflights, batchSize),
+                waitForCompletion, adaptiveInflights, circuitBreaker);
+        this.batcher = batchSize > 1
+                ? new MessageBatcher(vertx, batchSize, batchLinger, messages -> guard(sendBatch(messages)))
+                : null;
+    }
+
+    private static long batchInflights(long inflights, int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be greater than 0, but was " + batchSize);
+        }
+        // a batch can only fill up if enough messages are in flight at the same time
+        return batchSize > 1 && inflights > 0 ? Math.max(inflights, batchSize) : inflights;
+    }
+
+    /**
+     * send multiple messages at once
+     *
+     * @param messages messages to send
+     * @return a Uni completed when the whole batch is sent
+     */
+    protected abstract Uni<Void> sendBatch(List<Message<?>> messages);
+
+    @Override
+    Uni<Void> dispatch(Message<?> message) {
+        return batcher != null ? batcher.add(message) : super.dispatch(message);
+    }
+
+    @Override
+    void close() {
+        super.close();
+        if (batcher != null) {
+            batcher.close();
+        }
+    }
+}
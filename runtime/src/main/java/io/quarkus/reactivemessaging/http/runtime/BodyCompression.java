@@ -0,0 +1,47 @@
+package io.quarkus.reactivemessaging.http.runtime;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Compression of the request bodies sent by the http sink, the bodies are compressed by a {@link BodyCompressor}
+ */
+public enum BodyCompression {
+    /**
+     * bodies are sent as they are
+     */
+    NONE("none", null),
+    /**
+     * gzip format, see RFC 1952
+     */
+    GZIP("gzip", "gzip"),
+    /**
+     * zlib format, see RFC 1950, named deflate by the http content codings
+     */
+    DEFLATE("deflate", "deflate");
+
+    private final String configValue;
+    private final String contentEncoding;
+
+    BodyCompression(String configValue, String contentEncoding) {
+        this.configValue = configValue;
+        this.contentEncoding = contentEncoding;
+    }
+
+    /**
+     * @return value of the Content-Encoding header of the compressed bodies
+     */
+    String contentEncoding() {
+        return contentEncoding;
+    }
+
+    public static BodyCompression fromConfig(String value) {
+        for (BodyCompression compression : values()) {
+            if (compression.configValue.equals(value.toLowerCase(Locale.ROOT))) {
+                return compression;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported compression: " + value + ". The supported compressions are: "
+                + Arrays.toString(Arrays.stream(values()).map(c -> c.configValue).toArray()));
+    }
+}
@@ -0,0 +1,137 @@
+package io.quarkus.reactivemessaging.http.runtime;
+
+import java.nio.ByteBuffer;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+import io.vertx.core.buffer.Buffer;
+
+/**
+ * Compresses the request bodies of a sink.
+ * <p>
+ * A {@link Deflater} is reused by every thread that sends the requests, usually the event loops, so that it and its
+ * native memory are not allocated for every request. The deflaters are released when the sink is closed, instead of
+ * whenever the garbage collector gets to them.
+ */
+class BodyCompressor {
+    private static final int CHUNK_SIZE = 8 * 1024;
+    private static final byte[] GZIP_HEADER = { 0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff };
+
+    private final BodyCompression compression;
+    private final int level;
+    private final ThreadLocal<Compressor> compressors = ThreadLocal.withInitial(this::newCompressor);
+    private final Set<Compressor> created = ConcurrentHashMap.newKeySet();
+    private volatile boolean closed;
+
+    /**
+     * @param compression format of the compressed bodies, other than {@link BodyCompression#NONE}
+     * @param level compression level, from 1 (fastest) to 9 (smallest)
+     */
+    BodyCompressor(BodyCompression compression, int level) {
+        if (compression == BodyCompression.NONE) {
+            throw new IllegalArgumentException("A compressor requires a compression format");
+        }
+        this.compression = compression;
+        this.level = level;
+    }
+
+    /**
+     * @return value of the Content-Encoding header of the compressed bodies
+     */
+    String contentEncoding() {
+        return compression.contentEncoding();
+    }
+
+    /**
+     * compress a body
+     *
+     * @param body the body
+     * @return the compressed body
+     */
+    Buffer compress(Buffer body) {
+        Compressor compressor = compressors.get();
+        synchronized (compressor) {
+            if (!compressor.ended) {
+                return compressor.compress(body);
+            }
+        }
+        // the sink has been closed while sending, the body is compressed with a compressor of its own
+        Compressor oneOff = new Compressor(compression == BodyCompression.GZIP, level);
+        try {
+            return oneOff.compress(body);
+        } finally {
+            oneOff.end();
+        }
+    }
+
+    /**
+     * release the native memory of the deflaters
+     */
+    void close() {
+        closed = true;
+        for (Compressor compressor : created) {
+            compressor.end();
+        }
+        created.clear();
+    }
+
+    private Compressor newCompressor() {
+        Compressor compressor = new Compressor(compression == BodyCompression.GZIP, level);
+        created.add(compressor);
+        if (closed) {
+            compressor.end();
+        }
+        return compressor;
+    }
+
+    private static class Compressor {
+        private final boolean gzip;
+        private final Deflater deflater;
+        private final CRC32 crc = new CRC32();
+        private final byte[] chunk = new byte[CHUNK_SIZE];
+        // guarded by this:
+        private boolean ended;
+
+        private Compressor(boolean gzip, int level) {
+            this.gzip = gzip;
+            // the gzip header and trailer are written here, the deflater produces the raw deflate stream only
+            this.deflater = new Deflater(level, gzip);
+        }
+
+        // must be called while holding the lock, unless the compressor is not shared
+        private Buffer compress(Buffer body) {
+            ByteBuffer input = body.getByteBuf().nioBuffer();
+            // most of the messages are text, compressed several times, the buffer grows if needed
+            Buffer result = Buffer.buffer(body.length() / 4 + 32);
+            if (gzip) {
+                result.appendBytes(GZIP_HEADER);
+                crc.reset();
+                crc.update(input.duplicate());
+            }
+            try {
+                deflater.setInput(input);
+                deflater.finish();
+                while (!deflater.finished()) {
+                    int written = deflater.deflate(chunk);
+                    result.appendBytes(chunk, 0, written);
+                }
+            } finally {
+                deflater.reset();
+            }
+            if (gzip) {
+                result.appendIntLE((int) crc.getValue());
+                result.appendIntLE(body.length());
+            }
+            return result;
+        }
+
+        private synchronized void end() {
+            if (!ended) {
+                ended = true;
+                deflater.end();
+            }
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package io.quarkus.reactivemessaging.http.runtime;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+import io.vertx.core.buffer.Buffer;
+
+/**
+ * Format of a request body carrying multiple messages
+ */
+public enum BulkFormat {
+    /**
+     * serialized messages joined into a single JSON array
+     */
+    JSON_ARRAY("json-array", "application/json"),
+    /**
+     * serialized messages separated by new lines, see http://ndjson.org
+     */
+    NDJSON("ndjson", "application/x-ndjson");
+
+    private static final byte NEW_LINE = '\n';
+
+    private final String configValue;
+    private final String contentType;
+
+    BulkFormat(String configValue, String contentType) {
+        this.configValue = configValue;
+        this.contentType = contentType;
+    }
+
+    String contentType() {
+        return contentType;
+    }
+
+    /**
+     * join serialized messages into a single body
+     *
+     * @param serialized serialized messages, each of them a single JSON value
+     * @return the body
+     */
+    Buffer join(List<Buffer> serialized) {
+        int length = 2 + serialized.size();
+        for (Buffer buffer : serialized) {
+            length += buffer.length();
+        }
+        Buffer result = Buffer.buffer(length);
+        if (this == JSON_ARRAY) {
+            result.appendByte((byte) '[');
+        }
+        for (int i = 0; i < serialized.size(); i++) {
+            if (i > 0) {
+                result.appendByte(this == JSON_ARRAY ? (byte) ',' : NEW_LINE);
+            }
+            result.appendBuffer(serialized.get(i));
+        }
+        if (this == JSON_ARRAY) {
+            result.appendByte((byte) ']');
+        }
+        return result;
+    }
+
+    /**
+     * split a body into single messages. Does not parse the messages, only finds their boundaries.
+     * The returned buffers share the memory of the body.
+     *
+     * @param body the body
+     * @return buffers with single messages
+     * @throws IllegalArgumentException if the body is not a valid JSON array in the json-array format
+     */
+    List<Buffer> split(Buffer body) {
+        return this == JSON_ARRAY ? splitJsonArray(body) : splitLines(body);
+    }
+
+    private static List<Buffer> splitLines(Buffer body) {
+        List<Buffer> result = new ArrayList<>();
+        int length = body.length();
+        int lineStart = 0;
+        for (int i = 0; i <= length; i++) {
+            if (i == length || body.getByte(i) == NEW_LINE) {
+                addTrimmed(result, body, lineStart, i);
+                lineStart = i + 1;
+            }
+        }
+        return result;
+    }
+
+    private static List<Buffer> splitJsonArray(Buffer body) {
+        int length = body.length();
+        int start = skipWhitespace(body, 0, length);
+        if (start == length || body.getByte(start) != '[') {
+            throw new IllegalArgumentException("Expected a JSON array");
+        }
+        List<Buffer> result = new ArrayList<>();
+        int depth = 0;
+        boolean inString = false;
+        int elementStart = start + 1;
+        for (int i = start + 1; i < length; i++) {
+            byte b = body.getByte(i);
+            if (inString) {
+                if (b == '\\') {
+                    i++; // skip the escaped character
+                } else if (b == '"') {
+                    inString = false;
+                }
+                continue;
+            }
+            switch (b) {
+                case '"':
+                    inString = true;
+                    break;
+                case '[':
+                case '{':
+                    depth++;
+                    break;
+                case ']':
+                case '}':
+                    if (depth == 0) {
+                        if (b != ']') {
+                            throw new IllegalArgumentException("Unbalanced JSON array");
+                        }
+                        if (!addTrimmed(result, body, elementStart, i) && !result.isEmpty()) {
+                            throw new IllegalArgumentException("Empty element in the JSON array");
+                        }
+                        if (skipWhitespace(body, i + 1, length) != length) {
+                            throw new IllegalArgumentException("Unexpected content after the JSON array");
+                        }
+                        return result;
+                    }
+                    depth--;
+                    break;
+                case ',':
+                    if (depth == 0) {
+                        if (!addTrimmed(result, body, elementStart, i)) {
+                            throw new IllegalArgumentException("Empty element in the JSON array");
+                        }
+                        elementStart = i + 1;
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+        throw new IllegalArgumentException("Unterminated JSON array");
+    }
+
+    private static boolean addTrimmed(List<Buffer> result, Buffer body, int start, int end) {
+        start = skipWhitespace(body, start, end);
+        while (end > start && isWhitespace(body.getByte(end - 1))) {
+            end--;
+        }
+        if (start < end) {
+            result.add(body.slice(start, end));
+            return true;
+        }
+        return false;
+    }
+
+    private static int skipWhitespace(Buffer body, int start, int end) {
+        while (start < end && isWhitespace(body.getByte(start))) {
+            start++;
+        }
+        return start;
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\t' || b == '\r' || b == NEW_LINE;
+    }
+
+    public static BulkFormat fromConfig(String value) {
+        for (BulkFormat format : values()) {
+            if (format.configValue.equals(value.toLowerCase(Locale.ROOT))) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported bulk format: " + value + ". The supported formats are: "
+                + Arrays.toString(Arrays.stream(values()).map(f -> f.configValue).toArray()));
+    }
+}
@@ -0,0 +1,185 @@
+package io.quarkus.reactivemessaging.http.runtime;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+import io.smallrye.mutiny.Uni;
+
+/**
+ * Stops sending to a downstream that fails or responds too slowly, instead of sending every message to it.
+ * <p>
+ * The outcomes of the last {@code windowSize} sends are recorded. Once that many sends are recorded, the breaker opens
+ * if the ratio of failed sends reaches {@code failureRatio}, or if the ratio of sends that took longer than
+ * {@code slowCallDuration} reaches {@code slowCallRatio}.
+ * While the breaker is open, sends fail immediately with {@link CircuitBreakerOpenException}, without reaching the
+ * downstream. After {@code delay}, the breaker is half-open: up to {@code probes} sends are let through, the breaker
+ * closes if all of them succeed and opens again as soon as one of them fails or is slow.
+ */
+class CircuitBreaker {
+    private static final byte FAILURE = 1;
+    private static final byte SLOW = 2;
+
+    enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final double failureRatio;
+    private final long slowCallNanos;
+    private final double slowCallRatio;
+    private final long delayNanos;
+    private final int probes;
+
+    // guarded by this:
+    private final byte[] outcomes;
+    private State state = State.CLOSED;
+    // incremented on every change of the state, the outcomes of sends started in another state are ignored
+    private long generation;
+    private int position;
+    private int recorded;
+    private int failures;
+    private int slowCalls;
+    private long openedAt;
+    private int probesStarted;
+    private int probesSucceeded;
+
+    /**
+     * @param windowSize number of the most recent sends the ratios are computed from
+     * @param failureRatio ratio of failed sends that opens the breaker
+     * @param slowCallDuration duration above which a send is slow, slow sends are not tracked if empty
+     * @param slowCallRatio ratio of slow sends that opens the breaker
+     * @param delay time the breaker stays open before letting probes through
+     * @param probes number of sends let through while the breaker is half-open
+     */
+    CircuitBreaker(int windowSize, double failureRatio, Optional<Duration> slowCallDuration, double slowCallRatio,
+            Duration delay, int probes) {
+        if (windowSize <= 0) {
+            throw new IllegalArgumentException("Circuit breaker window must be greater than 0, but was " + windowSize);
+        }
+        if (failureRatio <= 0 || failureRatio > 1) {
+            throw new IllegalArgumentException(
+                    "Circuit breaker failure ratio must be greater than 0 and at most 1, but was " + failureRatio);
+        }
+        if (slowCallRatio <= 0 || slowCallRatio > 1) {
+            throw new IllegalArgumentException(
+                    "Circuit breaker slow call ratio must be greater than 0 and at most 1, but was " + slowCallRatio);
+        }
+        if (probes <= 0) {
+            throw new IllegalArgumentException("Circuit breaker probes must be greater than 0, but was " + probes);
+        }
+        this.outcomes = new byte[windowSize];
+        this.failureRatio = failureRatio;
+        this.slowCallNanos = slowCallDuration.map(Duration::toNanos).orElse(0L);
+        this.slowCallRatio = slowCallRatio;
+        this.delayNanos = delay.toNanos();
+        this.probes = probes;
+    }
+
+    /**
+     * @return the current state of the breaker
+     */
+    synchronized State getState() {
+        if (state == State.OPEN && System.nanoTime() - openedAt >= delayNanos) {
+            return State.HALF_OPEN;
+        }
+        return state;
+    }
+
+    /**
+     * run the operation if the breaker lets it through, and record its outcome
+     *
+     * @param operation the send operation
+     * @param downstreamFailure whether a failure of the operation is a sign of a failing downstream, other failures are
+     *        recorded as successes
+     * @return a Uni completed with the result of the operation, or failed with {@link CircuitBreakerOpenException}
+     *         if the breaker is open. Subscribing to it again checks the breaker again, e.g. on retry
+     */
+    <T> Uni<T> protect(Uni<T> operation, Predicate<Throwable> downstreamFailure) {
+        return Uni.createFrom().deferred(() -> {
+            long permit = acquire();
+            if (permit < 0) {
+                return Uni.createFrom().failure(new CircuitBreakerOpenException());
+            }
+            long start = System.nanoTime();
+            return operation
+                    .onItemOrFailure().invoke((item, failure) -> record(permit,
+                            failure == null || !downstreamFailure.test(failure), System.nanoTime() - start))
+                    .onCancellation().invoke(() -> cancel(permit));
+        });
+    }
+
+    /**
+     * @return the generation the send is started in, or -1 if the send is not let through
+     */
+    private synchronized long acquire() {
+        if (state == State.OPEN) {
+            if (System.nanoTime() - openedAt < delayNanos) {
+                return -1;
+            }
+            transitionTo(State.HALF_OPEN);
+        }
+        if (state == State.HALF_OPEN) {
+            if (probesStarted >= probes) {
+                return -1;
+            }
+            probesStarted++;
+        }
+        return generation;
+    }
+
+    private synchronized void record(long permit, boolean success, long durationNanos) {
+        if (permit != generation) {
+            return;
+        }
+        boolean slow = slowCallNanos > 0 && durationNanos > slowCallNanos;
+        if (state == State.HALF_OPEN) {
+            if (!success || slow) {
+                transitionTo(State.OPEN);
+            } else if (++probesSucceeded >= probes) {
+                transitionTo(State.CLOSED);
+            }
+            return;
+        }
+        byte outcome = (byte) ((success ? 0 : FAILURE) | (slow ? SLOW : 0));
+        if (recorded == outcomes.length) {
+            // the oldest outcome leaves the window
+            byte evicted = outcomes[position];
+            failures -= evicted & FAILURE;
+            slowCalls -= (evicted & SLOW) >> 1;
+        } else {
+            recorded++;
+        }
+        outcomes[position] = outcome;
+        position = (position + 1) % outcomes.length;
+        failures += outcome & FAILURE;
+        slowCalls += (outcome & SLOW) >> 1;
+        if (recorded == outcomes.length
+                && (failures >= failureRatio * recorded || slowCalls >= slowCallRatio * recorded)) {
+            transitionTo(State.OPEN);
+        }
+    }
+
+    private synchronized void cancel(long permit) {
+        // a cancelled probe gives its place to another send
+        if (permit == generation && state == State.HALF_OPEN) {
+            probesStarted--;
+        }
+    }
+
+    // must be called while holding the lock
+    private void transitionTo(State newState) {
+        state = newState;
+        generation++;
+        position = 0;
+        recorded = 0;
+        failures = 0;
+        slowCalls = 0;
+        probesStarted = 0;
+        probesSucceeded = 0;
+        if (newState == State.OPEN) {
+            openedAt = System.nanoTime();
+        }
+    }
+}
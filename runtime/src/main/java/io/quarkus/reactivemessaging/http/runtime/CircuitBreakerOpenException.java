@@ -0,0 +1,11 @@
+package io.quarkus.reactivemessaging.http.runtime;
+
+/**
+ * The failure of a message that was not sent because the circuit breaker of the outgoing channel is open
+ */
+public class CircuitBreakerOpenException extends RuntimeException {
+
+    public CircuitBreakerOpenException() {
+        super("The circuit breaker is open, the message was not sent", null, false, false);
+    }
+}
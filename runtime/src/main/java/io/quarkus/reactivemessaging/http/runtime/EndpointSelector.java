@@ -0,0 +1,205 @@
+package io.quarkus.reactivemessaging.http.runtime;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Selects the target URL of every request sent by the http sink, out of a list of replicas of the target.
+ * <p>
+ * An endpoint that fails {@code ejectionFailures} times in a row, without a response or with a retryable status code,
+ * is ejected for {@code ejectionDuration}: it is not selected until the duration elapses.
+ * If all the endpoints are ejected, all of them are used, as sending to an endpoint that might have recovered is
+ * better than not sending at all.
+ */
+class EndpointSelector {
+
+    enum Strategy {
+        /**
+         * the endpoints are used in turn
+         */
+        ROUND_ROBIN("round-robin"),
+        /**
+         * the endpoint with the fewest requests in flight
+         */
+        LEAST_INFLIGHT("least-inflight"),
+        /**
+         * out of two random endpoints, the one with fewer requests in flight.
+         * Close to least-inflight, without every sink rushing to the same endpoint once it gets faster
+         */
+        POWER_OF_TWO_CHOICES("power-of-two-choices");
+
+        private final String configValue;
+
+        Strategy(String configValue) {
+            this.configValue = configValue;
+        }
+
+        static Strategy fromConfig(String value) {
+            for (Strategy strategy : values()) {
+                if (strategy.configValue.equals(value.toLowerCase(Locale.ROOT))) {
+                    return strategy;
+                }
+            }
+            throw new IllegalArgumentException("Unsupported load balancing strategy: " + value
+                    + ". The supported strategies are: "
+                    + Arrays.toString(Arrays.stream(values()).map(s -> s.configValue).toArray()));
+        }
+    }
+
+    private final Endpoint[] endpoints;
+    private final Strategy strategy;
+    private final int ejectionFailures;
+    private final long ejectionNanos;
+    private final AtomicInteger next = new AtomicInteger();
+
+    /**
+     * @param urls the URLs of the endpoints
+     * @param strategy how an endpoint is selected
+     * @param ejectionFailures number of consecutive failures that eject an endpoint, 0 to never eject endpoints
+     * @param ejectionDuration time an endpoint stays ejected
+     */
+    EndpointSelector(List<String> urls, Strategy strategy, int ejectionFailures, Duration ejectionDuration) {
+        if (urls.isEmpty()) {
+            throw new IllegalArgumentException("At least one URL is required");
+        }
+        this.endpoints = urls.stream().map(Endpoint::new).toArray(Endpoint[]::new);
+        this.strategy = strategy;
+        this.ejectionFailures = ejectionFailures;
+        this.ejectionNanos = ejectionDuration.toNanos();
+    }
+
+    /**
+     * @return the URLs of all the endpoints
+     */
+    List<String> urls() {
+        return Arrays.stream(endpoints).map(Endpoint::url).toList();
+    }
+
+    /**
+     * @return the endpoint for the next request, the request has to be reported to the endpoint with
+     *         {@link Endpoint#started()} and {@link Endpoint#completed(boolean)}
+     */
+    Endpoint select() {
+        if (endpoints.length == 1) {
+            return endpoints[0];
+        }
+        long now = System.nanoTime();
+        boolean anyAvailable = false;
+        for (Endpoint endpoint : endpoints) {
+            if (endpoint.isAvailable(now)) {
+                anyAvailable = true;
+                break;
+            }
+        }
+        // all the endpoints are ejected, they are all used until one of them is available again
+        boolean panic = !anyAvailable;
+        return switch (strategy) {
+            case ROUND_ROBIN -> roundRobin(now, panic);
+            case LEAST_INFLIGHT -> leastInflight(now, panic);
+            case POWER_OF_TWO_CHOICES -> powerOfTwoChoices(now, panic);
+        };
+    }
+
+    private Endpoint roundRobin(long now, boolean panic) {
+        for (int i = 0; i < endpoints.length; i++) {
+            Endpoint endpoint = endpoints[Math.floorMod(next.getAndIncrement(), endpoints.length)];
+            if (panic || endpoint.isAvailable(now)) {
+                return endpoint;
+            }
+        }
+        return endpoints[Math.floorMod(next.getAndIncrement(), endpoints.length)];
+    }
+
+    private Endpoint leastInflight(long now, boolean panic) {
+        // start from a different endpoint every time, so that the ties are spread
+        int start = Math.floorMod(next.getAndIncrement(), endpoints.length);
+        Endpoint selected = null;
+        for (int i = 0; i < endpoints.length; i++) {
+            Endpoint endpoint = endpoints[(start + i) % endpoints.length];
+            if ((panic || endpoint.isAvailable(now))
+                    && (selected == null || endpoint.inflight.get() < selected.inflight.get())) {
+                selected = endpoint;
+            }
+        }
+        return selected != null ? selected : endpoints[start];
+    }
+
+    private Endpoint powerOfTwoChoices(long now, boolean panic) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Endpoint first = null;
+        Endpoint second = null;
+        // a few draws are enough to find two available endpoints, unless most of them are ejected
+        for (int i = 0; i < endpoints.length * 2 && second == null; i++) {
+            Endpoint endpoint = endpoints[random.nextInt(endpoints.length)];
+            if (endpoint != first && (panic || endpoint.isAvailable(now))) {
+                if (first == null) {
+                    first = endpoint;
+                } else {
+                    second = endpoint;
+                }
+            }
+        }
+        if (first == null) {
+            return leastInflight(now, panic);
+        }
+        if (second == null) {
+            return first;
+        }
+        return second.inflight.get() < first.inflight.get() ? second : first;
+    }
+
+    class Endpoint {
+        private final String url;
+        private final AtomicInteger inflight = new AtomicInteger();
+        private final AtomicInteger consecutiveFailures = new AtomicInteger();
+        private volatile boolean ejected;
+        private volatile long ejectedUntil;
+
+        private Endpoint(String url) {
+            this.url = url;
+        }
+
+        String url() {
+            return url;
+        }
+
+        private boolean isAvailable(long now) {
+            return !ejected || now - ejectedUntil >= 0;
+        }
+
+        /**
+         * record a request sent to the endpoint
+         */
+        void started() {
+            inflight.incrementAndGet();
+        }
+
+        /**
+         * record the outcome of a request sent to the endpoint
+         *
+         * @param healthy false if the endpoint failed to respond, or responded with a retryable status code
+         */
+        void completed(boolean healthy) {
+            inflight.decrementAndGet();
+            if (healthy) {
+                consecutiveFailures.set(0);
+            } else if (ejectionFailures > 0 && endpoints.length > 1
+                    && consecutiveFailures.incrementAndGet() >= ejectionFailures) {
+                consecutiveFailures.set(0);
+                ejectedUntil = System.nanoTime() + ejectionNanos;
+                ejected = true;
+            }
+        }
+
+        /**
+         * record a request cancelled before its outcome was known
+         */
+        void cancelled() {
+            inflight.decrementAndGet();
+        }
+    }
+}
@@ -20,6 +20,7 @@ import org.slf4j.LoggerFactory;
 import io.smallrye.reactive.messaging.ce.CloudEventMetadata;
 import io.smallrye.reactive.messaging.ce.DefaultCloudEventMetadataBuilder;
 import io.smallrye.reactive.messaging.ce.OutgoingCloudEventMetadata;
+import io.vertx.core.MultiMap;
 
 public class HttpCloudEventHelper {
     private static final Logger logger = LoggerFactory.getLogger(HttpCloudEventHelper.class);
@@ -35,9 +36,13 @@ public class HttpCloudEventHelper {
             .toFormatter();
 
     public static Optional<CloudEventMetadata<?>> getBinaryCloudEvent(IncomingHttpMetadata metadata) {
+        return getBinaryCloudEvent(metadata.getHeaders());
+    }
+
+    static Optional<CloudEventMetadata<?>> getBinaryCloudEvent(MultiMap headers) {
         DefaultCloudEventMetadataBuilder<?> builder = new DefaultCloudEventMetadataBuilder<>();
         boolean hasCloudMeta = false;
-        for (Entry<String, String> entry : metadata.getHeaders().entries()) {
+        for (Entry<String, String> entry : headers.entries()) {
             hasCloudMeta |= getCEAttribute(builder, entry.getKey(), entry.getValue());
         }
         return hasCloudMeta ? Optional.of(builder.build()) : Optional.empty();
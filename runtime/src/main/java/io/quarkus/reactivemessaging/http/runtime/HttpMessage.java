@@ -20,10 +20,15 @@ class HttpMessage<T> implements Message<T> {
     private final Runnable successHandler;
     private final Consumer<Throwable> failureHandler;
     private final Metadata metadata;
+    private final long bufferedBytes;
 
+    /**
+     * @param bufferedBytes size of the payload counted in the buffer of the incoming stream
+     */
     HttpMessage(T payload, IncomingHttpMetadata requestMetadata, Runnable successHandler,
-            Consumer<Throwable> failureHandler) {
+            Consumer<Throwable> failureHandler, long bufferedBytes) {
         this.payload = payload;
+        this.bufferedBytes = bufferedBytes;
         this.successHandler = successHandler;
         this.failureHandler = failureHandler;
         this.metadata = HttpCloudEventHelper.getBinaryCloudEvent(requestMetadata).map(m -> Metadata.of(requestMetadata, m))
@@ -40,6 +45,10 @@ class HttpMessage<T> implements Message<T> {
         return metadata;
     }
 
+    long bufferedBytes() {
+        return bufferedBytes;
+    }
+
     @Override
     public Supplier<CompletionStage<Void>> getAck() {
         return () -> {
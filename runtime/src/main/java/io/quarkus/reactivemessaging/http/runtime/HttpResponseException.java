@@ -0,0 +1,35 @@
+package io.quarkus.reactivemessaging.http.runtime;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import io.vertx.core.VertxException;
+
+/**
+ * The failure of a message sent by the http sink, the target responded with a status code outside of the 2xx range
+ */
+public class HttpResponseException extends VertxException {
+
+    private final int statusCode;
+    private final Duration retryAfter;
+
+    HttpResponseException(String message, int statusCode, Duration retryAfter) {
+        super(message, true);
+        this.statusCode = statusCode;
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * @return the status code of the response
+     */
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    /**
+     * @return the delay requested by the Retry-After header of a 429 or 503 response, if any
+     */
+    public Optional<Duration> getRetryAfter() {
+        return Optional.ofNullable(retryAfter);
+    }
+}
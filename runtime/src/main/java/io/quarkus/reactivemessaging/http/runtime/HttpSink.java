@@ -1,13 +1,20 @@
 package io.quarkus.reactivemessaging.http.runtime;
 
 import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import org.eclipse.microprofile.reactive.messaging.Message;
@@ -20,7 +27,7 @@ import io.quarkus.tls.TlsConfiguration;
 import io.smallrye.mutiny.Uni;
 import io.smallrye.mutiny.unchecked.Unchecked;
 import io.vertx.core.Vertx;
-import io.vertx.core.VertxException;
+import io.vertx.core.http.HttpHeaders;
 import io.vertx.core.http.HttpVersion;
 import io.vertx.ext.web.client.WebClientOptions;
 import io.vertx.mutiny.core.buffer.Buffer;
@@ -28,35 +35,65 @@ import io.vertx.mutiny.ext.web.client.HttpRequest;
 import io.vertx.mutiny.ext.web.client.HttpResponse;
 import io.vertx.mutiny.ext.web.client.WebClient;
 
-class HttpSink extends AbstractSink {
+class HttpSink extends BatchingSink {
 
     private static final Logger log = Logger.getLogger(HttpSink.class);
 
     private static final String[] SUPPORTED_SCHEMES = { "http:", "https:" };
+    private static final int MAX_STATUS_CODE = 599;
+    private static final String RETRY_AFTER = "Retry-After";
 
     private final WebClient client;
     private final String method;
-    private final String url;
+    private final EndpointSelector endpoints;
     private final SerializerFactoryBase serializerFactory;
     private final String serializerName;
-
-    HttpSink(Vertx vertx, String method, String url,
+    private final BulkFormat batchFormat;
+    // null if the bodies are not compressed
+    private final BodyCompressor compressor;
+    private final int compressionThreshold;
+    // indexed by status code
+    private final boolean[] retryableStatusCodes;
+    private final Duration maxRetryAfter;
+    private final RequestHedging hedging;
+
+    HttpSink(Vertx vertx, String method, EndpointSelector endpoints,
             String serializerName,
             int maxRetries,
             double jitter,
             Optional<Duration> delay,
+            RetryBudget retryBudget,
+            RetryScheduler retryScheduler,
             Optional<Integer> maxPoolSize,
             Optional<Integer> maxWaitQueueSize,
             SerializerFactoryBase serializerFactory,
             Optional<TlsConfiguration> tlsConfiguration,
             long inflights,
             boolean waitForCompletion,
-            HttpVersion protocolVersion) {
-        super(log, url, maxRetries, jitter, delay, inflights, waitForCompletion);
+            boolean adaptiveInflights,
+            HttpVersion protocolVersion,
+            int batchSize,
+            Duration batchLinger,
+            BulkFormat batchFormat,
+            BodyCompression compression,
+            int compressionLevel,
+            int compressionThreshold,
+            CircuitBreaker circuitBreaker,
+            String retryableStatusCodes,
+            Duration maxRetryAfter,
+            RequestHedging hedging) {
+        super(log, vertx, String.join(",", endpoints.urls()), maxRetries, jitter, delay, retryBudget, retryScheduler,
+                inflights, waitForCompletion, adaptiveInflights, batchSize, batchLinger, circuitBreaker);
         this.method = method;
-        this.url = url;
+        this.endpoints = endpoints;
         this.serializerFactory = serializerFactory;
         this.serializerName = serializerName;
+        this.batchFormat = batchFormat;
+        this.compressor = compression != BodyCompression.NONE ? new BodyCompressor(compression, compressionLevel) : null;
+        this.compressionThreshold = compressionThreshold;
+        this.retryableStatusCodes = parseStatusCodes(retryableStatusCodes);
+        this.maxRetryAfter = maxRetryAfter;
+        this.hedging = hedging;
 
         WebClientOptions options = new WebClientOptions();
         maxPoolSize.ifPresent(options::setMaxPoolSize);
@@ -72,17 +109,49 @@ class HttpSink extends AbstractSink {
 
         client = WebClient.create(io.vertx.mutiny.core.Vertx.newInstance(vertx), options);
 
-        if (Arrays.stream(SUPPORTED_SCHEMES).noneMatch(url.toLowerCase()::startsWith)) {
-            throw new IllegalArgumentException("Unsupported scheme for the http connector in URL: " + url);
+        for (String url : endpoints.urls()) {
+            if (Arrays.stream(SUPPORTED_SCHEMES).noneMatch(url.toLowerCase()::startsWith)) {
+                throw new IllegalArgumentException("Unsupported scheme for the http connector in URL: " + url);
+            }
         }
     }
 
     @Override
     protected Uni<Void> send(Message<?> message) {
-        HttpRequest<?> request = toHttpRequest(message);
         return Uni.createFrom().item(message.getPayload())
                 .onItem().transform(this::serialize)
-                .onItem().transformToUni(buffer -> invoke(request, buffer));
+                .onItem().transformToUni(buffer -> invoke(url -> toHttpRequest(message, url), buffer));
+    }
+
+    /**
+     * Sends all the messages in a single request. The headers, query and path parameters of the request are taken
+     * from the first message of the batch.
+     */
+    @Override
+    protected Uni<Void> sendBatch(List<Message<?>> messages) {
+        return Uni.createFrom().item(messages)
+                .onItem().transform(this::serializeBatch)
+                .onItem().transformToUni(buffer -> invoke(url -> {
+                    HttpRequest<Buffer> request = toHttpRequest(messages.get(0), url);
+                    request.putHeader(HttpHeaders.CONTENT_TYPE.toString(), batchFormat.contentType());
+                    return request;
+                }, buffer));
+    }
+
+    @Override
+    void close() {
+        super.close();
+        if (compressor != null) {
+            compressor.close();
+        }
+    }
+
+    private Buffer serializeBatch(List<Message<?>> messages) {
+        List<io.vertx.core.buffer.Buffer> serialized = new ArrayList<>(messages.size());
+        for (Message<?> message : messages) {
+            serialized.add(serialize(message.getPayload()).getDelegate());
+        }
+        return Buffer.newInstance(batchFormat.join(serialized));
     }
 
     private <T> Buffer serialize(T payload) {
@@ -90,20 +159,142 @@ class HttpSink extends AbstractSink {
         return Buffer.newInstance(serializer.serialize(payload));
     }
 
-    private Uni<Void> invoke(HttpRequest<?> request, Buffer buffer) {
-        log.debugf("Invoking request: ", toString(request, buffer));
-        return request
-                .sendBuffer(buffer)
-                .onItem().transform(Unchecked.function(resp -> {
-                    if (resp.statusCode() >= 200 && resp.statusCode() < 300) {
+    /**
+     * @param requestFactory creates the request to the URL of an endpoint, invoked for every request sent, so that a
+     *        hedged request can go to another endpoint than the first one
+     */
+    private Uni<Void> invoke(Function<String, HttpRequest<Buffer>> requestFactory, Buffer buffer) {
+        boolean compressed = compressor != null && buffer.length() >= compressionThreshold;
+        Buffer body = compressed
+                ? Buffer.newInstance(compressor.compress(buffer.getDelegate()))
+                : buffer;
+        Supplier<Uni<Exchange>> attempt = () -> exchange(requestFactory, body, compressed);
+        Uni<Exchange> exchange = hedging != null
+                ? hedging.hedge(attempt, e -> isSuccess(e.response()), metrics()::recordHedge)
+                : attempt.get();
+        return exchange
+                .onItem().transform(Unchecked.function(e -> {
+                    HttpResponse<Buffer> resp = e.response();
+                    metrics().recordResponse(resp.statusCode());
+                    if (isSuccess(resp)) {
                         return null;
                     } else {
-                        throw new VertxException(
-                                "Http request: " + toString(request) + " failed with response: " + toString(resp));
+                        throw new HttpResponseException(
+                                "Http request: " + toString(e.request()) + " failed with response: " + toString(resp),
+                                resp.statusCode(), retryAfter(resp));
                     }
                 }));
     }
 
+    /**
+     * send a request to the selected endpoint, and record its outcome for the health of the endpoint
+     */
+    private Uni<Exchange> exchange(Function<String, HttpRequest<Buffer>> requestFactory, Buffer body, boolean compressed) {
+        return Uni.createFrom().deferred(() -> {
+            EndpointSelector.Endpoint endpoint = endpoints.select();
+            HttpRequest<Buffer> request = requestFactory.apply(endpoint.url());
+            if (compressed) {
+                request.putHeader(HttpHeaders.CONTENT_ENCODING.toString(), compressor.contentEncoding());
+            }
+            if (log.isDebugEnabled()) {
+                log.debugf("Invoking request: %s", toString(request, body));
+            }
+            endpoint.started();
+            return request.sendBuffer(body)
+                    .onItemOrFailure().invoke((resp, failure) -> endpoint.completed(failure == null
+                            && (isSuccess(resp) || !isRetryableStatus(resp.statusCode()))))
+                    .onCancellation().invoke(endpoint::cancelled)
+                    .onItem().transform(resp -> new Exchange(request, resp));
+        });
+    }
+
+    private static boolean isSuccess(HttpResponse<?> resp) {
+        return resp.statusCode() >= 200 && resp.statusCode() < 300;
+    }
+
+    /**
+     * A response with a status code that is not retryable, e.g. 400, means that the request can never succeed.
+     * Other failures, e.g. a connection refused, are retryable
+     */
+    @Override
+    protected boolean isRetryable(Throwable failure) {
+        if (failure instanceof HttpResponseException responseException) {
+            return isRetryableStatus(responseException.getStatusCode());
+        }
+        return true;
+    }
+
+    private boolean isRetryableStatus(int statusCode) {
+        return statusCode >= 0 && statusCode <= MAX_STATUS_CODE && retryableStatusCodes[statusCode];
+    }
+
+    @Override
+    protected Duration requestedRetryDelay(Throwable failure) {
+        if (failure instanceof HttpResponseException responseException) {
+            return responseException.getRetryAfter()
+                    .map(retryAfter -> retryAfter.compareTo(maxRetryAfter) > 0 ? maxRetryAfter : retryAfter)
+                    .orElse(null);
+        }
+        return null;
+    }
+
+    /**
+     * @return the delay of the Retry-After header of a 429 or 503 response, either in seconds or as a date,
+     *         null if absent or invalid
+     */
+    private static Duration retryAfter(HttpResponse<?> resp) {
+        if (resp.statusCode() != 429 && resp.statusCode() != 503) {
+            return null;
+        }
+        String value = resp.getHeader(RETRY_AFTER);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Duration.ofSeconds(Math.max(0, Long.parseLong(value.trim())));
+        } catch (NumberFormatException notSeconds) {
+            try {
+                Duration untilDate = Duration.between(ZonedDateTime.now(),
+                        ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME));
+                return untilDate.isNegative() ? Duration.ZERO : untilDate;
+            } catch (DateTimeParseException invalid) {
+                log.debugf("Ignoring invalid Retry-After header: %s", value);
+                return null;
+            }
+        }
+    }
+
+    /**
+     * @param statusCodes comma separated status codes, e.g. {@code 408,429,5xx}, where {@code 5xx} stands for all the
+     *        status codes from 500 to 599
+     * @return array indexed by status code, true for the listed ones
+     */
+    static boolean[] parseStatusCodes(String statusCodes) {
+        boolean[] result = new boolean[MAX_STATUS_CODE + 1];
+        for (String code : statusCodes.split(",")) {
+            String trimmed = code.trim().toLowerCase(Locale.ROOT);
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            if (trimmed.length() == 3 && trimmed.endsWith("xx") && trimmed.charAt(0) >= '1' && trimmed.charAt(0) <= '5') {
+                int first = (trimmed.charAt(0) - '0') * 100;
+                Arrays.fill(result, first, first + 100, true);
+                continue;
+            }
+            try {
+                int statusCode = Integer.parseInt(trimmed);
+                if (statusCode < 100 || statusCode > MAX_STATUS_CODE) {
+                    throw new IllegalArgumentException("Invalid status code: " + code);
+                }
+                result[statusCode] = true;
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException(
+                        "Invalid status code: " + code + ", expected a number or a class such as 5xx");
+            }
+        }
+        return result;
+    }
+
     private String toString(HttpRequest<?> req) {
         return "URI:" + req.uri() + " Method:" + req.method() + " Headers: " + req.headers();
     }
@@ -116,7 +307,7 @@ class HttpSink extends AbstractSink {
         return "Code: " + resp.statusCode() + " Message: " + resp.statusMessage();
     }
 
-    private HttpRequest<?> toHttpRequest(Message<?> message) {
+    HttpRequest<Buffer> toHttpRequest(Message<?> message, String targetUrl) {
         try {
             OutgoingHttpMetadata metadata = message.getMetadata(OutgoingHttpMetadata.class).orElse((OutgoingHttpMetadata) null);
 
@@ -127,7 +318,7 @@ class HttpSink extends AbstractSink {
             Map<String, List<String>> query = metadata != null ? metadata.getQuery() : Collections.emptyMap();
             Map<String, String> pathParams = metadata != null ? metadata.getPathParameters() : Collections.emptyMap();
 
-            String url = prepareUrl(pathParams);
+            String url = prepareUrl(targetUrl, pathParams);
 
             HttpRequest<Buffer> request = createRequest(url);
 
@@ -184,7 +375,7 @@ class HttpSink extends AbstractSink {
         }
     }
 
-    private String prepareUrl(Map<String, String> pathParams) {
+    private String prepareUrl(String url, Map<String, String> pathParams) {
         String result = url;
         for (Map.Entry<String, String> pathParamEntry : pathParams.entrySet()) {
             String toReplace = String.format("{%s}", pathParamEntry.getKey());
@@ -198,4 +389,7 @@ class HttpSink extends AbstractSink {
 
         return result;
     }
+
+    private record Exchange(HttpRequest<Buffer> request, HttpResponse<Buffer> response) {
+    }
 }
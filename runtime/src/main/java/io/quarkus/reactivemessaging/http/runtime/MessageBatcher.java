@@ -0,0 +1,131 @@
+package io.quarkus.reactivemessaging.http.runtime;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import org.eclipse.microprofile.reactive.messaging.Message;
+
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.subscription.UniEmitter;
+import io.vertx.core.Vertx;
+
+/**
+ * Accumulates outgoing messages and sends them in batches.
+ * <p>
+ * A batch is sent when it reaches {@code batchSize} messages or when {@code linger} elapses since the first message
+ * was added to it, whichever happens first. Every message of a batch completes with the result of sending the batch.
+ */
+class MessageBatcher {
+
+    private final Vertx vertx;
+    private final int batchSize;
+    private final long lingerMs;
+    private final Function<List<Message<?>>, Uni<Void>> batchSender;
+
+    private List<Pending> pending = new ArrayList<>();
+    private long timerId = -1;
+
+    /**
+     * @param vertx vert.x instance used to schedule the linger timer
+     * @param batchSize maximum number of messages in a batch
+     * @param linger maximum time a message can wait for the batch to fill up
+     * @param batchSender function sending out a batch of messages
+     */
+    MessageBatcher(Vertx vertx, int batchSize, Duration linger, Function<List<Message<?>>, Uni<Void>> batchSender) {
+        this.vertx = vertx;
+        this.batchSize = batchSize;
+        this.lingerMs = Math.max(1, linger.toMillis());
+        this.batchSender = batchSender;
+    }
+
+    /**
+     * add a message to the current batch
+     *
+     * @param message message to send
+     * @return a Uni completed when the batch containing the message is sent. Subscribing to the Uni again
+     *         (e.g. on retry) adds the message to a new batch
+     */
+    Uni<Void> add(Message<?> message) {
+        return Uni.createFrom().emitter(emitter -> {
+            List<Pending> toSend = null;
+            synchronized (this) {
+                pending.add(new Pending(message, emitter));
+                if (pending.size() >= batchSize) {
+                    toSend = drain();
+                } else if (pending.size() == 1) {
+                    timerId = vertx.setTimer(lingerMs, this::onLingerElapsed);
+                }
+            }
+            if (toSend != null) {
+                send(toSend);
+            }
+        });
+    }
+
+    /**
+     * fail all the messages waiting for a batch to be sent
+     */
+    void close() {
+        List<Pending> toFail;
+        synchronized (this) {
+            toFail = drain();
+        }
+        for (Pending p : toFail) {
+            p.emitter.fail(new IllegalStateException("The sink has been closed before the message was sent"));
+        }
+    }
+
+    private void onLingerElapsed(long id) {
+        List<Pending> toSend;
+        synchronized (this) {
+            if (id != timerId) {
+                // the batch has already been sent
+                return;
+            }
+            toSend = drain();
+        }
+        send(toSend);
+    }
+
+    // must be called while holding the lock
+    private List<Pending> drain() {
+        if (timerId != -1) {
+            vertx.cancelTimer(timerId);
+            timerId = -1;
+        }
+        List<Pending> result = pending;
+        pending = new ArrayList<>(batchSize);
+        return result;
+    }
+
+    private void send(List<Pending> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<Message<?>> messages = new ArrayList<>(batch.size());
+        for (Pending p : batch) {
+            messages.add(p.message);
+        }
+        Uni<Void> send;
+        try {
+            send = batchSender.apply(messages);
+        } catch (RuntimeException any) {
+            send = Uni.createFrom().failure(any);
+        }
+        send.subscribe().with(
+                ignored -> batch.forEach(p -> p.emitter.complete(null)),
+                failure -> batch.forEach(p -> p.emitter.fail(failure)));
+    }
+
+    private static class Pending {
+        private final Message<?> message;
+        private final UniEmitter<? super Void> emitter;
+
+        private Pending(Message<?> message, UniEmitter<? super Void> emitter) {
+            this.message = message;
+            this.emitter = emitter;
+        }
+    }
+}
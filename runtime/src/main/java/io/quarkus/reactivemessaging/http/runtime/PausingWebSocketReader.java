@@ -0,0 +1,115 @@
+package io.quarkus.reactivemessaging.http.runtime;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+
+import io.quarkus.reactivemessaging.http.runtime.metrics.SourceMetrics;
+import io.smallrye.mutiny.subscription.MultiEmitter;
+import io.vertx.core.Context;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.ServerWebSocket;
+import io.vertx.core.http.WebSocketFrameType;
+
+/**
+ * Reads the frames of an incoming web socket, pausing the web socket when the {@link StrictQueueSizeGuard} is full
+ * instead of rejecting the frames.
+ * <p>
+ * The web socket is resumed when the downstream consumes messages, so that a fast producer is throttled by TCP
+ * flow control and no message is lost.
+ * Only a frame larger than the maximum number of buffered bytes is rejected, as it could never be accepted.
+ */
+class PausingWebSocketReader {
+    private static final Buffer BUFFER_OVERFLOW = Buffer.buffer("BUFFER_OVERFLOW");
+
+    private final ServerWebSocket webSocket;
+    private final Context context;
+    private final MultiEmitter<? super WebSocketMessage<?>> emitter;
+    private final StrictQueueSizeGuard guard;
+    private final SourceMetrics metrics;
+    private final BiFunction<Buffer, WebSocketFrameType, WebSocketMessage<?>> toMessage;
+    private final Consumer<Throwable> onFailure;
+
+    // accessed only from the web socket's context:
+    private final Deque<Frame> frames = new ArrayDeque<>();
+    private boolean waitingForSpace;
+    private boolean closed;
+
+    /**
+     * @param toMessage creates the message for the data and type of a frame, the frame is counted in the guard when it is
+     *        invoked
+     */
+    PausingWebSocketReader(ServerWebSocket webSocket, Context context, MultiEmitter<? super WebSocketMessage<?>> emitter,
+            StrictQueueSizeGuard guard, SourceMetrics metrics,
+            BiFunction<Buffer, WebSocketFrameType, WebSocketMessage<?>> toMessage, Consumer<Throwable> onFailure) {
+        this.webSocket = webSocket;
+        this.context = context;
+        this.emitter = emitter;
+        this.guard = guard;
+        this.metrics = metrics;
+        this.toMessage = toMessage;
+        this.onFailure = onFailure;
+    }
+
+    void start() {
+        // the frames of a fragmented message are aggregated into a single message
+        webSocket.binaryMessageHandler(b -> onFrame(new Frame(b, WebSocketFrameType.BINARY)));
+        webSocket.textMessageHandler(text -> onFrame(new Frame(Buffer.buffer(text), WebSocketFrameType.TEXT)));
+        webSocket.closeHandler(ignored -> {
+            closed = true;
+            frames.clear();
+        });
+    }
+
+    private void onFrame(Frame frame) {
+        metrics.recordRequest();
+        // frames delivered before the web socket got paused wait for their turn
+        frames.add(frame);
+        drain();
+    }
+
+    private void drain() {
+        while (!frames.isEmpty()) {
+            Frame frame = frames.peek();
+            long length = frame.data().length();
+            if (guard.exceedsMaxBytes(length)) {
+                frames.poll();
+                metrics.recordRejection();
+                webSocket.write(BUFFER_OVERFLOW);
+                continue;
+            }
+            if (!guard.prepareToEmit(1, length)) {
+                if (!waitingForSpace) {
+                    waitingForSpace = true;
+                    webSocket.pause();
+                    guard.whenSpaceAvailable(1, length, () -> context.runOnContext(ignored -> onSpaceAvailable()));
+                }
+                return;
+            }
+            frames.poll();
+            try {
+                emitter.emit(toMessage.apply(frame.data(), frame.type()));
+            } catch (Exception any) {
+                guard.dequeue(1, length);
+                onFailure.accept(any);
+            }
+        }
+    }
+
+    private void onSpaceAvailable() {
+        waitingForSpace = false;
+        if (closed) {
+            // the space is not used by this web socket, let another waiter use it
+            guard.notifySpaceWaiters();
+            return;
+        }
+        drain();
+        if (!waitingForSpace) {
+            webSocket.resume();
+        }
+    }
+
+    private record Frame(Buffer data, WebSocketFrameType type) {
+    }
+}
@@ -4,6 +4,9 @@ import static io.smallrye.reactive.messaging.annotations.ConnectorAttribute.Dire
 import static io.smallrye.reactive.messaging.annotations.ConnectorAttribute.Direction.INCOMING_AND_OUTGOING;
 import static io.smallrye.reactive.messaging.annotations.ConnectorAttribute.Direction.OUTGOING;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
@@ -25,6 +28,7 @@ import org.eclipse.microprofile.reactive.messaging.spi.Connector;
 import org.jboss.logging.Logger;
 
 import io.quarkus.reactivemessaging.http.runtime.config.TlsConfig;
+import io.quarkus.reactivemessaging.http.runtime.metrics.ConnectorMetrics;
 import io.quarkus.reactivemessaging.http.runtime.serializers.SerializerFactoryBase;
 import io.quarkus.runtime.configuration.DurationConverter;
 import io.quarkus.tls.TlsConfiguration;
@@ -40,21 +44,50 @@ import io.vertx.core.http.HttpVersion;
 /**
  * Quarkus-specific reactive messaging connector for HTTP
  */
-@ConnectorAttribute(name = "url", type = "string", direction = OUTGOING, description = "The target URL", mandatory = true)
+@ConnectorAttribute(name = "url", type = "string", direction = OUTGOING, description = "The target URL, or a comma separated list of the URLs of replicas of the target to spread the requests over. Either `url` or `urlsFile` is required")
+@ConnectorAttribute(name = "urlsFile", type = "string", direction = OUTGOING, description = "The path of a file listing the URLs of replicas of the target, one per line, read when the application starts. Lines starting with `#` are ignored")
+@ConnectorAttribute(name = "loadBalancing", type = "string", direction = OUTGOING, description = "How the URL of a request is selected if multiple URLs are configured: `round-robin`, `least-inflight`, for the URL with the fewest requests in flight, or `power-of-two-choices`, for the URL with fewer requests in flight out of two random ones", defaultValue = "round-robin")
+@ConnectorAttribute(name = "ejectionFailures", type = "int", direction = OUTGOING, description = "The number of consecutive failed requests, without a response or with a retryable status code, after which a URL is not used for `ejectionDuration`, if multiple URLs are configured. 0 to never stop using a URL", defaultValue = "5")
+@ConnectorAttribute(name = "ejectionDuration", type = "string", direction = OUTGOING, description = "The time a URL is not used for after `ejectionFailures` consecutive failed requests", defaultValue = "30s")
 @ConnectorAttribute(name = "serializer", type = "string", direction = OUTGOING, description = "Message serializer")
 @ConnectorAttribute(name = "maxPoolSize", type = "int", direction = OUTGOING, description = "Maximum pool size for connections")
 @ConnectorAttribute(name = "maxWaitQueueSize", type = "int", direction = OUTGOING, description = "Maximum requests allowed in the wait queue of the underlying client.  If the value is set to a negative number then the queue will be unbounded")
 @ConnectorAttribute(name = "maxRetries", type = "int", direction = OUTGOING, description = "The number of attempts to make for sending a request to a remote endpoint. Must not be less than zero", defaultValue = QuarkusHttpConnector.DEFAULT_MAX_ATTEMPTS_STR)
 @ConnectorAttribute(name = "jitter", type = "string", direction = OUTGOING, description = "Configures the random factor when using back-off with maxRetries > 0", defaultValue = QuarkusHttpConnector.DEFAULT_JITTER)
 @ConnectorAttribute(name = "delay", type = "string", direction = OUTGOING, description = "Configures a back-off delay between attempts to send a request. A random factor (jitter) is applied to increase the delay when several failures happen.")
+@ConnectorAttribute(name = "retryableStatusCodes", type = "string", direction = OUTGOING, description = "The comma separated status codes of the responses for which a request is retried, `5xx` stands for all the codes from 500 to 599. Messages that get a response with another status code are nacked without retries", defaultValue = QuarkusHttpConnector.DEFAULT_RETRYABLE_STATUS_CODES)
+@ConnectorAttribute(name = "maxRetryAfter", type = "string", direction = OUTGOING, description = "The maximum delay before a retry requested by the Retry-After header of a 429 or 503 response, longer delays are shortened to it", defaultValue = "60s")
+@ConnectorAttribute(name = "retryBudget", type = "double", direction = OUTGOING, description = "The maximum ratio of retries to sent messages, e.g. 0.1 for at most one retry for every 10 messages. The retries are not bounded if not set")
+@ConnectorAttribute(name = "retryBudgetBurst", type = "int", direction = OUTGOING, description = "The number of retries allowed on top of the retry budget, e.g. before enough messages are sent", defaultValue = "10")
 @ConnectorAttribute(name = "tlsConfigurationName", type = "string", direction = OUTGOING, description = "Name of the TLS configuration to be used from TLS registry.")
 @ConnectorAttribute(name = "maxInflightMessages", type = "int", direction = OUTGOING, description = "The maximum size of a queue holding pending messages, i.e. messages waiting to receive an acknowledgment. Recommended to use with protocolVersion=HTTP_2 to reuse connection.", defaultValue = QuarkusHttpConnector.DEFAULT_MAX_INFLIGHT_MESSAGES)
 @ConnectorAttribute(name = "waitForCompletion", type = "boolean", direction = OUTGOING, description = "Whether the client waits for the request completion before acknowledging the message", defaultValue = QuarkusHttpConnector.DEFAULT_WAIT_FOR_COMPLETION)
+@ConnectorAttribute(name = "adaptiveInflightMessages", type = "boolean", direction = OUTGOING, description = "Whether the number of concurrently sent messages adapts to the latency and failures of the sends, up to `maxInflightMessages`", defaultValue = "false")
 @ConnectorAttribute(name = "protocolVersion", type = "string", direction = OUTGOING, description = "HTTP protocol version.", defaultValue = "HTTP_1_1")
+@ConnectorAttribute(name = "batchSize", type = "int", direction = OUTGOING, description = "The maximum number of messages sent in a single HTTP request. Batching is disabled if set to 1", defaultValue = QuarkusHttpConnector.DEFAULT_BATCH_SIZE)
+@ConnectorAttribute(name = "batchLinger", type = "string", direction = OUTGOING, description = "The maximum time to wait for a batch to fill up before sending it, used with batchSize > 1", defaultValue = QuarkusHttpConnector.DEFAULT_BATCH_LINGER)
+@ConnectorAttribute(name = "batchFormat", type = "string", direction = OUTGOING, description = "The format of a batched request body, either `json-array` or `ndjson`, used with batchSize > 1", defaultValue = "json-array")
+@ConnectorAttribute(name = "compression", type = "string", direction = OUTGOING, description = "Compression of the request bodies: `none`, `gzip` or `deflate`. The Content-Encoding header is set on the compressed requests", defaultValue = "none")
+@ConnectorAttribute(name = "compressionLevel", type = "int", direction = OUTGOING, description = "The compression level, from 1 (fastest) to 9 (smallest)", defaultValue = "6")
+@ConnectorAttribute(name = "compressionThreshold", type = "int", direction = OUTGOING, description = "The minimum size, in bytes, of a request body to compress, smaller bodies are sent as they are", defaultValue = "1024")
+@ConnectorAttribute(name = "hedgingDelay", type = "string", direction = OUTGOING, description = "The delay after which a second request is sent for a message if the first one has not been responded, the first successful response is used. Either a duration or `p95`, for the 95th percentile of the observed latencies. Requests are not hedged if not set")
+@ConnectorAttribute(name = "maxHedgedRatio", type = "double", direction = OUTGOING, description = "The maximum ratio of hedged requests to all the requests", defaultValue = "0.1")
+@ConnectorAttribute(name = "circuitBreaker", type = "boolean", direction = OUTGOING, description = "Whether messages fail immediately, without being sent, while the target fails or responds too slowly", defaultValue = "false")
+@ConnectorAttribute(name = "circuitBreakerWindow", type = "int", direction = OUTGOING, description = "The number of the most recent sends the failure and slow call ratios of the circuit breaker are computed from", defaultValue = "20")
+@ConnectorAttribute(name = "circuitBreakerFailureRatio", type = "double", direction = OUTGOING, description = "The ratio of failed sends, within the window, that opens the circuit breaker", defaultValue = "0.5")
+@ConnectorAttribute(name = "circuitBreakerSlowCallDuration", type = "string", direction = OUTGOING, description = "The duration above which a send is considered slow by the circuit breaker. Slow sends are not tracked if not set")
+@ConnectorAttribute(name = "circuitBreakerSlowCallRatio", type = "double", direction = OUTGOING, description = "The ratio of slow sends, within the window, that opens the circuit breaker", defaultValue = "1.0")
+@ConnectorAttribute(name = "circuitBreakerDelay", type = "string", direction = OUTGOING, description = "The time the circuit breaker stays open before letting probes through", defaultValue = "5s")
+@ConnectorAttribute(name = "circuitBreakerProbes", type = "int", direction = OUTGOING, description = "The number of sends let through while the circuit breaker is half-open, the circuit breaker closes if all of them succeed", defaultValue = "1")
 
 @ConnectorAttribute(name = "method", type = "string", direction = INCOMING_AND_OUTGOING, description = "The HTTP method (either `POST` or `PUT`)", defaultValue = "POST")
 @ConnectorAttribute(name = "path", type = "string", direction = INCOMING, description = "The path of the endpoint", mandatory = true)
 @ConnectorAttribute(name = "buffer-size", type = "string", direction = INCOMING, description = "HTTP endpoint buffers messages if a consumer is not able to keep up. This setting specifies the size of the buffer.", defaultValue = QuarkusHttpConnector.DEFAULT_SOURCE_BUFFER_STR)
+@ConnectorAttribute(name = "striped-buffer", type = "boolean", direction = INCOMING, description = "Whether the buffer is split into stripes used by different event loops, to lower the contention when many event loops handle requests to the endpoint. The buffer size remains a strict limit, a full stripe borrows space from the others", defaultValue = "false")
+@ConnectorAttribute(name = "buffer-max-bytes", type = "long", direction = INCOMING, description = "Maximum total size, in bytes, of the payloads buffered by the endpoint, enforced together with the buffer size. Messages that do not fit are answered with 503. 0 means no limit", defaultValue = "0")
+@ConnectorAttribute(name = "bulk-format", type = "string", direction = INCOMING, description = "Format of requests carrying multiple messages, either `json-array` or `ndjson`. If set, each element of a request body is emitted as a separate message and the request is responded once all of them are processed")
+@ConnectorAttribute(name = "streaming", type = "boolean", direction = INCOMING, description = "Whether the request body is processed as it arrives instead of being buffered in memory first. Requires `bulk-format=ndjson`. The request is paused while the buffer is full", defaultValue = "false")
+@ConnectorAttribute(name = "max-line-size", type = "long", direction = INCOMING, description = "Maximum size, in bytes, of a line of a streamed request body. A request with a longer line is responded with 413 without reading the line into memory", defaultValue = QuarkusHttpConnector.DEFAULT_MAX_LINE_SIZE_STR)
 @ConnectorAttribute(name = "broadcast", type = "boolean", direction = INCOMING, description = "Whether the messages should be dispatched to multiple consumers", defaultValue = "false")
 
 @Connector(QuarkusHttpConnector.NAME)
@@ -66,11 +99,19 @@ public class QuarkusHttpConnector implements InboundConnector, OutboundConnector
     static final String DEFAULT_MAX_ATTEMPTS_STR = "0";
     static final String DEFAULT_MAX_INFLIGHT_MESSAGES = "1";
     static final String DEFAULT_WAIT_FOR_COMPLETION = "true";
+    static final String DEFAULT_BATCH_SIZE = "1";
+    static final String DEFAULT_BATCH_LINGER = "100ms";
+    static final String DEFAULT_RETRYABLE_STATUS_CODES = "408,429,5xx";
+    static final String P95 = "p95";
 
     static final String DEFAULT_SOURCE_BUFFER_STR = "8";
 
     public static final Integer DEFAULT_SOURCE_BUFFER = Integer.valueOf(DEFAULT_SOURCE_BUFFER_STR);
 
+    static final String DEFAULT_MAX_LINE_SIZE_STR = "10485760";
+
+    public static final Long DEFAULT_MAX_LINE_SIZE = Long.valueOf(DEFAULT_MAX_LINE_SIZE_STR);
+
     public static final String NAME = "quarkus-http";
 
     private final List<HttpSink> sinks = new CopyOnWriteArrayList<>();
@@ -84,9 +125,15 @@ public class QuarkusHttpConnector implements InboundConnector, OutboundConnector
     @Inject
     SerializerFactoryBase serializerFactory;
 
+    @Inject
+    RetryScheduler retryScheduler;
+
     @Inject
     Instance<TlsConfigurationRegistry> tlsRegistry;
 
+    @Inject
+    Instance<ConnectorMetrics> metrics;
+
     @Override
     public Flow.Publisher<? extends Message<?>> getPublisher(Config configuration) {
         QuarkusHttpConnectorIncomingConfiguration config = new QuarkusHttpConnectorIncomingConfiguration(configuration);
@@ -125,7 +172,9 @@ public class QuarkusHttpConnector implements InboundConnector, OutboundConnector
     @Override
     public Flow.Subscriber<? extends Message<?>> getSubscriber(Config configuration) {
         QuarkusHttpConnectorOutgoingConfiguration config = new QuarkusHttpConnectorOutgoingConfiguration(configuration);
-        String url = config.getUrl();
+        EndpointSelector endpoints = new EndpointSelector(getUrls(config),
+                EndpointSelector.Strategy.fromConfig(config.getLoadBalancing()), config.getEjectionFailures(),
+                DurationConverter.parseDuration(config.getEjectionDuration()));
         String method = getMethod(config.getMethod()).name();
         String serializer = config.getSerializer().orElse(null);
         Optional<String> maybeDelay = config.getDelay();
@@ -134,12 +183,37 @@ public class QuarkusHttpConnector implements InboundConnector, OutboundConnector
 
         String jitterAsString = config.getJitter();
         Integer maxRetries = config.getMaxRetries();
+        RetryBudget retryBudget = config.getRetryBudget()
+                .map(ratio -> new RetryBudget(ratio, config.getRetryBudgetBurst()))
+                .orElse(null);
 
         Optional<Integer> maxPoolSize = config.getMaxPoolSize();
         Optional<Integer> maxWaitQueueSize = config.getMaxWaitQueueSize();
         long inflights = config.getMaxInflightMessages();
         boolean waitForCompletion = config.getWaitForCompletion();
+        boolean adaptiveInflights = config.getAdaptiveInflightMessages();
         HttpVersion protocolVersion = getProtocolVersion(config.getProtocolVersion());
+        int batchSize = config.getBatchSize();
+        Duration batchLinger = DurationConverter.parseDuration(config.getBatchLinger());
+        BulkFormat batchFormat = BulkFormat.fromConfig(config.getBatchFormat());
+        BodyCompression compression = BodyCompression.fromConfig(config.getCompression());
+        int compressionLevel = config.getCompressionLevel();
+        int compressionThreshold = config.getCompressionThreshold();
+        String retryableStatusCodes = config.getRetryableStatusCodes();
+        RequestHedging hedging = config.getHedgingDelay()
+                .map(hedgingDelay -> new RequestHedging(retryScheduler,
+                        P95.equalsIgnoreCase(hedgingDelay)
+                                ? Optional.empty()
+                                : Optional.of(DurationConverter.parseDuration(hedgingDelay)),
+                        config.getMaxHedgedRatio()))
+                .orElse(null);
+        Duration maxRetryAfter = DurationConverter.parseDuration(config.getMaxRetryAfter());
+        CircuitBreaker circuitBreaker = config.getCircuitBreaker()
+                ? new CircuitBreaker(config.getCircuitBreakerWindow(), config.getCircuitBreakerFailureRatio(),
+                        config.getCircuitBreakerSlowCallDuration().map(DurationConverter::parseDuration),
+                        config.getCircuitBreakerSlowCallRatio(),
+                        DurationConverter.parseDuration(config.getCircuitBreakerDelay()), config.getCircuitBreakerProbes())
+                : null;
 
         double jitter;
         try {
@@ -150,13 +224,49 @@ public class QuarkusHttpConnector implements InboundConnector, OutboundConnector
 
         Optional<TlsConfiguration> tlsConfiguration = TlsConfig.lookupConfig(config.getTlsConfigurationName(),
                 tlsRegistry.isResolvable() ? Optional.of(tlsRegistry.get()) : Optional.empty());
-        HttpSink httpSink = new HttpSink(vertx, method, url, serializer, maxRetries, jitter, delay, maxPoolSize,
-                maxWaitQueueSize,
-                serializerFactory, tlsConfiguration, inflights, waitForCompletion, protocolVersion);
+        HttpSink httpSink = new HttpSink(vertx, method, endpoints, serializer, maxRetries, jitter, delay, retryBudget,
+                retryScheduler, maxPoolSize, maxWaitQueueSize,
+                serializerFactory, tlsConfiguration, inflights, waitForCompletion, adaptiveInflights, protocolVersion,
+                batchSize, batchLinger, batchFormat, compression, compressionLevel, compressionThreshold,
+                circuitBreaker, retryableStatusCodes, maxRetryAfter, hedging);
+        registerMetrics(config.getChannel(), httpSink);
         sinks.add(httpSink);
         return httpSink.sink();
     }
 
+    private List<String> getUrls(QuarkusHttpConnectorOutgoingConfiguration config) {
+        List<String> urls;
+        if (config.getUrlsFile().isPresent()) {
+            Path file = Path.of(config.getUrlsFile().get());
+            try {
+                urls = Files.readAllLines(file).stream()
+                        .map(String::trim)
+                        .filter(line -> !line.isEmpty() && !line.startsWith("#"))
+                        .toList();
+            } catch (IOException e) {
+                throw new IllegalArgumentException("Failed to read the URLs of channel " + config.getChannel() + " from "
+                        + file, e);
+            }
+        } else {
+            urls = config.getUrl().stream()
+                    .flatMap(url -> Arrays.stream(url.split(",")))
+                    .map(String::trim)
+                    .filter(url -> !url.isEmpty())
+                    .toList();
+        }
+        if (urls.isEmpty()) {
+            throw new IllegalArgumentException("No URL configured for channel " + config.getChannel()
+                    + ", either url or urlsFile is required");
+        }
+        return urls;
+    }
+
+    private void registerMetrics(String channel, HttpSink sink) {
+        if (metrics.isResolvable()) {
+            sink.registerMetrics(metrics.get().sink(NAME, channel));
+        }
+    }
+
     public void terminate(
             @Observes(notifyObserver = Reception.IF_EXISTS) @Priority(50) @BeforeDestroyed(ApplicationScoped.class) Object event) {
         sinks.forEach(HttpSink::close);
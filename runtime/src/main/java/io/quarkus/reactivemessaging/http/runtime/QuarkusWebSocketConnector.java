@@ -26,6 +26,7 @@ import org.eclipse.microprofile.reactive.messaging.Message;
 import org.eclipse.microprofile.reactive.messaging.spi.Connector;
 
 import io.quarkus.reactivemessaging.http.runtime.config.TlsConfig;
+import io.quarkus.reactivemessaging.http.runtime.metrics.ConnectorMetrics;
 import io.quarkus.reactivemessaging.http.runtime.serializers.SerializerFactoryBase;
 import io.quarkus.runtime.configuration.DurationConverter;
 import io.quarkus.tls.TlsConfiguration;
@@ -45,12 +46,27 @@ import io.vertx.core.Vertx;
 @ConnectorAttribute(name = "maxRetries", type = "int", direction = OUTGOING, description = "The number of retries to make for sending a message to a remote websocket endpoint. A value greater than 0 is advised. Otherwise, a web socket timeout can result in a dropped message", defaultValue = QuarkusWebSocketConnector.DEFAULT_MAX_ATTEMPTS_STR)
 @ConnectorAttribute(name = "jitter", type = "double", direction = OUTGOING, description = "Configures the random factor when using back-off with maxAttempts > 1", defaultValue = DEFAULT_JITTER)
 @ConnectorAttribute(name = "delay", type = "string", direction = OUTGOING, description = "Configures a back-off delay between attempts to send a request. A random factor (jitter) is applied to increase the delay when several failures happen.")
+@ConnectorAttribute(name = "retryBudget", type = "double", direction = OUTGOING, description = "The maximum ratio of retries to sent messages, e.g. 0.1 for at most one retry for every 10 messages. The retries are not bounded if not set")
+@ConnectorAttribute(name = "retryBudgetBurst", type = "int", direction = OUTGOING, description = "The number of retries allowed on top of the retry budget, e.g. before enough messages are sent", defaultValue = "10")
 @ConnectorAttribute(name = "tlsConfigurationName", type = "string", direction = OUTGOING, description = "Name of the TLS configuration to be used from TLS registry.")
 @ConnectorAttribute(name = "maxInflightMessages", type = "int", direction = OUTGOING, description = "The maximum size of a queue holding pending messages, i.e. messages waiting to receive an acknowledgment.", defaultValue = DEFAULT_MAX_INFLIGHT_MESSAGES)
 @ConnectorAttribute(name = "waitForCompletion", type = "boolean", direction = OUTGOING, description = "Whether the client waits for the request completion before acknowledging the message", defaultValue = DEFAULT_WAIT_FOR_COMPLETION)
+@ConnectorAttribute(name = "adaptiveInflightMessages", type = "boolean", direction = OUTGOING, description = "Whether the number of concurrently sent messages adapts to the latency and failures of the sends, up to `maxInflightMessages`", defaultValue = "false")
+@ConnectorAttribute(name = "connections", type = "int", direction = OUTGOING, description = "The number of web socket connections used to send the messages, each of them handled by a different event loop", defaultValue = "1")
+@ConnectorAttribute(name = "connectionSelection", type = "string", direction = OUTGOING, description = "How a connection is selected for a message if `connections` is greater than 1: `round-robin` or `least-pending`, the connection with the fewest messages being written", defaultValue = "round-robin")
+@ConnectorAttribute(name = "maxWriteQueueSize", type = "int", direction = OUTGOING, description = "The maximum size, in bytes, of the data written to a web socket connection and not sent yet. When it is reached, the messages wait in the sink until the queue drains. Vert.x default if not set")
+@ConnectorAttribute(name = "frameType", type = "string", direction = OUTGOING, description = "The type of the web socket frames the messages are sent in: `binary`, e.g. for compact formats such as CBOR or Protobuf, or `text`, e.g. for JSON", defaultValue = "binary")
+@ConnectorAttribute(name = "compression", type = "boolean", direction = OUTGOING, description = "Whether the messages are compressed with the permessage-deflate extension, if the target accepts it", defaultValue = "false")
+@ConnectorAttribute(name = "compressionLevel", type = "int", direction = OUTGOING, description = "The deflate compression level, from 1 (fastest) to 9 (smallest)", defaultValue = "6")
+@ConnectorAttribute(name = "compressionNoContext", type = "boolean", direction = OUTGOING, description = "Whether every message is compressed on its own, without the context of the previous ones. Lowers the memory used per connection, at the cost of the compression ratio", defaultValue = "false")
 
 @ConnectorAttribute(name = "path", type = "string", direction = INCOMING, description = "The path of the endpoint", mandatory = true)
 @ConnectorAttribute(name = "buffer-size", type = "string", direction = INCOMING, description = "Web socket endpoint buffers messages if a consumer is not able to keep up. This setting specifies the size of the buffer.", defaultValue = QuarkusHttpConnector.DEFAULT_SOURCE_BUFFER_STR)
+@ConnectorAttribute(name = "striped-buffer", type = "boolean", direction = INCOMING, description = "Whether the buffer is split into stripes used by different event loops, to lower the contention when many event loops handle messages sent to the endpoint. The buffer size remains a strict limit, a full stripe borrows space from the others", defaultValue = "false")
+@ConnectorAttribute(name = "buffer-max-bytes", type = "long", direction = INCOMING, description = "Maximum total size, in bytes, of the payloads buffered by the endpoint, enforced together with the buffer size. Messages that do not fit are answered with BUFFER_OVERFLOW. 0 means no limit", defaultValue = "0")
+@ConnectorAttribute(name = "backpressure", type = "string", direction = INCOMING, description = "What to do with a message if the buffer is full: `reject` answers it with BUFFER_OVERFLOW, `pause` pauses the web socket until the buffer has space, so that the client is slowed down by TCP flow control", defaultValue = "reject")
+@ConnectorAttribute(name = "compression-level", type = "int", direction = INCOMING, description = "The deflate compression level of the permessage-deflate extension, from 1 (fastest) to 9 (smallest). Applies to the whole HTTP server, the highest level wins if multiple channels set it")
+@ConnectorAttribute(name = "compression-no-context", type = "boolean", direction = INCOMING, description = "Whether the server accepts clients that compress every message on its own, without the context of the previous ones, and asks for the same. Applies to the whole HTTP server", defaultValue = "false")
 @ApplicationScoped
 public class QuarkusWebSocketConnector implements InboundConnector, OutboundConnector {
     public static final String NAME = "quarkus-websocket";
@@ -75,9 +91,15 @@ public class QuarkusWebSocketConnector implements InboundConnector, OutboundConn
     @Inject
     Vertx vertx;
 
+    @Inject
+    RetryScheduler retryScheduler;
+
     @Inject
     Instance<TlsConfigurationRegistry> tlsRegistry;
 
+    @Inject
+    Instance<ConnectorMetrics> metrics;
+
     @Override
     public Flow.Publisher<? extends Message<?>> getPublisher(Config configuration) {
         QuarkusWebSocketConnectorIncomingConfiguration config = new QuarkusWebSocketConnectorIncomingConfiguration(
@@ -95,19 +117,39 @@ public class QuarkusWebSocketConnector implements InboundConnector, OutboundConn
         Optional<Duration> delay = config.getDelay().map(DurationConverter::parseDuration);
         Double jitter = config.getJitter();
         Integer maxRetries = config.getMaxRetries();
+        RetryBudget retryBudget = config.getRetryBudget()
+                .map(ratio -> new RetryBudget(ratio, config.getRetryBudgetBurst()))
+                .orElse(null);
         URI url = URI.create(config.getUrl());
         long inflights = config.getMaxInflightMessages();
         boolean waitForCompletion = config.getWaitForCompletion();
+        boolean adaptiveInflights = config.getAdaptiveInflightMessages();
+        int connections = config.getConnections();
+        String connectionSelection = config.getConnectionSelection();
+        Optional<Integer> maxWriteQueueSize = config.getMaxWriteQueueSize();
+        String frameType = config.getFrameType();
+        boolean compression = config.getCompression();
+        int compressionLevel = config.getCompressionLevel();
+        boolean compressionNoContext = config.getCompressionNoContext();
 
         Optional<TlsConfiguration> tlsConfiguration = TlsConfig.lookupConfig(config.getTlsConfigurationName(),
                 tlsRegistry.isResolvable() ? Optional.of(tlsRegistry.get()) : Optional.empty());
 
         WebSocketSink webSocketSink = new WebSocketSink(vertx, url, serializer, serializerFactory,
-                maxRetries, delay, jitter, tlsConfiguration, inflights, waitForCompletion);
+                maxRetries, delay, jitter, retryBudget, retryScheduler, tlsConfiguration, inflights, waitForCompletion,
+                adaptiveInflights, connections, connectionSelection, maxWriteQueueSize, frameType,
+                compression, compressionLevel, compressionNoContext);
+        registerMetrics(config.getChannel(), webSocketSink);
         sinks.add(webSocketSink);
         return webSocketSink.sink();
     }
 
+    private void registerMetrics(String channel, WebSocketSink sink) {
+        if (metrics.isResolvable()) {
+            sink.registerMetrics(metrics.get().sink(NAME, channel));
+        }
+    }
+
     public void terminate(
             @Observes(notifyObserver = Reception.IF_EXISTS) @Priority(50) @BeforeDestroyed(ApplicationScoped.class) Object event) {
         sinks.forEach(WebSocketSink::close);
@@ -1,12 +1,14 @@
 package io.quarkus.reactivemessaging.http.runtime;
 
 import java.util.Collection;
-import java.util.HashMap;
-import java.util.Map;
 
 import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.inject.Instance;
+import jakarta.inject.Inject;
 
 import io.quarkus.reactivemessaging.http.runtime.config.StreamConfigBase;
+import io.quarkus.reactivemessaging.http.runtime.metrics.ConnectorMetrics;
+import io.quarkus.reactivemessaging.http.runtime.metrics.SourceMetrics;
 import io.smallrye.mutiny.Multi;
 import io.smallrye.mutiny.subscription.BackPressureStrategy;
 import io.smallrye.mutiny.subscription.MultiEmitter;
@@ -14,7 +16,8 @@ import io.vertx.ext.web.RoutingContext;
 
 abstract class ReactiveHandlerBeanBase<ConfigType extends StreamConfigBase, MessageType> {
 
-    protected final Map<String, Bundle<MessageType>> processors = new HashMap<>();
+    @Inject
+    Instance<ConnectorMetrics> connectorMetrics;
 
     @PostConstruct
     void init() {
@@ -22,54 +25,82 @@ abstract class ReactiveHandlerBeanBase<ConfigType extends StreamConfigBase, Mess
     }
 
     void handle(RoutingContext event) {
-        Bundle<MessageType> bundle = processors.get(key(event));
+        Bundle<MessageType> bundle = findBundle(event);
         if (bundle != null) {
             MultiEmitter<? super MessageType> emitter = bundle.emitter;
             StrictQueueSizeGuard guard = bundle.guard;
-            handleRequest(event, emitter, guard, bundle.path, bundle.deserializerName);
+            handleRequest(event, emitter, guard, bundle.streamConfig, bundle.metrics);
         } else {
             event.response().setStatusCode(404).end();
         }
     }
 
     private void addProcessor(ConfigType streamConfig) {
-        StrictQueueSizeGuard guard = new StrictQueueSizeGuard(streamConfig.bufferSize);
-        Bundle<MessageType> bundle = new Bundle<>(guard);
+        StrictQueueSizeGuard guard = streamConfig.stripedBuffer
+                ? new StripedQueueSizeGuard(streamConfig.bufferSize, streamConfig.bufferMaxBytes,
+                        StripedQueueSizeGuard.DEFAULT_STRIPES)
+                : new StrictQueueSizeGuard(streamConfig.bufferSize, streamConfig.bufferMaxBytes);
+        // connectorMetrics is null if the bean is created outside of CDI, e.g. in the benchmarks
+        SourceMetrics metrics = connectorMetrics != null && connectorMetrics.isResolvable()
+                ? connectorMetrics.get().source(connectorName(), streamConfig.name)
+                : SourceMetrics.NOOP;
+        metrics.registerQueueSize(guard::enqueued);
+        Bundle<MessageType> bundle = new Bundle<>(guard, streamConfig, metrics);
 
         Multi<MessageType> processor = Multi.createFrom()
                 // emitter with an unbounded queue, we control the size ourselves, with the guard
                 .<MessageType> emitter(bundle::setEmitter, BackPressureStrategy.BUFFER)
-                .onItem().invoke(guard::dequeue);
+                .onItem().invoke(message -> guard.dequeue(1, bufferedBytes(message)));
         bundle.setProcessor(processor);
-        bundle.setPath(streamConfig.path);
-        bundle.setDeserializerName(streamConfig.deserializerName);
 
-        Bundle<MessageType> previousProcessor = processors.put(key(streamConfig), bundle);
+        Bundle<MessageType> previousProcessor = registerBundle(streamConfig, bundle);
         if (previousProcessor != null) {
             throw new IllegalStateException("Duplicate incoming streams defined for " + description(streamConfig));
         }
     }
 
     protected abstract void handleRequest(RoutingContext event, MultiEmitter<? super MessageType> emitter,
-            StrictQueueSizeGuard guard, String path, String deseralizerName);
+            StrictQueueSizeGuard guard, ConfigType streamConfig, SourceMetrics metrics);
 
     protected abstract String description(ConfigType streamConfig);
 
-    protected abstract String key(ConfigType streamConfig);
-
-    protected abstract String key(RoutingContext context);
+    /**
+     * @return size of the payload of the message, as counted in the guard when the message was emitted
+     */
+    protected abstract long bufferedBytes(MessageType message);
+
+    /**
+     * @return name of the connector the streams belong to, used to tag the metrics
+     */
+    protected abstract String connectorName();
+
+    /**
+     * register a bundle for the stream. Called once per stream, on startup
+     *
+     * @return a bundle previously registered for the same route, or null
+     */
+    protected abstract Bundle<MessageType> registerBundle(ConfigType streamConfig, Bundle<MessageType> bundle);
+
+    /**
+     * find a bundle for a request. Called on the event loop for every request, should not allocate
+     *
+     * @return the bundle or null if no stream is defined for the request
+     */
+    protected abstract Bundle<MessageType> findBundle(RoutingContext context);
 
     protected abstract Collection<ConfigType> configs();
 
     protected class Bundle<MessageType> {
         private final StrictQueueSizeGuard guard;
+        private final ConfigType streamConfig;
+        private final SourceMetrics metrics;
         private Multi<MessageType> processor; // effectively final
         private MultiEmitter<? super MessageType> emitter; // effectively final
-        private String path;
-        private String deserializerName;
 
-        private Bundle(StrictQueueSizeGuard guard) {
+        private Bundle(StrictQueueSizeGuard guard, ConfigType streamConfig, SourceMetrics metrics) {
             this.guard = guard;
+            this.streamConfig = streamConfig;
+            this.metrics = metrics;
         }
 
         public void setProcessor(Multi<MessageType> processor) {
@@ -84,16 +115,8 @@ abstract class ReactiveHandlerBeanBase<ConfigType extends StreamConfigBase, Mess
             return processor;
         }
 
-        public void setPath(String path) {
-            this.path = path;
-        }
-
-        public String getDeserializerName() {
-            return deserializerName;
-        }
-
-        public void setDeserializerName(String deserializerName) {
-            this.deserializerName = deserializerName;
+        public ConfigType getStreamConfig() {
+            return streamConfig;
         }
     }
 }
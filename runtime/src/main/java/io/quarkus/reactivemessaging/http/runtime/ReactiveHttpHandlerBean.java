@@ -1,6 +1,11 @@
 package io.quarkus.reactivemessaging.http.runtime;
 
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
@@ -9,9 +14,12 @@ import org.jboss.logging.Logger;
 
 import io.quarkus.reactivemessaging.http.runtime.config.HttpStreamConfig;
 import io.quarkus.reactivemessaging.http.runtime.config.ReactiveHttpConfig;
+import io.quarkus.reactivemessaging.http.runtime.metrics.SourceMetrics;
+import io.quarkus.reactivemessaging.http.runtime.serializers.Deserializer;
 import io.quarkus.reactivemessaging.http.runtime.serializers.DeserializerFactoryBase;
 import io.smallrye.mutiny.Multi;
 import io.smallrye.mutiny.subscription.MultiEmitter;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.HttpMethod;
 import io.vertx.ext.web.RoutingContext;
 
@@ -29,8 +37,11 @@ public class ReactiveHttpHandlerBean extends ReactiveHandlerBeanBase<HttpStreamC
     @Inject
     DeserializerFactoryBase deserializerFactory;
 
+    // path -> method -> bundle, resolved without allocations for each request
+    private final Map<String, Map<HttpMethod, Bundle<HttpMessage<?>>>> processors = new HashMap<>();
+
     Multi<HttpMessage<?>> getProcessor(String path, HttpMethod method) {
-        return processors.get(key(path, method)).getProcessor();
+        return findBundle(path, method).getProcessor();
     }
 
     @Override
@@ -39,13 +50,19 @@ public class ReactiveHttpHandlerBean extends ReactiveHandlerBeanBase<HttpStreamC
     }
 
     @Override
-    protected String key(HttpStreamConfig streamConfig) {
-        return key(streamConfig.path, streamConfig.method);
+    protected Bundle<HttpMessage<?>> registerBundle(HttpStreamConfig streamConfig, Bundle<HttpMessage<?>> bundle) {
+        return processors.computeIfAbsent(streamConfig.path, p -> new HashMap<>(4))
+                .put(streamConfig.method, bundle);
     }
 
     @Override
-    protected String key(RoutingContext context) {
-        return key(context.currentRoute().getPath(), context.request().method());
+    protected Bundle<HttpMessage<?>> findBundle(RoutingContext context) {
+        return findBundle(context.currentRoute().getPath(), context.request().method());
+    }
+
+    Bundle<HttpMessage<?>> findBundle(String path, HttpMethod method) {
+        Map<HttpMethod, Bundle<HttpMessage<?>>> bundlesByMethod = processors.get(path);
+        return bundlesByMethod != null ? bundlesByMethod.get(method) : null;
     }
 
     @Override
@@ -53,30 +70,119 @@ public class ReactiveHttpHandlerBean extends ReactiveHandlerBeanBase<HttpStreamC
         return String.format("path: %s, method %s", streamConfig.path, streamConfig.method);
     }
 
+    @Override
+    protected String connectorName() {
+        return QuarkusHttpConnector.NAME;
+    }
+
+    @Override
+    protected long bufferedBytes(HttpMessage<?> message) {
+        return message.bufferedBytes();
+    }
+
     @Override
     protected void handleRequest(RoutingContext event, MultiEmitter<? super HttpMessage<?>> emitter,
-            StrictQueueSizeGuard guard, String path, String deserializerName) {
+            StrictQueueSizeGuard guard, HttpStreamConfig streamConfig, SourceMetrics metrics) {
+        metrics.recordRequest();
         if (emitter == null) {
             onUnexpectedError(event, null,
-                    "No consumer subscribed for messages sent to Reactive Messaging HTTP endpoint on path: " + path);
-        } else if (guard.prepareToEmit()) {
+                    "No consumer subscribed for messages sent to Reactive Messaging HTTP endpoint on path: "
+                            + streamConfig.path);
+        } else if (streamConfig.streaming && !event.body().available()) {
+            new StreamingBulkRequest(event, emitter, guard,
+                    deserializerFactory.getDeserializer(streamConfig.deserializerName), streamConfig.maxLineSize,
+                    error -> onUnexpectedError(event, error, "Failed to process message")).start();
+        } else if (streamConfig.bulkFormat != null) {
+            // streaming requests are processed here too if the body has been read by the body handler installed
+            // for a non-streaming channel on the same path
+            handleBulkRequest(event, emitter, guard, streamConfig, metrics);
+        } else {
+            handleSingleRequest(event, emitter, guard, streamConfig, metrics);
+        }
+    }
+
+    private void handleSingleRequest(RoutingContext event, MultiEmitter<? super HttpMessage<?>> emitter,
+            StrictQueueSizeGuard guard, HttpStreamConfig streamConfig, SourceMetrics metrics) {
+        Buffer body = event.body().buffer();
+        long bytes = body != null ? body.length() : 0;
+        if (guard.exceedsMaxBytes(bytes)) {
+            // could never be accepted, retrying would not help
+            event.response().setStatusCode(413).end();
+        } else if (guard.prepareToEmit(1, bytes)) {
             try {
                 emitter.emit(new HttpMessage<>(
-                        deserializerFactory.getDeserializer(deserializerName)
-                                .map(d -> d.deserialize(event.body().buffer()))
-                                .orElse(event.body().buffer()),
+                        deserializerFactory.getDeserializer(streamConfig.deserializerName)
+                                .map(d -> d.deserialize(body))
+                                .orElse(body),
                         new IncomingHttpMetadata(event),
                         () -> {
                             if (!event.response().ended()) {
                                 event.response().setStatusCode(202).end();
                             }
                         },
-                        error -> onUnexpectedError(event, error, "Failed to process message")));
+                        error -> onUnexpectedError(event, error, "Failed to process message"),
+                        bytes));
             } catch (Exception any) {
-                guard.dequeue();
+                guard.dequeue(1, bytes);
                 onUnexpectedError(event, any, "Emitting message failed");
             }
         } else {
+            metrics.recordRejection();
+            event.response().setStatusCode(503).end();
+        }
+    }
+
+    /**
+     * splits the request body into multiple messages, the request is responded when all of them are processed
+     */
+    private void handleBulkRequest(RoutingContext event, MultiEmitter<? super HttpMessage<?>> emitter,
+            StrictQueueSizeGuard guard, HttpStreamConfig streamConfig, SourceMetrics metrics) {
+        List<Buffer> records;
+        try {
+            records = streamConfig.bulkFormat.split(event.body().buffer());
+        } catch (IllegalArgumentException invalidBody) {
+            log.debugf(invalidBody, "Invalid bulk request body on path %s", streamConfig.path);
+            event.response().setStatusCode(400).end(invalidBody.getMessage());
+            return;
+        }
+        int count = records.size();
+        long bytes = 0;
+        for (Buffer record : records) {
+            bytes += record.length();
+        }
+        if (count == 0) {
+            event.response().setStatusCode(202).end();
+        } else if (count > guard.queueSize() || guard.exceedsMaxBytes(bytes)) {
+            // could never be accepted, retrying would not help
+            event.response().setStatusCode(413).end();
+        } else if (guard.prepareToEmit(count, bytes)) {
+            Optional<Deserializer<Object>> deserializer = deserializerFactory.getDeserializer(streamConfig.deserializerName);
+            IncomingHttpMetadata metadata = new IncomingHttpMetadata(event);
+            AtomicInteger remaining = new AtomicInteger(count);
+            Runnable onAck = () -> {
+                if (remaining.decrementAndGet() == 0 && !event.response().ended()) {
+                    event.response().setStatusCode(202).end();
+                }
+            };
+            int emitted = 0;
+            long emittedBytes = 0;
+            try {
+                for (Buffer record : records) {
+                    emitter.emit(new HttpMessage<>(
+                            deserializer.map(d -> d.deserialize(record)).orElse(record),
+                            metadata,
+                            onAck,
+                            error -> onUnexpectedError(event, error, "Failed to process message"),
+                            record.length()));
+                    emitted++;
+                    emittedBytes += record.length();
+                }
+            } catch (Exception any) {
+                guard.dequeue(count - emitted, bytes - emittedBytes);
+                onUnexpectedError(event, any, "Emitting message failed");
+            }
+        } else {
+            metrics.recordRejection();
             event.response().setStatusCode(503).end();
         }
     }
@@ -88,8 +194,4 @@ public class ReactiveHttpHandlerBean extends ReactiveHandlerBeanBase<HttpStreamC
             log.debug(message, error);
         }
     }
-
-    private String key(String path, HttpMethod method) {
-        return String.format("%s:%s", path, method);
-    }
 }
@@ -1,6 +1,8 @@
 package io.quarkus.reactivemessaging.http.runtime;
 
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
@@ -9,11 +11,13 @@ import org.jboss.logging.Logger;
 
 import io.quarkus.reactivemessaging.http.runtime.config.ReactiveHttpConfig;
 import io.quarkus.reactivemessaging.http.runtime.config.WebSocketStreamConfig;
+import io.quarkus.reactivemessaging.http.runtime.metrics.SourceMetrics;
 import io.quarkus.reactivemessaging.http.runtime.serializers.DeserializerFactoryBase;
 import io.smallrye.mutiny.Multi;
 import io.smallrye.mutiny.subscription.MultiEmitter;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.ServerWebSocket;
+import io.vertx.core.http.WebSocketFrameType;
 import io.vertx.ext.web.RoutingContext;
 
 /**
@@ -30,55 +34,90 @@ public class ReactiveWebSocketHandlerBean extends ReactiveHandlerBeanBase<WebSoc
     @Inject
     DeserializerFactoryBase deserializerFactory;
 
+    private final Map<String, Bundle<WebSocketMessage<?>>> processors = new HashMap<>();
+
     @Override
     protected void handleRequest(RoutingContext event, MultiEmitter<? super WebSocketMessage<?>> emitter,
-            StrictQueueSizeGuard guard, String path, String deserializerName) {
+            StrictQueueSizeGuard guard, WebSocketStreamConfig streamConfig, SourceMetrics metrics) {
         event.request().toWebSocket(
                 webSocket -> {
                     if (webSocket.failed()) {
                         log(webSocket.cause(), "failed to connect web socket");
                     } else {
                         ServerWebSocket serverWebSocket = webSocket.result();
-                        serverWebSocket.handler(
-                                b -> {
-                                    if (emitter == null) {
-                                        onUnexpectedError(serverWebSocket, null,
-                                                "No consumer subscribed for messages sent to " +
-                                                        "Reactive Messaging WebSocket endpoint on path: " + path);
-                                    } else if (guard.prepareToEmit()) {
-                                        try {
-                                            emitter.emit(new WebSocketMessage<>(
-                                                    deserializerFactory.getDeserializer(deserializerName)
-                                                            .map(d -> d.deserialize(b)).orElse(b),
-                                                    new RequestMetadata(event),
-                                                    () -> serverWebSocket.write(Buffer.buffer("ACK")),
-                                                    error -> onUnexpectedError(serverWebSocket, error,
-                                                            "Failed to process incoming web socket message.")));
-                                        } catch (Exception error) {
-                                            guard.dequeue();
-                                            onUnexpectedError(serverWebSocket, error, "Emitting message failed");
-                                        }
-                                    } else {
-                                        serverWebSocket.write(Buffer.buffer("BUFFER_OVERFLOW"));
-                                    }
-                                });
+                        if (streamConfig.pauseWhenFull && emitter != null) {
+                            new PausingWebSocketReader(serverWebSocket, event.vertx().getOrCreateContext(), emitter,
+                                    guard, metrics,
+                                    (b, frameType) -> toMessage(event, serverWebSocket, streamConfig, b, frameType),
+                                    error -> onUnexpectedError(serverWebSocket, error, "Emitting message failed"))
+                                    .start();
+                            return;
+                        }
+                        // the frames of a fragmented message are aggregated into a single message
+                        serverWebSocket.binaryMessageHandler(b -> handleMessage(event, serverWebSocket, emitter, guard,
+                                streamConfig, metrics, b, WebSocketFrameType.BINARY));
+                        serverWebSocket.textMessageHandler(text -> handleMessage(event, serverWebSocket, emitter, guard,
+                                streamConfig, metrics, Buffer.buffer(text), WebSocketFrameType.TEXT));
                     }
                 });
     }
 
+    private void handleMessage(RoutingContext event, ServerWebSocket serverWebSocket,
+            MultiEmitter<? super WebSocketMessage<?>> emitter, StrictQueueSizeGuard guard,
+            WebSocketStreamConfig streamConfig, SourceMetrics metrics, Buffer b, WebSocketFrameType frameType) {
+        metrics.recordRequest();
+        if (emitter == null) {
+            onUnexpectedError(serverWebSocket, null,
+                    "No consumer subscribed for messages sent to " +
+                            "Reactive Messaging WebSocket endpoint on path: " + streamConfig.path);
+        } else if (guard.prepareToEmit(1, b.length())) {
+            try {
+                emitter.emit(toMessage(event, serverWebSocket, streamConfig, b, frameType));
+            } catch (Exception error) {
+                guard.dequeue(1, b.length());
+                onUnexpectedError(serverWebSocket, error, "Emitting message failed");
+            }
+        } else {
+            metrics.recordRejection();
+            serverWebSocket.write(Buffer.buffer("BUFFER_OVERFLOW"));
+        }
+    }
+
+    private WebSocketMessage<?> toMessage(RoutingContext event, ServerWebSocket serverWebSocket,
+            WebSocketStreamConfig streamConfig, Buffer b, WebSocketFrameType frameType) {
+        return new WebSocketMessage<>(
+                deserializerFactory.getDeserializer(streamConfig.deserializerName)
+                        .map(d -> d.deserialize(b)).orElse(b),
+                new RequestMetadata(event, frameType),
+                () -> serverWebSocket.write(Buffer.buffer("ACK")),
+                error -> onUnexpectedError(serverWebSocket, error,
+                        "Failed to process incoming web socket message."),
+                b.length());
+    }
+
+    @Override
+    protected String connectorName() {
+        return QuarkusWebSocketConnector.NAME;
+    }
+
+    @Override
+    protected long bufferedBytes(WebSocketMessage<?> message) {
+        return message.bufferedBytes();
+    }
+
     @Override
     protected String description(WebSocketStreamConfig config) {
         return String.format("path %s", config.path);
     }
 
     @Override
-    protected String key(WebSocketStreamConfig config) {
-        return config.path;
+    protected Bundle<WebSocketMessage<?>> registerBundle(WebSocketStreamConfig config, Bundle<WebSocketMessage<?>> bundle) {
+        return processors.put(config.path, bundle);
     }
 
     @Override
-    protected String key(RoutingContext context) {
-        return context.currentRoute().getPath();
+    protected Bundle<WebSocketMessage<?>> findBundle(RoutingContext context) {
+        return processors.get(context.currentRoute().getPath());
     }
 
     @Override
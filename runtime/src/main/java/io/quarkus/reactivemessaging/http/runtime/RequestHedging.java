@@ -0,0 +1,222 @@
+package io.quarkus.reactivemessaging.http.runtime;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import io.netty.util.Timeout;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.subscription.Cancellable;
+import io.smallrye.mutiny.subscription.UniEmitter;
+
+/**
+ * Sends a second, hedged, request if the first one takes longer than a delay, and uses the first accepted response.
+ * <p>
+ * The delay is either fixed or the {@value #PERCENTILE} percentile of the latencies of the last {@value #WINDOW}
+ * accepted responses. In the latter case, no request is hedged until {@value #MIN_SAMPLES} responses are observed.
+ * The hedged requests are bounded to a ratio of all the requests, by a {@link RetryBudget}, so that a slow
+ * downstream does not get twice as many requests.
+ * <p>
+ * Once a response is accepted, the other request is cancelled: its response is discarded when it arrives.
+ * A response that is not accepted is kept until the other request ends, and used if neither request gets an accepted
+ * response.
+ */
+class RequestHedging {
+    static final double PERCENTILE = 0.95;
+    static final int WINDOW = 512;
+    static final int MIN_SAMPLES = 32;
+    // the percentile is recomputed after this many new samples, sorting the window for every response would be costly
+    static final int RECOMPUTE_EVERY = 32;
+
+    private final RetryScheduler scheduler;
+    private final long fixedDelayNanos;
+    private final RetryBudget budget;
+
+    // guarded by latencies:
+    private final long[] latencies = new long[WINDOW];
+    private int position;
+    private int recorded;
+    private int sinceRecompute;
+    private volatile long percentileNanos = -1;
+
+    /**
+     * @param scheduler runs the hedged requests after their delay
+     * @param fixedDelay delay before a request is hedged, the {@value #PERCENTILE} percentile of the latencies if empty
+     * @param maxHedgedRatio maximum ratio of hedged requests to requests
+     */
+    RequestHedging(RetryScheduler scheduler, Optional<Duration> fixedDelay, double maxHedgedRatio) {
+        if (maxHedgedRatio <= 0 || maxHedgedRatio > 1) {
+            throw new IllegalArgumentException(
+                    "Maximum hedged ratio must be greater than 0 and at most 1, but was " + maxHedgedRatio);
+        }
+        this.scheduler = scheduler;
+        this.fixedDelayNanos = fixedDelay.map(Duration::toNanos).orElse(-1L);
+        this.budget = new RetryBudget(maxHedgedRatio, 1);
+    }
+
+    /**
+     * @param attempt supplies the request, invoked once for the first request and once more if it is hedged
+     * @param accepted whether a response ends the race, a response that is not accepted is used only if the other
+     *        request fails or is not accepted either
+     * @param onHedge invoked when a request is hedged
+     * @return a Uni completed with the first accepted response
+     */
+    <T> Uni<T> hedge(Supplier<Uni<T>> attempt, Predicate<T> accepted, Runnable onHedge) {
+        return Uni.createFrom().emitter(emitter -> new Race<>(attempt, accepted, onHedge, emitter).start());
+    }
+
+    /**
+     * @return the delay before hedging a request, or -1 if requests should not be hedged yet
+     */
+    long delayNanos() {
+        return fixedDelayNanos >= 0 ? fixedDelayNanos : percentileNanos;
+    }
+
+    private void recordLatency(long latencyNanos) {
+        if (fixedDelayNanos >= 0) {
+            return;
+        }
+        long[] sorted = null;
+        synchronized (latencies) {
+            latencies[position] = latencyNanos;
+            position = (position + 1) % WINDOW;
+            recorded = Math.min(recorded + 1, WINDOW);
+            if (recorded >= MIN_SAMPLES && ++sinceRecompute >= RECOMPUTE_EVERY) {
+                sinceRecompute = 0;
+                sorted = Arrays.copyOf(latencies, recorded);
+            }
+        }
+        if (sorted != null) {
+            // sorted outside the lock, the other responses do not wait for it
+            Arrays.sort(sorted);
+            percentileNanos = sorted[(int) (PERCENTILE * (sorted.length - 1))];
+        }
+    }
+
+    private class Race<T> {
+        private final Supplier<Uni<T>> attempt;
+        private final Predicate<T> accepted;
+        private final Runnable onHedge;
+        private final UniEmitter<? super T> emitter;
+
+        // guarded by this:
+        private final Cancellable[] attempts = new Cancellable[2];
+        private final long[] starts = new long[2];
+        private int running;
+        private Timeout timer;
+        private boolean done;
+        private boolean rejected;
+        private T rejectedItem;
+
+        private Race(Supplier<Uni<T>> attempt, Predicate<T> accepted, Runnable onHedge, UniEmitter<? super T> emitter) {
+            this.attempt = attempt;
+            this.accepted = accepted;
+            this.onHedge = onHedge;
+            this.emitter = emitter;
+        }
+
+        private void start() {
+            budget.deposit();
+            // invoked on completion too, to cancel the losing request
+            emitter.onTermination(this::cancel);
+            long delay = delayNanos();
+            if (delay >= 0) {
+                Timeout scheduled = scheduler.schedule(Duration.ofNanos(delay), this::hedge);
+                synchronized (this) {
+                    timer = scheduled;
+                }
+            }
+            launch(0);
+        }
+
+        private void hedge() {
+            synchronized (this) {
+                timer = null;
+                if (done || !budget.tryWithdraw()) {
+                    return;
+                }
+            }
+            onHedge.run();
+            launch(1);
+        }
+
+        private void launch(int index) {
+            synchronized (this) {
+                running++;
+                starts[index] = System.nanoTime();
+            }
+            Cancellable cancellable = attempt.get().subscribe().with(
+                    item -> onItem(index, item),
+                    failure -> onFailure(failure));
+            synchronized (this) {
+                if (done) {
+                    cancellable.cancel();
+                } else {
+                    attempts[index] = cancellable;
+                }
+            }
+        }
+
+        private void onItem(int index, T item) {
+            boolean itemAccepted = accepted.test(item);
+            long start;
+            synchronized (this) {
+                running--;
+                if (done) {
+                    return;
+                }
+                if (!itemAccepted && running > 0) {
+                    // used if the other request does not get an accepted response either
+                    rejected = true;
+                    rejectedItem = item;
+                    return;
+                }
+                done = true;
+                start = starts[index];
+            }
+            if (itemAccepted) {
+                recordLatency(System.nanoTime() - start);
+            }
+            emitter.complete(item);
+        }
+
+        private void onFailure(Throwable failure) {
+            boolean useRejected;
+            T item;
+            synchronized (this) {
+                running--;
+                // the other request might still succeed
+                if (done || running > 0) {
+                    return;
+                }
+                done = true;
+                useRejected = rejected;
+                item = rejectedItem;
+            }
+            if (useRejected) {
+                emitter.complete(item);
+            } else {
+                emitter.fail(failure);
+            }
+        }
+
+        private void cancel() {
+            Cancellable[] toCancel;
+            synchronized (this) {
+                done = true;
+                if (timer != null) {
+                    timer.cancel();
+                    timer = null;
+                }
+                toCancel = attempts.clone();
+            }
+            for (Cancellable cancellable : toCancel) {
+                if (cancellable != null) {
+                    cancellable.cancel();
+                }
+            }
+        }
+    }
+}
@@ -3,6 +3,7 @@ package io.quarkus.reactivemessaging.http.runtime;
 import java.util.Map;
 
 import io.vertx.core.MultiMap;
+import io.vertx.core.http.WebSocketFrameType;
 import io.vertx.ext.web.RoutingContext;
 
 /**
@@ -11,9 +12,15 @@ import io.vertx.ext.web.RoutingContext;
 public class RequestMetadata implements PathMetadata {
 
     private final RoutingContext event;
+    private final WebSocketFrameType frameType;
 
     RequestMetadata(RoutingContext event) {
+        this(event, null);
+    }
+
+    RequestMetadata(RoutingContext event, WebSocketFrameType frameType) {
         this.event = event;
+        this.frameType = frameType;
     }
 
     public MultiMap getQueryParams() {
@@ -24,6 +31,15 @@ public class RequestMetadata implements PathMetadata {
         return event.pathParams();
     }
 
+    /**
+     * type of the web socket frames the message was sent in
+     *
+     * @return either TEXT or BINARY for web socket messages, null for http requests
+     */
+    public WebSocketFrameType getFrameType() {
+        return frameType;
+    }
+
     @Override
     public String getInvokedPath() {
         return event.normalizedPath();
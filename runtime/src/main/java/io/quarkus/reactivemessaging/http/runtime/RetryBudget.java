@@ -0,0 +1,66 @@
+package io.quarkus.reactivemessaging.http.runtime;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A token bucket bounding the retries of a sink to a ratio of the messages it sends.
+ * <p>
+ * Every message sent deposits {@code ratio} tokens, every retry withdraws one. The bucket holds at most {@code burst}
+ * tokens and starts full, so that a few retries are possible before many messages are sent.
+ * During an outage, the retries stop once the bucket is empty, instead of multiplying the load on the downstream by
+ * the number of attempts.
+ * The same bucket bounds the hedged requests of {@link RequestHedging}, to a ratio of all the requests.
+ */
+class RetryBudget {
+    // the tokens are counted in thousandths, to keep the counter a long
+    private static final long SCALE = 1000;
+
+    private final long deposit;
+    private final long capacity;
+    private final AtomicLong tokens;
+
+    /**
+     * @param ratio maximum ratio of retries to sent messages
+     * @param burst maximum number of retries allowed on top of the ratio
+     */
+    RetryBudget(double ratio, int burst) {
+        if (ratio < 0) {
+            throw new IllegalArgumentException("Retry budget must not be negative, but was " + ratio);
+        }
+        if (burst <= 0) {
+            // the tokens deposited by the messages could never add up to a retry
+            throw new IllegalArgumentException("Retry budget burst must be greater than 0, but was " + burst);
+        }
+        this.deposit = Math.round(ratio * SCALE);
+        this.capacity = burst * SCALE;
+        this.tokens = new AtomicLong(capacity);
+    }
+
+    /**
+     * record a message sent for the first time
+     */
+    void deposit() {
+        while (true) {
+            long oldVal = tokens.get();
+            long newVal = Math.min(capacity, oldVal + deposit);
+            if (newVal == oldVal || tokens.compareAndSet(oldVal, newVal)) {
+                return;
+            } // else try again
+        }
+    }
+
+    /**
+     * @return true if a retry is allowed, its token is taken
+     */
+    boolean tryWithdraw() {
+        while (true) {
+            long oldVal = tokens.get();
+            if (oldVal < SCALE) {
+                return false; // the budget is exhausted
+            }
+            if (tokens.compareAndSet(oldVal, oldVal - SCALE)) {
+                return true;
+            } // else try again
+        }
+    }
+}
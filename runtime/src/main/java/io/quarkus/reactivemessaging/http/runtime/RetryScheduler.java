@@ -0,0 +1,59 @@
+package io.quarkus.reactivemessaging.http.runtime;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Singleton;
+
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timeout;
+import io.netty.util.Timer;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+
+/**
+ * Schedules the delayed retries and the hedged requests of all the sinks on a single hashed timer wheel.
+ * <p>
+ * Scheduling a retry is constant time and does not allocate a scheduled task in a shared executor, so that the
+ * overhead of the timers stays the same however many messages wait for a retry. The delays are rounded up to the
+ * {@value #TICK_MILLIS} ms tick of the wheel. The thread of the wheel is started with the first delayed retry.
+ */
+@Singleton
+public class RetryScheduler {
+    static final long TICK_MILLIS = 10;
+    private static final int TICKS_PER_WHEEL = 512;
+
+    private final Timer timer = new HashedWheelTimer(new DefaultThreadFactory("http-sink-retry", true),
+            TICK_MILLIS, TimeUnit.MILLISECONDS, TICKS_PER_WHEEL);
+
+    /**
+     * run a task, e.g. a retry, after a delay, on the Vert.x context of the caller if there is one.
+     * The task runs on the thread of the wheel otherwise, it must not block
+     *
+     * @param delay the delay
+     * @param task the task
+     * @return a handle to cancel the task, or null if the task is not scheduled because the application is shutting
+     *         down. Cancelling the task once it is passed to the Vert.x context does not stop it
+     */
+    Timeout schedule(Duration delay, Runnable task) {
+        Context context = Vertx.currentContext();
+        try {
+            return timer.newTimeout(ignored -> {
+                if (context != null) {
+                    context.runOnContext(v -> task.run());
+                } else {
+                    task.run();
+                }
+            }, delay.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (IllegalStateException stopped) {
+            return null;
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        timer.stop();
+    }
+}
@@ -0,0 +1,223 @@
+package io.quarkus.reactivemessaging.http.runtime;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import io.quarkus.reactivemessaging.http.runtime.serializers.Deserializer;
+import io.smallrye.mutiny.subscription.Cancellable;
+import io.smallrye.mutiny.subscription.MultiEmitter;
+import io.vertx.core.Context;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.ext.web.RoutingContext;
+
+/**
+ * Reads an NDJSON request body chunk by chunk and emits a message for each line, without buffering the whole body.
+ * <p>
+ * The request is paused when the {@link StrictQueueSizeGuard} is full and resumed when the downstream consumes
+ * messages, so that a fast producer is throttled by TCP flow control.
+ * The request is responded when the body is fully read and all the messages are acknowledged.
+ * A line longer than {@code maxLineSize} is never accumulated in memory, the request is responded with 413 instead.
+ */
+class StreamingBulkRequest {
+    private static final byte NEW_LINE = '\n';
+
+    private final RoutingContext event;
+    private final HttpServerRequest request;
+    private final Context context;
+    private final MultiEmitter<? super HttpMessage<?>> emitter;
+    private final StrictQueueSizeGuard guard;
+    private final Optional<Deserializer<Object>> deserializer;
+    private final Consumer<Throwable> onFailure;
+    private final IncomingHttpMetadata metadata;
+    private final long maxLineSize;
+
+    // accessed only from the request's context:
+    private final Deque<Buffer> records = new ArrayDeque<>();
+    private Buffer partialLine;
+    private boolean ended;
+    private boolean bodyCompleted;
+    private boolean waitingForSpace;
+    private Cancellable spaceWaiter;
+
+    // messages not acknowledged yet, plus one for the request body until it is fully read
+    private final AtomicInteger outstanding = new AtomicInteger(1);
+
+    StreamingBulkRequest(RoutingContext event, MultiEmitter<? super HttpMessage<?>> emitter,
+            StrictQueueSizeGuard guard, Optional<Deserializer<Object>> deserializer, long maxLineSize,
+            Consumer<Throwable> onFailure) {
+        this.event = event;
+        this.request = event.request();
+        this.context = event.vertx().getOrCreateContext();
+        this.emitter = emitter;
+        this.guard = guard;
+        this.deserializer = deserializer;
+        this.onFailure = onFailure;
+        this.metadata = new IncomingHttpMetadata(event);
+        this.maxLineSize = maxLineSize;
+    }
+
+    void start() {
+        request.handler(this::onChunk);
+        request.endHandler(ignored -> onEnd());
+        request.exceptionHandler(onFailure::accept);
+        // the response ends early if a message is nacked, a line is too long, or the client goes away
+        event.addEndHandler(ignored -> stopWaitingForSpace());
+        // the request might have been paused by the router
+        request.resume();
+    }
+
+    private void onChunk(Buffer chunk) {
+        if (responded()) {
+            // processing of one of the messages has failed, ignore the rest of the body
+            return;
+        }
+        int lineStart = 0;
+        for (int i = 0; i < chunk.length(); i++) {
+            if (chunk.getByte(i) == NEW_LINE) {
+                if (!addRecord(chunk, lineStart, i)) {
+                    return;
+                }
+                lineStart = i + 1;
+            }
+        }
+        if (lineStart < chunk.length()) {
+            if (exceedsMaxLineSize(chunk.length() - lineStart)) {
+                // a body without new lines would otherwise be accumulated in memory as a whole
+                rejectLineTooLong();
+                return;
+            }
+            Buffer rest = chunk.getBuffer(lineStart, chunk.length());
+            partialLine = partialLine == null ? rest : partialLine.appendBuffer(rest);
+        }
+        drain();
+    }
+
+    private void onEnd() {
+        ended = true;
+        if (partialLine != null) {
+            records.addAll(BulkFormat.NDJSON.split(partialLine));
+            partialLine = null;
+        }
+        drain();
+    }
+
+    /**
+     * @return false if the line is too long, the request is responded then
+     */
+    private boolean addRecord(Buffer chunk, int start, int end) {
+        if (exceedsMaxLineSize(end - start)) {
+            rejectLineTooLong();
+            return false;
+        }
+        Buffer line;
+        if (partialLine != null) {
+            line = partialLine.appendBuffer(chunk.slice(start, end));
+            partialLine = null;
+        } else {
+            line = chunk.slice(start, end);
+        }
+        // skips blank lines and strips the carriage returns
+        records.addAll(BulkFormat.NDJSON.split(line));
+        return true;
+    }
+
+    /**
+     * @param bytes number of bytes to add to the current line
+     */
+    private boolean exceedsMaxLineSize(int bytes) {
+        long lineSize = (long) bytes + (partialLine != null ? partialLine.length() : 0);
+        return lineSize > maxLineSize;
+    }
+
+    private void rejectLineTooLong() {
+        partialLine = null;
+        records.clear();
+        // the rest of the body is ignored, as for any other request responded before its body is fully read
+        event.response().setStatusCode(413).end();
+    }
+
+    private void drain() {
+        while (!records.isEmpty()) {
+            if (responded()) {
+                records.clear();
+                return;
+            }
+            Buffer record = records.peek();
+            if (guard.exceedsMaxBytes(record.length())) {
+                // could never be accepted, waiting for space would not help
+                records.clear();
+                event.response().setStatusCode(413).end();
+                return;
+            }
+            if (!guard.prepareToEmit(1, record.length())) {
+                if (!waitingForSpace) {
+                    waitingForSpace = true;
+                    request.pause();
+                    spaceWaiter = guard.whenSpaceAvailable(1, record.length(),
+                            () -> context.runOnContext(ignored -> onSpaceAvailable()));
+                }
+                return;
+            }
+            records.poll();
+            emit(record);
+        }
+        if (ended && !bodyCompleted) {
+            bodyCompleted = true;
+            release();
+        }
+    }
+
+    private void onSpaceAvailable() {
+        waitingForSpace = false;
+        spaceWaiter = null;
+        if (responded()) {
+            // the space is not used by this request, let another waiter use it
+            records.clear();
+            guard.notifySpaceWaiters();
+            return;
+        }
+        drain();
+        if (!waitingForSpace && !ended) {
+            request.resume();
+        }
+    }
+
+    private void stopWaitingForSpace() {
+        records.clear();
+        if (spaceWaiter != null) {
+            // if the waiter has already been notified, onSpaceAvailable passes the notification on
+            spaceWaiter.cancel();
+            spaceWaiter = null;
+            waitingForSpace = false;
+        }
+    }
+
+    private boolean responded() {
+        return event.response().ended() || event.response().closed();
+    }
+
+    private void emit(Buffer record) {
+        outstanding.incrementAndGet();
+        try {
+            emitter.emit(new HttpMessage<>(
+                    deserializer.map(d -> d.deserialize(record)).orElse(record),
+                    metadata,
+                    this::release,
+                    onFailure,
+                    record.length()));
+        } catch (Exception any) {
+            guard.dequeue(1, record.length());
+            onFailure.accept(any);
+        }
+    }
+
+    private void release() {
+        if (outstanding.decrementAndGet() == 0 && !event.response().ended()) {
+            event.response().setStatusCode(202).end();
+        }
+    }
+}
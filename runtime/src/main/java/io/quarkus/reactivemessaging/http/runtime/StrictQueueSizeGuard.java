@@ -1,26 +1,139 @@
 package io.quarkus.reactivemessaging.http.runtime;
 
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.smallrye.mutiny.subscription.Cancellable;
 
 /**
- * A non-blocking utility class to keep the amount of enqueued emissions under a certain number ({@code queueSize})
+ * A non-blocking utility class to keep the amount of enqueued emissions under a certain number ({@code queueSize}),
+ * and optionally the total size of their payloads under a certain number of bytes ({@code maxBytes})
  */
 class StrictQueueSizeGuard {
     private final int queueSize;
+    private final long maxBytes;
     private final AtomicInteger enqueued = new AtomicInteger();
+    private final AtomicLong enqueuedBytes = new AtomicLong();
+    private final Queue<SpaceWaiter> spaceWaiters = new ConcurrentLinkedQueue<>();
 
     /**
      * @param queueSize size of the queue
      */
     StrictQueueSizeGuard(int queueSize) {
+        this(queueSize, 0);
+    }
+
+    /**
+     * @param queueSize size of the queue
+     * @param maxBytes maximum total size of the payloads in the queue, 0 or less for no limit
+     */
+    StrictQueueSizeGuard(int queueSize, long maxBytes) {
         this.queueSize = queueSize;
+        this.maxBytes = maxBytes;
     }
 
     /**
      * mark an emission as dequeued. In other words, remove it from the count
      */
     void dequeue() {
-        enqueued.decrementAndGet();
+        dequeue(1, 0);
+    }
+
+    /**
+     * mark multiple emissions as dequeued, e.g. if reserved emissions did not happen
+     *
+     * @param count number of emissions to remove from the count
+     */
+    void dequeue(int count) {
+        dequeue(count, 0);
+    }
+
+    /**
+     * mark multiple emissions as dequeued, together with their payload bytes
+     *
+     * @param count number of emissions to remove from the count
+     * @param bytes total size of the payloads of the emissions, as passed to {@link #prepareToEmit(int, long)}
+     */
+    void dequeue(int count, long bytes) {
+        release(count);
+        if (maxBytes > 0) {
+            enqueuedBytes.addAndGet(-bytes);
+        }
+        notifySpaceWaiters();
+    }
+
+    /**
+     * remove emissions from the count, without notifying the waiters
+     *
+     * @param count number of emissions to remove from the count
+     */
+    void release(int count) {
+        enqueued.addAndGet(-count);
+    }
+
+    /**
+     * register a callback invoked once, when there is enough space in the queue for {@code count} emissions
+     * with {@code bytes} bytes of payloads.
+     * The callback is invoked on the thread that dequeues an emission, it should not block.
+     * Being notified does not guarantee that a subsequent {@link #prepareToEmit(int, long)} succeeds,
+     * another emitter might have taken the space in the meantime.
+     *
+     * @param count number of emissions waiting for space
+     * @param bytes total size of the payloads of the emissions
+     * @param callback the callback
+     * @return a handle to unregister the callback, if it has not been invoked yet
+     */
+    Cancellable whenSpaceAvailable(int count, long bytes, Runnable callback) {
+        SpaceWaiter waiter = new SpaceWaiter(count, bytes, callback);
+        spaceWaiters.add(waiter);
+        // the space might have been freed before the waiter was registered
+        notifySpaceWaiters();
+        return () -> spaceWaiters.remove(waiter);
+    }
+
+    /**
+     * notify the waiters for which there is enough space in the queue, in the order of registration.
+     * A waiter that does not fit stays registered, without blocking the smaller ones registered after it.
+     */
+    void notifySpaceWaiters() {
+        int count = 0;
+        long bytes = 0;
+        for (SpaceWaiter waiter : spaceWaiters) {
+            // the space promised to the waiters notified so far is not reserved yet
+            if (fits(count + waiter.count, bytes + waiter.bytes) && spaceWaiters.remove(waiter)) {
+                count += waiter.count;
+                bytes += waiter.bytes;
+                waiter.callback.run();
+            }
+        }
+    }
+
+    private boolean fits(int count, long bytes) {
+        return enqueued() + count <= queueSize && (maxBytes <= 0 || enqueuedBytes.get() + bytes <= maxBytes);
+    }
+
+    /**
+     * @return the number of emissions that are enqueued at the moment
+     */
+    int enqueued() {
+        return enqueued.get();
+    }
+
+    /**
+     * @return the maximum number of enqueued emissions
+     */
+    int queueSize() {
+        return queueSize;
+    }
+
+    /**
+     * @param bytes size of the payloads of emissions
+     * @return true if the payloads could never be accepted, because they exceed the maximum number of bytes
+     */
+    boolean exceedsMaxBytes(long bytes) {
+        return maxBytes > 0 && bytes > maxBytes;
     }
 
     /**
@@ -28,9 +141,19 @@ class StrictQueueSizeGuard {
      * @return if the message can be emitted or not
      */
     boolean prepareToEmit() {
+        return prepareToEmit(1);
+    }
+
+    /**
+     * reserve space for multiple emissions at once. Either all or none of them are accepted
+     *
+     * @param count number of messages to emit
+     * @return if the messages can be emitted or not
+     */
+    boolean prepareToEmit(int count) {
         while (true) {
             int oldVal = enqueued.get();
-            int newVal = oldVal + 1;
+            int newVal = oldVal + count;
             if (newVal <= queueSize) {
                 if (enqueued.compareAndSet(oldVal, newVal)) {
                     return true;
@@ -40,4 +163,49 @@ class StrictQueueSizeGuard {
             }
         }
     }
+
+    /**
+     * reserve space for multiple emissions and their payload bytes at once. Either all or none of them are accepted
+     *
+     * @param count number of messages to emit
+     * @param bytes total size of the payloads of the messages
+     * @return if the messages can be emitted or not
+     */
+    boolean prepareToEmit(int count, long bytes) {
+        if (!prepareToEmit(count)) {
+            return false;
+        }
+        if (maxBytes > 0 && !reserveBytes(bytes)) {
+            // not a dequeue, the space was not really available, nobody should be notified
+            release(count);
+            return false;
+        }
+        return true;
+    }
+
+    private boolean reserveBytes(long bytes) {
+        while (true) {
+            long oldVal = enqueuedBytes.get();
+            long newVal = oldVal + bytes;
+            if (newVal <= maxBytes) {
+                if (enqueuedBytes.compareAndSet(oldVal, newVal)) {
+                    return true;
+                } // else try again
+            } else {
+                return false; // too many bytes to enqueue
+            }
+        }
+    }
+
+    private static final class SpaceWaiter {
+        private final int count;
+        private final long bytes;
+        private final Runnable callback;
+
+        private SpaceWaiter(int count, long bytes, Runnable callback) {
+            this.count = count;
+            this.bytes = bytes;
+            this.callback = callback;
+        }
+    }
 }
@@ -0,0 +1,116 @@
+package io.quarkus.reactivemessaging.http.runtime;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * A {@link StrictQueueSizeGuard} that splits the queue size into stripes, so that the event loops emitting to
+ * the same stream do not all contend on a single counter.
+ * <p>
+ * Every thread reserves space in its own stripe first. If the stripe is full, the space is borrowed from the other
+ * stripes, so an emission is rejected only if the whole queue is full, as with the {@link StrictQueueSizeGuard}.
+ * The space is freed in whichever stripe has enqueued emissions, as the consumer does not know which stripe an
+ * emission was counted in.
+ */
+class StripedQueueSizeGuard extends StrictQueueSizeGuard {
+    /**
+     * the number of stripes by default, matches the default number of event loops
+     */
+    static final int DEFAULT_STRIPES = 2 * Runtime.getRuntime().availableProcessors();
+
+    // ints per stripe, so that every stripe is on its own cache line
+    private static final int PADDING = 16;
+
+    private final int stripes;
+    private final int[] capacities;
+    private final AtomicIntegerArray counts;
+
+    /**
+     * @param queueSize size of the queue
+     * @param stripes number of stripes, lowered to the queue size if the queue is smaller
+     */
+    StripedQueueSizeGuard(int queueSize, int stripes) {
+        this(queueSize, 0, stripes);
+    }
+
+    /**
+     * @param queueSize size of the queue
+     * @param maxBytes maximum total size of the payloads in the queue, 0 or less for no limit
+     * @param stripes number of stripes, lowered to the queue size if the queue is smaller
+     */
+    StripedQueueSizeGuard(int queueSize, long maxBytes, int stripes) {
+        super(queueSize, maxBytes);
+        this.stripes = Math.max(1, Math.min(stripes, queueSize));
+        this.capacities = new int[this.stripes];
+        for (int i = 0; i < this.stripes; i++) {
+            capacities[i] = queueSize / this.stripes + (i < queueSize % this.stripes ? 1 : 0);
+        }
+        this.counts = new AtomicIntegerArray(this.stripes * PADDING);
+    }
+
+    @Override
+    int enqueued() {
+        int total = 0;
+        for (int i = 0; i < stripes; i++) {
+            total += counts.get(i * PADDING);
+        }
+        return total;
+    }
+
+    @Override
+    boolean prepareToEmit(int count) {
+        int home = homeStripe();
+        int reserved = reserve(home, count);
+        // borrow the rest from the other stripes
+        for (int i = 1; i < stripes && reserved < count; i++) {
+            reserved += reserve((home + i) % stripes, count - reserved);
+        }
+        if (reserved == count) {
+            return true;
+        }
+        // either all or none of the emissions are accepted
+        release(reserved);
+        return false;
+    }
+
+    /**
+     * reserve space in a stripe
+     *
+     * @return the number of emissions that the space was reserved for, up to {@code count}
+     */
+    private int reserve(int stripe, int count) {
+        int index = stripe * PADDING;
+        while (true) {
+            int oldVal = counts.get(index);
+            int free = capacities[stripe] - oldVal;
+            if (free <= 0) {
+                return 0;
+            }
+            int reserved = Math.min(free, count);
+            if (counts.compareAndSet(index, oldVal, oldVal + reserved)) {
+                return reserved;
+            } // else try again
+        }
+    }
+
+    @Override
+    void release(int count) {
+        int stripe = homeStripe();
+        while (count > 0) {
+            int index = stripe * PADDING;
+            int oldVal = counts.get(index);
+            if (oldVal > 0) {
+                int released = Math.min(oldVal, count);
+                if (counts.compareAndSet(index, oldVal, oldVal - released)) {
+                    count -= released;
+                }
+                // else try the same stripe again
+            } else {
+                stripe = (stripe + 1) % stripes;
+            }
+        }
+    }
+
+    private int homeStripe() {
+        return (int) (Thread.currentThread().getId() % stripes);
+    }
+}
@@ -0,0 +1,50 @@
+package io.quarkus.reactivemessaging.http.runtime;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+
+import io.quarkus.reactivemessaging.http.runtime.config.ReactiveHttpConfig;
+import io.quarkus.reactivemessaging.http.runtime.config.WebSocketStreamConfig;
+import io.quarkus.vertx.http.HttpServerOptionsCustomizer;
+import io.vertx.core.http.HttpServerOptions;
+
+/**
+ * Applies the permessage-deflate settings of the incoming web socket streams to the http server.
+ * The settings are shared by all the web sockets of the server, the highest compression level wins.
+ * Registered only if a stream customizes the compression
+ */
+@Singleton
+public class WebSocketCompressionCustomizer implements HttpServerOptionsCustomizer {
+
+    @Inject
+    ReactiveHttpConfig config;
+
+    @Override
+    public void customizeHttpServer(HttpServerOptions options) {
+        configure(options);
+    }
+
+    @Override
+    public void customizeHttpsServer(HttpServerOptions options) {
+        configure(options);
+    }
+
+    private void configure(HttpServerOptions options) {
+        Integer level = null;
+        boolean noContext = false;
+        for (WebSocketStreamConfig streamConfig : config.getWebSocketConfigs()) {
+            if (streamConfig.compressionLevel != null) {
+                level = level == null ? streamConfig.compressionLevel : Math.max(level, streamConfig.compressionLevel);
+            }
+            noContext |= streamConfig.compressionNoContext;
+        }
+        options.setPerMessageWebSocketCompressionSupported(true);
+        if (level != null) {
+            options.setWebSocketCompressionLevel(level);
+        }
+        if (noContext) {
+            options.setWebSocketAllowServerNoContext(true)
+                    .setWebSocketPreferredClientNoContext(true);
+        }
+    }
+}
@@ -15,10 +15,15 @@ class WebSocketMessage<PayloadType> implements Message<PayloadType> {
     private final Runnable successHandler;
     private final Consumer<Throwable> failureHandler;
     private final Metadata metadata;
+    private final long bufferedBytes;
 
+    /**
+     * @param bufferedBytes size of the payload counted in the buffer of the incoming stream
+     */
     WebSocketMessage(PayloadType payload, RequestMetadata requestMetadata, Runnable successHandler,
-            Consumer<Throwable> failureHandler) {
+            Consumer<Throwable> failureHandler, long bufferedBytes) {
         this.payload = payload;
+        this.bufferedBytes = bufferedBytes;
         this.successHandler = successHandler;
         this.failureHandler = failureHandler;
         metadata = Metadata.of(requestMetadata);
@@ -34,6 +39,10 @@ class WebSocketMessage<PayloadType> implements Message<PayloadType> {
         return metadata;
     }
 
+    long bufferedBytes() {
+        return bufferedBytes;
+    }
+
     @Override
     public Supplier<CompletionStage<Void>> getAck() {
         return () -> {
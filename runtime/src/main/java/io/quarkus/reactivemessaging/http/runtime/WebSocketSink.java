@@ -4,24 +4,31 @@ import static java.util.Arrays.asList;
 
 import java.net.URI;
 import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.List;
 import java.util.Locale;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 
 import org.eclipse.microprofile.reactive.messaging.Message;
 import org.jboss.logging.Logger;
 
+import io.netty.handler.codec.http.HttpHeaderNames;
 import io.quarkus.reactivemessaging.http.runtime.config.TlsConfig;
 import io.quarkus.reactivemessaging.http.runtime.serializers.Serializer;
 import io.quarkus.reactivemessaging.http.runtime.serializers.SerializerFactoryBase;
 import io.quarkus.tls.TlsConfiguration;
 import io.smallrye.mutiny.Uni;
 import io.smallrye.mutiny.vertx.AsyncResultUni;
+import io.vertx.core.AbstractVerticle;
 import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
+import io.vertx.core.VertxException;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.WebSocket;
 import io.vertx.core.http.WebSocketClient;
@@ -34,20 +41,36 @@ class WebSocketSink extends AbstractSink {
 
     private static final String WSS = "wss";
     private static final List<String> supportedSchemes = asList("ws", WSS);
+    private static final String ROUND_ROBIN = "round-robin";
+    private static final String LEAST_PENDING = "least-pending";
+    private static final String BINARY = "binary";
+    private static final String TEXT = "text";
 
+    private final Vertx vertx;
     private final URI uri;
     private final WebSocketClient webSocketClient;
     private final boolean ssl;
     private final String serializer;
     private final SerializerFactoryBase serializerFactory;
+    private final Connection[] connections;
+    private final boolean leastPending;
+    private final AtomicInteger nextConnection = new AtomicInteger();
+    private final Optional<Integer> maxWriteQueueSize;
+    private final boolean textFrames;
 
     WebSocketSink(Vertx vertx, URI uri, String serializer, SerializerFactoryBase serializerFactory,
-            int maxRetries, Optional<Duration> delay, double jitter,
-            Optional<TlsConfiguration> tlsConfiguration, long inflights, boolean waitForCompletion) {
-        super(log, uri.toString(), maxRetries, jitter, delay, inflights, waitForCompletion);
+            int maxRetries, Optional<Duration> delay, double jitter, RetryBudget retryBudget, RetryScheduler retryScheduler,
+            Optional<TlsConfiguration> tlsConfiguration, long inflights, boolean waitForCompletion,
+            boolean adaptiveInflights, int connections, String connectionSelection,
+            Optional<Integer> maxWriteQueueSize, String frameType,
+            boolean compression, int compressionLevel, boolean compressionNoContext) {
+        super(log, uri.toString(), maxRetries, jitter, delay, retryBudget, retryScheduler, inflights, waitForCompletion,
+                adaptiveInflights);
+        this.vertx = vertx;
         this.uri = uri;
         this.serializerFactory = serializerFactory;
         this.serializer = serializer;
+        this.maxWriteQueueSize = maxWriteQueueSize;
 
         String scheme = uri.getScheme().toLowerCase(Locale.getDefault());
         if (!supportedSchemes.contains(scheme)) {
@@ -56,34 +79,43 @@ class WebSocketSink extends AbstractSink {
         ssl = WSS.equals(scheme);
 
         WebSocketClientOptions options = new WebSocketClientOptions();
+        if (compression) {
+            // permessage-deflate, used only if the server accepts it
+            options.setTryUsePerMessageCompression(true)
+                    .setCompressionLevel(compressionLevel)
+                    .setCompressionAllowClientNoContext(compressionNoContext)
+                    .setCompressionRequestServerNoContext(compressionNoContext);
+        }
 
         tlsConfiguration.ifPresent(config -> TlsConfig.configure(options, config));
 
         webSocketClient = vertx.createWebSocketClient(options);
-    }
 
-    private final AtomicReference<WebSocket> websocket = new AtomicReference<>();
-
-    private void connect(WebSocketConnectOptions options, Handler<AsyncResult<WebSocket>> handler) {
-        log.debug("using a new web socket connection");
-        webSocketClient.connect(options, connectResult -> {
-            if (connectResult.succeeded()) {
-                WebSocket result = connectResult.result();
-                WebSocket oldWs = websocket.getAndSet(result);
-                if (oldWs != null) { // someone might have initialized it in parallel
-                    log.debug("Closing previous web socket connection");
-                    oldWs.close();
-                }
+        if (connections <= 0) {
+            throw new IllegalArgumentException("Connections must be greater than 0, but was " + connections);
+        }
+        if (!ROUND_ROBIN.equals(connectionSelection) && !LEAST_PENDING.equals(connectionSelection)) {
+            throw new IllegalArgumentException("Invalid connection selection '" + connectionSelection
+                    + "' for the websocket sink, expected " + ROUND_ROBIN + " or " + LEAST_PENDING);
+        }
+        this.leastPending = LEAST_PENDING.equals(connectionSelection);
+        if (!BINARY.equals(frameType) && !TEXT.equals(frameType)) {
+            throw new IllegalArgumentException("Invalid frame type '" + frameType
+                    + "' for the websocket sink, expected " + BINARY + " or " + TEXT);
+        }
+        this.textFrames = TEXT.equals(frameType);
+        this.connections = new Connection[connections];
+        for (int i = 0; i < connections; i++) {
+            this.connections[i] = new Connection();
+        }
+    }
 
-                result.closeHandler(ignored -> {
-                    log.debug("WebSocket disconnected");
-                    websocket.compareAndSet(result, null);
-                });
-                handler.handle(connectResult);
-            } else {
-                handler.handle(Future.failedFuture(connectResult.cause()));
-            }
-        });
+    @Override
+    void close() {
+        super.close();
+        for (Connection connection : connections) {
+            connection.deployment.onSuccess(vertx::undeploy);
+        }
     }
 
     @Override
@@ -95,14 +127,15 @@ class WebSocketSink extends AbstractSink {
         return AsyncResultUni.toUni(
                 // all happening in "one step" so that the retry mechanism is applied to the connection too
                 handler -> {
-                    WebSocket ws = websocket.get();
+                    Connection connection = selectConnection();
+                    WebSocket ws = connection.websocket.get();
                     if (ws != null && !ws.isClosed()) {
                         log.debug("reusing a previous web socket connection");
-                        _send(ws, serialized, handler);
+                        connection.send(ws, serialized, handler);
                     } else {
-                        connect(options, result -> {
+                        connection.connect(options, result -> {
                             if (result.succeeded()) {
-                                _send(result.result(), serialized, handler);
+                                connection.send(result.result(), serialized, handler);
                             } else {
                                 handler.handle(Future.failedFuture(result.cause()));
                             }
@@ -111,6 +144,25 @@ class WebSocketSink extends AbstractSink {
                 });
     }
 
+    private Connection selectConnection() {
+        if (connections.length == 1) {
+            return connections[0];
+        }
+        if (!leastPending) {
+            return connections[Math.floorMod(nextConnection.getAndIncrement(), connections.length)];
+        }
+        // start from a different connection every time, so that the ties are spread too
+        int start = Math.floorMod(nextConnection.getAndIncrement(), connections.length);
+        Connection selected = connections[start];
+        for (int i = 1; i < connections.length && selected.pending.get() > 0; i++) {
+            Connection candidate = connections[(start + i) % connections.length];
+            if (candidate.pending.get() < selected.pending.get()) {
+                selected = candidate;
+            }
+        }
+        return selected;
+    }
+
     private WebSocketConnectOptions options() {
         return new WebSocketConnectOptions()
                 .setSsl(ssl)
@@ -119,16 +171,127 @@ class WebSocketSink extends AbstractSink {
                 .setURI(uri.getPath());
     }
 
-    private void _send(WebSocket webSocket, Buffer serialized, Handler<AsyncResult<Void>> handler) {
-        log.debug("sending out the message");
-        webSocket.write(serialized, writeResult -> {
-            if (writeResult.succeeded()) {
-                log.debug("success");
+    /**
+     * a web socket of the pool, connected on its own event loop
+     */
+    private class Connection {
+        // every deployment gets a new event loop context, the event loops are assigned in turns
+        private final ContextVerticle verticle = new ContextVerticle();
+        private final Future<String> deployment = vertx.deployVerticle(verticle);
+        private final AtomicReference<WebSocket> websocket = new AtomicReference<>();
+        // messages written or waiting to be written, and not completed yet
+        private final AtomicInteger pending = new AtomicInteger();
+        // accessed only from the connection's context, messages waiting for the write queue to drain
+        private final Deque<PendingWrite> waitingWrites = new ArrayDeque<>();
+
+        private void connect(WebSocketConnectOptions options, Handler<AsyncResult<WebSocket>> handler) {
+            log.debug("using a new web socket connection");
+            deployment.onComplete(deployed -> {
+                if (deployed.failed()) {
+                    handler.handle(Future.failedFuture(deployed.cause()));
+                } else {
+                    // connected from the connection's context, so that the web socket is bound to its event loop
+                    verticle.context().runOnContext(ignored -> connectOnContext(options, handler));
+                }
+            });
+        }
+
+        private void connectOnContext(WebSocketConnectOptions options, Handler<AsyncResult<WebSocket>> handler) {
+            webSocketClient.connect(options, connectResult -> {
+                if (connectResult.succeeded()) {
+                    WebSocket result = connectResult.result();
+                    if (log.isDebugEnabled() && result.headers() != null) {
+                        log.debugf("Connected to %s with extensions: %s", uri,
+                                result.headers().get(HttpHeaderNames.SEC_WEBSOCKET_EXTENSIONS));
+                    }
+                    maxWriteQueueSize.ifPresent(result::setWriteQueueMaxSize);
+                    result.drainHandler(drained -> writeWaiting(result));
+                    WebSocket oldWs = websocket.getAndSet(result);
+                    if (oldWs != null) { // someone might have initialized it in parallel
+                        log.debug("Closing previous web socket connection");
+                        oldWs.close();
+                    }
+
+                    result.closeHandler(closed -> {
+                        log.debug("WebSocket disconnected");
+                        websocket.compareAndSet(result, null);
+                        WebSocket current = websocket.get();
+                        if (current == null || current.isClosed()) {
+                            failWaiting();
+                        } else {
+                            // a replaced web socket closed, the waiting writes go to the one replacing it
+                            writeWaiting(current);
+                        }
+                    });
+                    handler.handle(connectResult);
+                } else {
+                    handler.handle(Future.failedFuture(connectResult.cause()));
+                }
+            });
+        }
+
+        /**
+         * write the message, or hold it until the write queue of the web socket drains, so that a slow receiver
+         * slows down the sink instead of filling the memory with messages buffered by the web socket
+         */
+        private void send(WebSocket webSocket, Buffer serialized, Handler<AsyncResult<Void>> handler) {
+            pending.incrementAndGet();
+            // the verticle is deployed, the web socket has been connected from its context
+            verticle.context().runOnContext(ignored -> {
+                if (webSocket.writeQueueFull() || !waitingWrites.isEmpty()) {
+                    log.debug("write queue full, waiting for it to drain");
+                    waitingWrites.add(new PendingWrite(serialized, handler));
+                } else {
+                    write(webSocket, serialized, handler);
+                }
+            });
+        }
+
+        private void writeWaiting(WebSocket webSocket) {
+            while (!waitingWrites.isEmpty() && !webSocket.writeQueueFull()) {
+                PendingWrite waiting = waitingWrites.poll();
+                write(webSocket, waiting.serialized(), waiting.handler());
+            }
+        }
+
+        private void failWaiting() {
+            PendingWrite waiting;
+            while ((waiting = waitingWrites.poll()) != null) {
+                pending.decrementAndGet();
+                waiting.handler().handle(Future.failedFuture(
+                        new VertxException("WebSocket closed before the message was sent", true)));
+            }
+        }
+
+        private void write(WebSocket webSocket, Buffer serialized, Handler<AsyncResult<Void>> handler) {
+            log.debug("sending out the message");
+            Handler<AsyncResult<Void>> writeHandler = writeResult -> {
+                pending.decrementAndGet();
+                if (writeResult.succeeded()) {
+                    log.debug("success");
+                } else {
+                    Throwable cause = writeResult.cause();
+                    log.debug("failure", cause);
+                }
+                handler.handle(writeResult);
+            };
+            if (textFrames) {
+                webSocket.writeTextMessage(serialized.toString(), writeHandler);
             } else {
-                Throwable cause = writeResult.cause();
-                log.debug("failure", cause);
+                webSocket.write(serialized, writeHandler);
             }
-            handler.handle(writeResult);
-        });
+        }
+    }
+
+    /**
+     * deployed only to get an event loop context of its own for a connection
+     */
+    private static class ContextVerticle extends AbstractVerticle {
+        private Context context() {
+            return context;
+        }
+    }
+
+    private record PendingWrite(Buffer serialized, Handler<AsyncResult<Void>> handler) {
     }
 }
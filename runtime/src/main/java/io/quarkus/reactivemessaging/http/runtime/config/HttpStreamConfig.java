@@ -2,14 +2,39 @@ package io.quarkus.reactivemessaging.http.runtime.config;
 
 import java.util.Locale;
 
+import io.quarkus.reactivemessaging.http.runtime.BulkFormat;
 import io.vertx.core.http.HttpMethod;
 
 public class HttpStreamConfig extends StreamConfigBase {
     public final HttpMethod method;
+    /**
+     * format of requests carrying multiple messages, {@code null} if every request is a single message
+     */
+    public final BulkFormat bulkFormat;
+    /**
+     * whether the request body is processed as it arrives, without buffering it in memory
+     */
+    public final boolean streaming;
+    /**
+     * maximum size of a line of a streamed request body, in bytes
+     */
+    public final long maxLineSize;
 
-    public HttpStreamConfig(String path, String method, String name, int bufferSize, String deserializerName) {
-        super(bufferSize, path, deserializerName);
+    public HttpStreamConfig(String path, String method, String name, int bufferSize, String deserializerName,
+            boolean stripedBuffer, long bufferMaxBytes, String bulkFormat, boolean streaming, long maxLineSize) {
+        super(name, bufferSize, path, deserializerName, stripedBuffer, bufferMaxBytes);
         this.method = toHttpMethod(method, name);
+        this.bulkFormat = toBulkFormat(bulkFormat, name);
+        this.streaming = streaming;
+        this.maxLineSize = maxLineSize;
+        if (streaming && this.bulkFormat != BulkFormat.NDJSON) {
+            throw new IllegalStateException("Streaming is only supported with the ndjson bulk format, defined for connector "
+                    + name);
+        }
+        if (maxLineSize <= 0) {
+            throw new IllegalStateException("Invalid max line size " + maxLineSize + " defined for connector " + name
+                    + ", it must be greater than 0");
+        }
     }
 
     public String path() {
@@ -23,4 +48,15 @@ public class HttpStreamConfig extends StreamConfigBase {
             throw new IllegalStateException("Invalid http method '" + method + "' defined for connector " + connectorName);
         }
     }
+
+    private BulkFormat toBulkFormat(String bulkFormat, String connectorName) {
+        if (bulkFormat == null) {
+            return null;
+        }
+        try {
+            return BulkFormat.fromConfig(bulkFormat);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException("Invalid bulk format '" + bulkFormat + "' defined for connector " + connectorName);
+        }
+    }
 }
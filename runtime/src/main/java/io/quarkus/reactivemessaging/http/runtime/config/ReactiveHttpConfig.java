@@ -3,7 +3,9 @@ package io.quarkus.reactivemessaging.http.runtime.config;
 import static java.util.regex.Pattern.quote;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -73,7 +75,14 @@ public class ReactiveHttpConfig {
                 int bufferSize = getConfigProperty(IN_KEY, connectorName, "buffer-size",
                         QuarkusHttpConnector.DEFAULT_SOURCE_BUFFER, Integer.class);
                 String deserializerName = getConfigProperty(IN_KEY, connectorName, "deserializer", null, String.class);
-                streamConfigs.add(new HttpStreamConfig(path, method, connectorName, bufferSize, deserializerName));
+                boolean stripedBuffer = getConfigProperty(IN_KEY, connectorName, "striped-buffer", false, Boolean.class);
+                long bufferMaxBytes = getConfigProperty(IN_KEY, connectorName, "buffer-max-bytes", 0L, Long.class);
+                String bulkFormat = getConfigProperty(IN_KEY, connectorName, "bulk-format", null, String.class);
+                boolean streaming = getConfigProperty(IN_KEY, connectorName, "streaming", false, Boolean.class);
+                long maxLineSize = getConfigProperty(IN_KEY, connectorName, "max-line-size",
+                        QuarkusHttpConnector.DEFAULT_MAX_LINE_SIZE, Long.class);
+                streamConfigs.add(new HttpStreamConfig(path, method, connectorName, bufferSize, deserializerName,
+                        stripedBuffer, bufferMaxBytes, bulkFormat, streaming, maxLineSize));
             }
         }
         return streamConfigs;
@@ -96,7 +105,15 @@ public class ReactiveHttpConfig {
                 int bufferSize = getConfigProperty(IN_KEY, connectorName, "buffer-size",
                         QuarkusWebSocketConnector.DEFAULT_SOURCE_BUFFER, Integer.class);
                 String deserializerName = getConfigProperty(IN_KEY, connectorName, "deserializer", null, String.class);
-                streamConfigs.add(new WebSocketStreamConfig(path, bufferSize, deserializerName));
+                boolean stripedBuffer = getConfigProperty(IN_KEY, connectorName, "striped-buffer", false, Boolean.class);
+                long bufferMaxBytes = getConfigProperty(IN_KEY, connectorName, "buffer-max-bytes", 0L, Long.class);
+                String backpressure = getConfigProperty(IN_KEY, connectorName, "backpressure", "reject", String.class);
+                Integer compressionLevel = getConfigProperty(IN_KEY, connectorName, "compression-level", null,
+                        Integer.class);
+                boolean compressionNoContext = getConfigProperty(IN_KEY, connectorName, "compression-no-context", false,
+                        Boolean.class);
+                streamConfigs.add(new WebSocketStreamConfig(path, connectorName, bufferSize, deserializerName,
+                        stripedBuffer, bufferMaxBytes, backpressure, compressionLevel, compressionNoContext));
             }
         }
         return streamConfigs;
@@ -111,10 +128,45 @@ public class ReactiveHttpConfig {
         return readSerializers(OUT_PATTERN, OUT_KEY, MP_MSG_OUT, "serializer");
     }
 
+    /**
+     * Read names of the outgoing channels using the http or web socket connector, can be used in the build time
+     *
+     * @return set of channel names, without quotes
+     */
+    public static Set<String> readOutgoingChannels() {
+        return readChannels(OUT_PATTERN, OUT_KEY, MP_MSG_OUT);
+    }
+
+    /**
+     * Read names of the incoming channels using the http or web socket connector, can be used in the build time
+     *
+     * @return set of channel names, without quotes
+     */
+    public static Set<String> readIncomingChannels() {
+        return readChannels(IN_PATTERN, IN_KEY, MP_MSG_IN);
+    }
+
     public static List<String> readDeserializers() {
         return readSerializers(IN_PATTERN, IN_KEY, MP_MSG_IN, "deserializer");
     }
 
+    private static Set<String> readChannels(Pattern pattern, String key, String prefix) {
+        Set<String> result = new HashSet<>();
+        Config config = ConfigProviderResolver.instance().getConfig();
+        for (String propertyName : config.getPropertyNames()) {
+            String connectorName = getConnectorNameIfMatching(pattern, propertyName, key, prefix,
+                    QuarkusWebSocketConnector.NAME);
+            if (connectorName == null) {
+                connectorName = getConnectorNameIfMatching(pattern, propertyName, key, prefix,
+                        QuarkusHttpConnector.NAME);
+            }
+            if (connectorName != null) {
+                result.add(unquote(connectorName));
+            }
+        }
+        return result;
+    }
+
     private static List<String> readSerializers(Pattern pattern, String key, String message, String serializerKey) {
         List<String> result = new ArrayList<>();
         Config config = ConfigProviderResolver.instance().getConfig();
@@ -135,6 +187,13 @@ public class ReactiveHttpConfig {
         return result;
     }
 
+    private static String unquote(String channelName) {
+        if (channelName.length() > 1 && channelName.startsWith("\"") && channelName.endsWith("\"")) {
+            return channelName.substring(1, channelName.length() - 1);
+        }
+        return channelName;
+    }
+
     private static String getConnectorNameIfMatching(Pattern connectorPropertyPattern,
             String propertyName, String format, String prefix, String expectedConnectorType) {
         Matcher matcher = connectorPropertyPattern.matcher(propertyName);
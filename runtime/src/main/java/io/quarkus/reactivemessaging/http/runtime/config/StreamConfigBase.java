@@ -1,13 +1,26 @@
 package io.quarkus.reactivemessaging.http.runtime.config;
 
 public class StreamConfigBase {
+    public final String name;
     public final int bufferSize;
     public final String path;
     public final String deserializerName;
+    /**
+     * whether the buffer size is split into stripes, to lower the contention between the event loops
+     */
+    public final boolean stripedBuffer;
+    /**
+     * maximum total size of the payloads in the buffer, in bytes, 0 for no limit
+     */
+    public final long bufferMaxBytes;
 
-    public StreamConfigBase(int bufferSize, String path, String deserializerName) {
+    public StreamConfigBase(String name, int bufferSize, String path, String deserializerName, boolean stripedBuffer,
+            long bufferMaxBytes) {
+        this.name = name;
         this.path = path;
         this.bufferSize = bufferSize;
         this.deserializerName = deserializerName;
+        this.stripedBuffer = stripedBuffer;
+        this.bufferMaxBytes = bufferMaxBytes;
     }
 }
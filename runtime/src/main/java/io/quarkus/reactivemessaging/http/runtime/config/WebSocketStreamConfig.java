@@ -1,11 +1,45 @@
 package io.quarkus.reactivemessaging.http.runtime.config;
 
 public class WebSocketStreamConfig extends StreamConfigBase {
-    public WebSocketStreamConfig(String path, int bufferSize, String deserializerName) {
-        super(bufferSize, path, deserializerName);
+    /**
+     * whether a web socket is paused when the buffer is full, instead of rejecting the messages
+     */
+    public final boolean pauseWhenFull;
+    /**
+     * deflate compression level of the permessage-deflate extension, {@code null} to keep the default of the server
+     */
+    public final Integer compressionLevel;
+    /**
+     * whether the server allows the messages to be compressed without the context of the previous ones
+     */
+    public final boolean compressionNoContext;
+
+    public WebSocketStreamConfig(String path, String name, int bufferSize, String deserializerName,
+            boolean stripedBuffer, long bufferMaxBytes, String backpressure, Integer compressionLevel,
+            boolean compressionNoContext) {
+        super(name, bufferSize, path, deserializerName, stripedBuffer, bufferMaxBytes);
+        this.pauseWhenFull = toPauseWhenFull(backpressure, name);
+        this.compressionLevel = compressionLevel;
+        this.compressionNoContext = compressionNoContext;
+    }
+
+    /**
+     * @return whether the compression settings of the http server are customized for the stream
+     */
+    public boolean customizesCompression() {
+        return compressionLevel != null || compressionNoContext;
     }
 
     public String path() {
         return path;
     }
+
+    private boolean toPauseWhenFull(String backpressure, String connectorName) {
+        return switch (backpressure) {
+            case "reject" -> false;
+            case "pause" -> true;
+            default -> throw new IllegalStateException(
+                    "Invalid backpressure '" + backpressure + "' defined for connector " + connectorName);
+        };
+    }
 }
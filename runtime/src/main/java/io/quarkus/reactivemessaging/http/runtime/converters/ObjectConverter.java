@@ -1,37 +1,73 @@
 package io.quarkus.reactivemessaging.http.runtime.converters;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
 
 import org.eclipse.microprofile.reactive.messaging.Message;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import io.netty.buffer.ByteBufInputStream;
+import io.quarkus.reactivemessaging.http.runtime.serializers.Deserializer;
+import io.quarkus.reactivemessaging.http.runtime.serializers.DeserializerFactoryBase;
 import io.vertx.core.buffer.Buffer;
 
 /**
- * Converts message payload to objects of specified class.
+ * Converts message payload to objects of specified type, including parameterized types, e.g. {@code List<Dto>}.
+ * Reads the payload bytes directly, with a deserializer generated in build time for the target class if there is one,
+ * or with an {@link ObjectReader} cached per target type otherwise.
  *
  * Used as the last converter
  */
 @ApplicationScoped
 public class ObjectConverter extends JacksonBasedConverter {
 
+    @Inject
+    ObjectMapper mapper;
+
+    @Inject
+    DeserializerFactoryBase deserializerFactory;
+
+    private final Map<Type, ObjectReader> readers = new ConcurrentHashMap<>();
+
     @Override
     public boolean canConvert(Message<?> message, Type type) {
-        if (!(type instanceof Class)) {
+        Type rawType = type instanceof ParameterizedType ? ((ParameterizedType) type).getRawType() : type;
+        if (!(rawType instanceof Class)) {
             return false;
         }
-        Class<?> theClass = (Class<?>) type;
+        Class<?> theClass = (Class<?>) rawType;
         return message.getPayload() instanceof Buffer
-                && !Buffer.class.isAssignableFrom(theClass)
-                && Object.class.isAssignableFrom((Class<?>) type);
+                && !Buffer.class.isAssignableFrom(theClass);
     }
 
     @Override
     protected Message<?> doConvert(Message<?> message, Type type) {
         Buffer buffer = (Buffer) message.getPayload();
-        Object result = buffer.toJsonObject().mapTo((Class<?>) type);
-        return message.withPayload(result);
+        if (type instanceof Class) {
+            Deserializer<?> generated = deserializerFactory.getGeneratedDeserializer((Class<?>) type);
+            if (generated != null) {
+                return message.withPayload(generated.deserialize(buffer));
+            }
+        }
+        ObjectReader reader = readers.get(type);
+        if (reader == null) {
+            reader = mapper.readerFor(mapper.getTypeFactory().constructType(type));
+            readers.putIfAbsent(type, reader);
+        }
+        try (InputStream input = new ByteBufInputStream(buffer.getByteBuf())) {
+            return message.withPayload(reader.readValue(input));
+        } catch (IOException e) {
+            throw new IllegalArgumentException(e.getMessage(), e);
+        }
     }
 
     @Override
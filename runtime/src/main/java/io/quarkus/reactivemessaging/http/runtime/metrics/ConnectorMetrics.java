@@ -0,0 +1,28 @@
+package io.quarkus.reactivemessaging.http.runtime.metrics;
+
+/**
+ * Metrics of the http and web socket connectors.
+ * <p>
+ * The implementation is registered as a bean only if the application uses Micrometer, the connectors skip
+ * the instrumentation otherwise.
+ */
+public interface ConnectorMetrics {
+
+    /**
+     * create metrics of an outgoing channel
+     *
+     * @param connector name of the connector
+     * @param channel name of the channel
+     * @return metrics to record the sends of the channel to
+     */
+    SinkMetrics sink(String connector, String channel);
+
+    /**
+     * create metrics of an incoming channel
+     *
+     * @param connector name of the connector
+     * @param channel name of the channel
+     * @return metrics to record the incoming requests or web socket messages of the channel to
+     */
+    SourceMetrics source(String connector, String channel);
+}
@@ -0,0 +1,171 @@
+package io.quarkus.reactivemessaging.http.runtime.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import jakarta.inject.Inject;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * {@link ConnectorMetrics} backed by Micrometer.
+ * Registered as an application scoped bean by the deployment processor if Micrometer is present
+ */
+public class MicrometerConnectorMetrics implements ConnectorMetrics {
+
+    static final String PREFIX = "messaging.http.";
+
+    @Inject
+    MeterRegistry registry;
+
+    @Override
+    public SinkMetrics sink(String connector, String channel) {
+        return new MicrometerSinkMetrics(registry, tags(connector, channel));
+    }
+
+    @Override
+    public SourceMetrics source(String connector, String channel) {
+        return new MicrometerSourceMetrics(registry, tags(connector, channel));
+    }
+
+    private static Tags tags(String connector, String channel) {
+        return Tags.of("connector", connector, "channel", channel);
+    }
+
+    private static void registerGauge(MeterRegistry registry, String name, String description, Tags tags,
+            Supplier<Number> value) {
+        Gauge.builder(PREFIX + name, value)
+                .description(description)
+                .tags(tags)
+                .strongReference(true)
+                .register(registry);
+    }
+
+    private static class MicrometerSinkMetrics implements SinkMetrics {
+        private final MeterRegistry registry;
+        private final Tags tags;
+        private final Timer successfulSends;
+        private final Timer failedSends;
+        private final Counter retries;
+        private final Counter nacks;
+        private final Counter hedges;
+        // status code -> counter, the meters are looked up in the registry only once per status code
+        private final Map<Integer, Counter> responses = new ConcurrentHashMap<>();
+
+        private MicrometerSinkMetrics(MeterRegistry registry, Tags tags) {
+            this.registry = registry;
+            this.tags = tags;
+            this.successfulSends = sendTimer("success");
+            this.failedSends = sendTimer("failure");
+            this.retries = Counter.builder(PREFIX + "sink.retries")
+                    .description("The number of repeated attempts to send a message")
+                    .tags(tags)
+                    .register(registry);
+            this.nacks = Counter.builder(PREFIX + "sink.nacks")
+                    .description("The number of messages that could not be sent")
+                    .tags(tags)
+                    .register(registry);
+            this.hedges = Counter.builder(PREFIX + "sink.hedges")
+                    .description("The number of requests sent again because the first one was slow to respond")
+                    .tags(tags)
+                    .register(registry);
+        }
+
+        private Timer sendTimer(String outcome) {
+            return Timer.builder(PREFIX + "sink.send")
+                    .description("The duration of attempts to send a message or a batch of messages")
+                    .tags(tags)
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(registry);
+        }
+
+        @Override
+        public void registerInflight(Supplier<Number> inflight) {
+            registerGauge(registry, "sink.inflight", "The number of messages being sent", tags, inflight);
+        }
+
+        @Override
+        public void registerConcurrencyLimit(Supplier<Number> limit) {
+            registerGauge(registry, "sink.concurrency.limit", "The current limit of concurrent sends", tags, limit);
+        }
+
+        @Override
+        public void registerCircuitBreakerState(Supplier<Number> state) {
+            registerGauge(registry, "sink.circuit.breaker.state",
+                    "The state of the circuit breaker: 0 if closed, 1 if open, 2 if half-open", tags, state);
+        }
+
+        @Override
+        public void recordSend(long durationNanos, boolean success) {
+            (success ? successfulSends : failedSends).record(durationNanos, TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public void recordRetry() {
+            retries.increment();
+        }
+
+        @Override
+        public void recordNack() {
+            nacks.increment();
+        }
+
+        @Override
+        public void recordHedge() {
+            hedges.increment();
+        }
+
+        @Override
+        public void recordResponse(int statusCode) {
+            responses.computeIfAbsent(statusCode, code -> Counter.builder(PREFIX + "sink.responses")
+                    .description("The number of responses to http requests, by status code")
+                    .tags(tags)
+                    .tag("status", String.valueOf(code))
+                    .register(registry))
+                    .increment();
+        }
+    }
+
+    private static class MicrometerSourceMetrics implements SourceMetrics {
+        private final MeterRegistry registry;
+        private final Tags tags;
+        private final Counter requests;
+        private final Counter rejections;
+
+        private MicrometerSourceMetrics(MeterRegistry registry, Tags tags) {
+            this.registry = registry;
+            this.tags = tags;
+            this.requests = Counter.builder(PREFIX + "source.requests")
+                    .description("The number of incoming http requests or web socket messages")
+                    .tags(tags)
+                    .register(registry);
+            this.rejections = Counter.builder(PREFIX + "source.rejections")
+                    .description("The number of incoming requests or web socket messages rejected because the buffer was full")
+                    .tags(tags)
+                    .register(registry);
+        }
+
+        @Override
+        public void registerQueueSize(Supplier<Number> queueSize) {
+            registerGauge(registry, "source.queue.size", "The number of messages waiting for the consumer", tags,
+                    queueSize);
+        }
+
+        @Override
+        public void recordRequest() {
+            requests.increment();
+        }
+
+        @Override
+        public void recordRejection() {
+            rejections.increment();
+        }
+    }
+}
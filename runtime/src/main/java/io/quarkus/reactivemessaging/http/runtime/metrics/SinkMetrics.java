@@ -0,0 +1,74 @@
+package io.quarkus.reactivemessaging.http.runtime.metrics;
+
+import java.util.function.Supplier;
+
+/**
+ * Metrics of an outgoing channel. The methods are invoked for every message, they should not block
+ */
+public interface SinkMetrics {
+
+    /**
+     * metrics that record nothing, used if Micrometer is not present
+     */
+    SinkMetrics NOOP = new SinkMetrics() {
+    };
+
+    /**
+     * register a gauge reporting the number of messages being sent
+     *
+     * @param inflight supplier of the number of messages being sent
+     */
+    default void registerInflight(Supplier<Number> inflight) {
+    }
+
+    /**
+     * register a gauge reporting the current adaptive limit of concurrent sends
+     *
+     * @param limit supplier of the current limit
+     */
+    default void registerConcurrencyLimit(Supplier<Number> limit) {
+    }
+
+    /**
+     * register a gauge reporting the state of the circuit breaker: 0 if closed, 1 if open, 2 if half-open
+     *
+     * @param state supplier of the current state
+     */
+    default void registerCircuitBreakerState(Supplier<Number> state) {
+    }
+
+    /**
+     * record a single attempt to send a message or a batch of messages
+     *
+     * @param durationNanos duration of the attempt
+     * @param success whether the attempt succeeded
+     */
+    default void recordSend(long durationNanos, boolean success) {
+    }
+
+    /**
+     * record a repeated attempt to send a message or a batch of messages
+     */
+    default void recordRetry() {
+    }
+
+    /**
+     * record a request sent again because the first one was slow to respond
+     */
+    default void recordHedge() {
+    }
+
+    /**
+     * record a message nacked after all the attempts to send it have failed
+     */
+    default void recordNack() {
+    }
+
+    /**
+     * record a status code of a response to an http request
+     *
+     * @param statusCode the status code
+     */
+    default void recordResponse(int statusCode) {
+    }
+}
@@ -0,0 +1,36 @@
+package io.quarkus.reactivemessaging.http.runtime.metrics;
+
+import java.util.function.Supplier;
+
+/**
+ * Metrics of an incoming channel. The methods are invoked on the event loop, they should not block
+ */
+public interface SourceMetrics {
+
+    /**
+     * metrics that record nothing, used if Micrometer is not present
+     */
+    SourceMetrics NOOP = new SourceMetrics() {
+    };
+
+    /**
+     * register a gauge reporting the number of messages emitted and not consumed yet
+     *
+     * @param queueSize supplier of the number of messages waiting for the consumer
+     */
+    default void registerQueueSize(Supplier<Number> queueSize) {
+    }
+
+    /**
+     * record an incoming http request or web socket message
+     */
+    default void recordRequest() {
+    }
+
+    /**
+     * record a request or a web socket message rejected because the buffer of the channel was full,
+     * i.e. responded with 503 or {@code BUFFER_OVERFLOW}
+     */
+    default void recordRejection() {
+    }
+}
@@ -11,6 +11,11 @@ public class BufferSerializer implements Serializer<Buffer> {
         return payload instanceof Buffer;
     }
 
+    @Override
+    public boolean handlesType(Class<?> payloadType) {
+        return Buffer.class.isAssignableFrom(payloadType);
+    }
+
     @Override
     public Buffer serialize(Buffer payload) {
         return payload;
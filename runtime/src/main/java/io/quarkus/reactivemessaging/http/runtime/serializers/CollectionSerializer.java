@@ -3,27 +3,42 @@ package io.quarkus.reactivemessaging.http.runtime.serializers;
 import java.util.Collection;
 
 import io.vertx.core.buffer.Buffer;
-import io.vertx.core.json.JsonArray;
-import io.vertx.core.json.JsonObject;
+import io.vertx.core.json.jackson.DatabindCodec;
 
 /**
  * serializer of collections. Serializes collections to a json string inside a Buffer
  */
 public class CollectionSerializer implements Serializer<Collection<?>> {
 
+    private final JacksonBufferWriter writer;
+
+    /**
+     * creates a serializer writing with the Vert.x {@link DatabindCodec#mapper() mapper}
+     */
+    public CollectionSerializer() {
+        this(new JacksonBufferWriter(DatabindCodec::mapper));
+    }
+
+    /**
+     * @param writer writer of the serializer factory, using the application's ObjectMapper
+     */
+    CollectionSerializer(JacksonBufferWriter writer) {
+        this.writer = writer;
+    }
+
     @Override
     public boolean handles(Object payload) {
         return payload instanceof Collection;
     }
 
     @Override
-    public Buffer serialize(Collection<?> payload) {
-        JsonArray array = new JsonArray();
-        for (Object element : payload) {
-            array.add(JsonObject.mapFrom(element));
-        }
+    public boolean handlesType(Class<?> payloadType) {
+        return Collection.class.isAssignableFrom(payloadType);
+    }
 
-        return array.toBuffer();
+    @Override
+    public Buffer serialize(Collection<?> payload) {
+        return writer.write(payload);
     }
 
     @Override
@@ -4,12 +4,24 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 
+import jakarta.inject.Inject;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.vertx.core.json.jackson.DatabindCodec;
+
 /**
  * a base superclass for a SerializerFactory that is generated in build time
  */
 public abstract class DeserializerFactoryBase {
 
+    @Inject
+    ObjectMapper mapper;
+
+    private final JacksonBufferWriter jsonWriter = new JacksonBufferWriter(this::objectMapper);
+
     private final Map<String, Deserializer<?>> deserializersByClassName = new HashMap<>();
+    private final Map<Class<?>, Deserializer<?>> generatedDeserializers = new HashMap<>();
 
     protected DeserializerFactoryBase() {
         initAdditionalSerializers();
@@ -28,10 +40,33 @@ public abstract class DeserializerFactoryBase {
         return name != null ? Optional.ofNullable((Deserializer<T>) deserializersByClassName.get(name)) : Optional.empty();
     }
 
+    /**
+     * get a {@link Deserializer} generated in build time for a given payload type
+     *
+     * @param payloadType type of the payload
+     * @param <T> type of the payload
+     * @return the generated deserializer or null if none was generated for the type
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Deserializer<T> getGeneratedDeserializer(Class<T> payloadType) {
+        return (Deserializer<T>) generatedDeserializers.get(payloadType);
+    }
+
     public void addSerializer(String className, Deserializer<?> serializer) {
         deserializersByClassName.put(className, serializer);
     }
 
+    @SuppressWarnings("unused") // used by a generated subclass
+    public void addGeneratedSerializer(GeneratedDeserializer<?> deserializer) {
+        deserializer.setJsonWriter(jsonWriter);
+        generatedDeserializers.put(deserializer.getPayloadType(), deserializer);
+    }
+
+    private ObjectMapper objectMapper() {
+        // not injected outside of a Quarkus application, e.g. in benchmarks
+        return mapper != null ? mapper : DatabindCodec.mapper();
+    }
+
     /*
      * method that initializes additional serializers (used by user's config).
      * Implemented in the generated subclass
@@ -0,0 +1,179 @@
+package io.quarkus.reactivemessaging.http.runtime.serializers;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.UnrecognizedPropertyException;
+
+import io.netty.buffer.ByteBufInputStream;
+import io.vertx.core.buffer.Buffer;
+
+/**
+ * a base superclass for deserializers generated in build time for payload classes of the incoming channels.
+ * <p>
+ * The generated subclass creates the payload with its no-args constructor and sets the bean properties by invoking
+ * the setters directly, instead of introspecting the payload class with reflection. Property values that are not
+ * strings or primitives are read with the application's {@link ObjectMapper}.
+ * If the {@link ObjectMapper} is configured in a way that changes how the bean properties are read,
+ * the payload is deserialized with the {@link ObjectMapper} instead.
+ *
+ * @param <T> type of the payload
+ */
+public abstract class GeneratedDeserializer<T> implements Deserializer<T> {
+
+    private final Class<T> payloadType;
+    private final Map<String, JavaType> propertyTypes = new ConcurrentHashMap<>();
+    // set by the factory the deserializer is added to
+    private JacksonBufferWriter jsonWriter;
+
+    protected GeneratedDeserializer(Class<T> payloadType) {
+        this.payloadType = payloadType;
+    }
+
+    void setJsonWriter(JacksonBufferWriter jsonWriter) {
+        this.jsonWriter = jsonWriter;
+    }
+
+    /**
+     * @return a new, empty instance of the payload
+     */
+    protected abstract T newInstance();
+
+    /**
+     * read a property value and set it on the payload
+     *
+     * @param payload the payload
+     * @param name name of the property
+     * @param parser parser positioned at the property value
+     * @return false if the property is not known
+     * @throws IOException on a failure to read the value
+     */
+    protected abstract boolean readProperty(T payload, String name, JsonParser parser) throws IOException;
+
+    /**
+     * @return the type of payloads created by this deserializer
+     */
+    public Class<T> getPayloadType() {
+        return payloadType;
+    }
+
+    @Override
+    public T deserialize(Buffer payload) {
+        ObjectMapper mapper = jsonWriter.mapper();
+        try (InputStream input = new ByteBufInputStream(payload.getByteBuf());
+                JsonParser parser = mapper.createParser(input)) {
+            JsonToken token = parser.nextToken();
+            if (!jsonWriter.isMapperSupported() || token != JsonToken.START_OBJECT) {
+                // let the ObjectMapper handle the nulls, coercions and errors
+                return mapper.readValue(parser, payloadType);
+            }
+            T result = newInstance();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                parser.nextToken();
+                if (!readProperty(result, name, parser)) {
+                    if (mapper.isEnabled(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)) {
+                        throw UnrecognizedPropertyException.from(parser, result, name, null);
+                    }
+                    parser.skipChildren();
+                }
+            }
+            return result;
+        } catch (IOException e) {
+            throw new IllegalArgumentException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * read a value of a property that is not a string or a primitive
+     *
+     * @param parser parser positioned at the property value
+     * @param canonicalType canonical name of the property type, e.g. {@code java.util.List<org.acme.Item>}
+     * @return the value
+     * @throws IOException on a failure to read the value
+     */
+    protected Object readValue(JsonParser parser, String canonicalType) throws IOException {
+        JavaType type = propertyTypes.get(canonicalType);
+        if (type == null) {
+            type = jsonWriter.mapper().getTypeFactory().constructFromCanonical(canonicalType);
+            propertyTypes.putIfAbsent(canonicalType, type);
+        }
+        return parser.currentToken() == JsonToken.VALUE_NULL ? null : parser.getCodec().readValue(parser, type);
+    }
+
+    protected static String readString(JsonParser parser) throws IOException {
+        switch (parser.currentToken()) {
+            case VALUE_STRING:
+                return parser.getText();
+            case VALUE_NULL:
+                return null;
+            default:
+                return parser.readValueAs(String.class);
+        }
+    }
+
+    protected static boolean readBoolean(JsonParser parser) throws IOException {
+        switch (parser.currentToken()) {
+            case VALUE_TRUE:
+                return true;
+            case VALUE_FALSE:
+            case VALUE_NULL:
+                return false;
+            default:
+                return parser.readValueAs(Boolean.class);
+        }
+    }
+
+    protected static int readInt(JsonParser parser) throws IOException {
+        switch (parser.currentToken()) {
+            case VALUE_NUMBER_INT:
+                return parser.getIntValue();
+            case VALUE_NULL:
+                return 0;
+            default:
+                return parser.readValueAs(Integer.class);
+        }
+    }
+
+    protected static long readLong(JsonParser parser) throws IOException {
+        switch (parser.currentToken()) {
+            case VALUE_NUMBER_INT:
+                return parser.getLongValue();
+            case VALUE_NULL:
+                return 0L;
+            default:
+                return parser.readValueAs(Long.class);
+        }
+    }
+
+    protected static float readFloat(JsonParser parser) throws IOException {
+        switch (parser.currentToken()) {
+            case VALUE_NUMBER_INT:
+            case VALUE_NUMBER_FLOAT:
+                return parser.getFloatValue();
+            case VALUE_NULL:
+                return 0f;
+            default:
+                return parser.readValueAs(Float.class);
+        }
+    }
+
+    protected static double readDouble(JsonParser parser) throws IOException {
+        switch (parser.currentToken()) {
+            case VALUE_NUMBER_INT:
+            case VALUE_NUMBER_FLOAT:
+                return parser.getDoubleValue();
+            case VALUE_NULL:
+                return 0d;
+            default:
+                return parser.readValueAs(Double.class);
+        }
+    }
+}
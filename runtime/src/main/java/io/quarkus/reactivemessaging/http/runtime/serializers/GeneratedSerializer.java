@@ -0,0 +1,102 @@
+package io.quarkus.reactivemessaging.http.runtime.serializers;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufOutputStream;
+import io.netty.buffer.Unpooled;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.EncodeException;
+
+/**
+ * a base superclass for serializers generated in build time for payload classes of the outgoing channels.
+ * <p>
+ * The generated subclass writes the bean properties by invoking the getters directly, instead of introspecting
+ * the payload class with reflection. Property values that are not strings or primitives are written with the
+ * application's {@link ObjectMapper}.
+ * If the {@link ObjectMapper} is configured in a way that changes how the bean properties are written,
+ * e.g. with a naming strategy or mix-ins, the payload is serialized with the {@link ObjectMapper} instead.
+ *
+ * @param <T> type of the payload
+ */
+public abstract class GeneratedSerializer<T> implements Serializer<T> {
+
+    private static final int INITIAL_CAPACITY = 256;
+
+    private final Class<T> payloadType;
+    // set by the factory the serializer is added to
+    private JacksonBufferWriter jsonWriter;
+
+    protected GeneratedSerializer(Class<T> payloadType) {
+        this.payloadType = payloadType;
+    }
+
+    void setJsonWriter(JacksonBufferWriter jsonWriter) {
+        this.jsonWriter = jsonWriter;
+    }
+
+    /**
+     * write the properties of the payload, between the start and the end of a JSON object
+     *
+     * @param payload the payload
+     * @param generator generator to write to
+     * @throws IOException on a failure to write
+     */
+    protected abstract void writeProperties(T payload, JsonGenerator generator) throws IOException;
+
+    @Override
+    public boolean handles(Object payload) {
+        return payload != null && payload.getClass() == payloadType;
+    }
+
+    @Override
+    public boolean handlesType(Class<?> type) {
+        return type == payloadType;
+    }
+
+    @Override
+    public Buffer serialize(T payload) {
+        if (!jsonWriter.isMapperSupported()) {
+            return jsonWriter.write(payload);
+        }
+        ByteBuf byteBuf = Unpooled.buffer(INITIAL_CAPACITY);
+        try (OutputStream out = new ByteBufOutputStream(byteBuf);
+                JsonGenerator generator = jsonWriter.mapper().createGenerator(out)) {
+            generator.writeStartObject();
+            writeProperties(payload, generator);
+            generator.writeEndObject();
+        } catch (IOException e) {
+            throw new EncodeException("Failed to encode as JSON: " + e.getMessage(), e);
+        }
+        return Buffer.buffer(byteBuf);
+    }
+
+    /**
+     * @param mapper the application's ObjectMapper
+     * @return true if the mapper writes and reads bean properties the way the generated serializers and
+     *         deserializers do
+     */
+    static boolean isMapperSupported(ObjectMapper mapper) {
+        JsonInclude.Include inclusion = mapper.getSerializationConfig().getDefaultPropertyInclusion()
+                .getValueInclusion();
+        return mapper.getPropertyNamingStrategy() == null
+                && mapper.mixInCount() == 0
+                && (inclusion == JsonInclude.Include.ALWAYS || inclusion == JsonInclude.Include.USE_DEFAULTS)
+                && mapper.isEnabled(MapperFeature.AUTO_DETECT_GETTERS)
+                && mapper.isEnabled(MapperFeature.AUTO_DETECT_IS_GETTERS)
+                && mapper.isEnabled(MapperFeature.AUTO_DETECT_SETTERS)
+                && !mapper.isEnabled(MapperFeature.USE_STD_BEAN_NAMING)
+                && !mapper.isEnabled(MapperFeature.ACCEPT_CASE_INSENSITIVE_PROPERTIES)
+                && !mapper.isEnabled(SerializationFeature.WRAP_ROOT_VALUE)
+                && !mapper.isEnabled(DeserializationFeature.UNWRAP_ROOT_VALUE)
+                && !mapper.isEnabled(DeserializationFeature.FAIL_ON_NULL_FOR_PRIMITIVES);
+    }
+}
@@ -0,0 +1,77 @@
+package io.quarkus.reactivemessaging.http.runtime.serializers;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufOutputStream;
+import io.netty.buffer.Unpooled;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.EncodeException;
+
+/**
+ * Writes objects as JSON straight into a {@link Buffer}, without building an intermediate JSON tree.
+ * Uses the application's {@link ObjectMapper} and caches an {@link ObjectWriter} per payload class.
+ * <p>
+ * An instance is owned by a serializer or deserializer factory, so that the mapper and the cached writers go away
+ * with the application that created them, e.g. on a dev mode reload.
+ */
+final class JacksonBufferWriter {
+
+    private static final int INITIAL_CAPACITY = 256;
+
+    private final Supplier<ObjectMapper> mapperSupplier;
+    private final Map<Class<?>, ObjectWriter> writers = new ConcurrentHashMap<>();
+    private volatile ObjectMapper mapper;
+    private volatile Boolean mapperSupported;
+
+    /**
+     * @param mapperSupplier supplies the mapper on the first use, as the factory gets it injected after it is created
+     */
+    JacksonBufferWriter(Supplier<ObjectMapper> mapperSupplier) {
+        this.mapperSupplier = mapperSupplier;
+    }
+
+    Buffer write(Object payload) {
+        ObjectWriter writer = writers.get(payload.getClass());
+        if (writer == null) {
+            writer = mapper().writerFor(payload.getClass());
+            writers.putIfAbsent(payload.getClass(), writer);
+        }
+        ByteBuf byteBuf = Unpooled.buffer(INITIAL_CAPACITY);
+        try (OutputStream out = new ByteBufOutputStream(byteBuf)) {
+            writer.writeValue(out, payload);
+        } catch (IOException e) {
+            throw new EncodeException("Failed to encode as JSON: " + e.getMessage(), e);
+        }
+        return Buffer.buffer(byteBuf);
+    }
+
+    ObjectMapper mapper() {
+        ObjectMapper result = mapper;
+        if (result == null) {
+            result = mapperSupplier.get();
+            mapper = result;
+        }
+        return result;
+    }
+
+    /**
+     * @return true if the mapper writes and reads bean properties the way the generated serializers and deserializers
+     *         do, computed once from the mapper of the factory
+     */
+    boolean isMapperSupported() {
+        Boolean result = mapperSupported;
+        if (result == null) {
+            result = GeneratedSerializer.isMapperSupported(mapper());
+            mapperSupported = result;
+        }
+        return result;
+    }
+}
@@ -10,6 +10,11 @@ public class JakartaJsonArraySerializer implements Serializer<JsonArray> {
         return payload instanceof JsonArray;
     }
 
+    @Override
+    public boolean handlesType(Class<?> payloadType) {
+        return JsonArray.class.isAssignableFrom(payloadType);
+    }
+
     @Override
     public Buffer serialize(JsonArray payload) {
         return Buffer.buffer(payload.toString());
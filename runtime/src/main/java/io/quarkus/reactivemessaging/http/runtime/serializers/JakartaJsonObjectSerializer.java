@@ -10,6 +10,11 @@ public class JakartaJsonObjectSerializer implements Serializer<JsonObject> {
         return payload instanceof JsonObject;
     }
 
+    @Override
+    public boolean handlesType(Class<?> payloadType) {
+        return JsonObject.class.isAssignableFrom(payloadType);
+    }
+
     @Override
     public Buffer serialize(JsonObject payload) {
         return Buffer.buffer(payload.toString());
@@ -16,6 +16,11 @@ public class JsonArraySerializer implements Serializer<JsonArray> {
         return payload instanceof JsonArray;
     }
 
+    @Override
+    public boolean handlesType(Class<?> payloadType) {
+        return JsonArray.class.isAssignableFrom(payloadType);
+    }
+
     @Override
     public Buffer serialize(JsonArray payload) {
         return payload.toBuffer();
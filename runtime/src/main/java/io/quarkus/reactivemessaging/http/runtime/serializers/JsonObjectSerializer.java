@@ -12,6 +12,11 @@ public class JsonObjectSerializer implements Serializer<JsonObject> {
         return payload instanceof JsonObject;
     }
 
+    @Override
+    public boolean handlesType(Class<?> payloadType) {
+        return JsonObject.class.isAssignableFrom(payloadType);
+    }
+
     @Override
     public Buffer serialize(JsonObject payload) {
         return payload.toBuffer();
@@ -11,6 +11,11 @@ public class NumberSerializer implements Serializer<Number> {
         return payload instanceof Number;
     }
 
+    @Override
+    public boolean handlesType(Class<?> payloadType) {
+        return Number.class.isAssignableFrom(payloadType);
+    }
+
     @Override
     public Buffer serialize(Number payload) {
         return Buffer.buffer(payload.toString());
@@ -1,18 +1,42 @@
 package io.quarkus.reactivemessaging.http.runtime.serializers;
 
 import io.vertx.core.buffer.Buffer;
-import io.vertx.core.json.JsonObject;
+import io.vertx.core.json.jackson.DatabindCodec;
 
+/**
+ * Serializer of arbitrary objects. Writes them as JSON straight into a Buffer, using the ObjectMapper of the factory
+ */
 public class ObjectSerializer implements Serializer<Object> {
 
+    private final JacksonBufferWriter writer;
+
+    /**
+     * creates a serializer writing with the Vert.x {@link DatabindCodec#mapper() mapper}
+     */
+    public ObjectSerializer() {
+        this(new JacksonBufferWriter(DatabindCodec::mapper));
+    }
+
+    /**
+     * @param writer writer of the serializer factory, using the application's ObjectMapper
+     */
+    ObjectSerializer(JacksonBufferWriter writer) {
+        this.writer = writer;
+    }
+
     @Override
     public boolean handles(Object payload) {
         return payload instanceof Object;
     }
 
+    @Override
+    public boolean handlesType(Class<?> payloadType) {
+        return true;
+    }
+
     @Override
     public Buffer serialize(Object payload) {
-        return JsonObject.mapFrom(payload).toBuffer();
+        return writer.write(payload);
     }
 
     @Override
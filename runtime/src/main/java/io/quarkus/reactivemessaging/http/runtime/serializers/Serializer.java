@@ -26,6 +26,19 @@ public interface Serializer<PayloadType> {
      */
     boolean handles(Object payload);
 
+    /**
+     * if the serializer can handle every payload of a given type.
+     * <p>
+     * Used to resolve the serializer once per payload type instead of once per message.
+     * Serializers that decide based on the payload value, rather than its type, should return false.
+     *
+     * @param payloadType the type of the payload
+     * @return true iff the serializer can handle all instances of the type
+     */
+    default boolean handlesType(Class<?> payloadType) {
+        return false;
+    }
+
     /**
      * serialize the payload
      *
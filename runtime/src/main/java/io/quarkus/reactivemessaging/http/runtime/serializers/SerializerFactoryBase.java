@@ -6,28 +6,55 @@ import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import jakarta.inject.Inject;
 
 import org.jboss.logging.Logger;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.vertx.core.json.jackson.DatabindCodec;
+
 /**
  * a base superclass for a SerializerFactory that is generated in build time
  */
 public abstract class SerializerFactoryBase {
     private static final Logger log = Logger.getLogger(SerializerFactoryBase.class);
 
+    @Inject
+    ObjectMapper mapper;
+
+    private final JacksonBufferWriter jsonWriter = new JacksonBufferWriter(this::objectMapper);
+
     private final Map<String, Serializer<?>> serializersByClassName = new HashMap<>();
     private final List<Serializer<?>> predefinedSerializers = new ArrayList<>();
+    private final Set<String> reportedMismatches = ConcurrentHashMap.newKeySet();
+
+    // predefined serializers decide based on the payload type only, resolve them once per type
+    private final ClassValue<Serializer<?>> predefinedSerializersByType = new ClassValue<>() {
+        @Override
+        protected Serializer<?> computeValue(Class<?> type) {
+            for (Serializer<?> serializer : predefinedSerializers) {
+                if (serializer.handlesType(type)) {
+                    return serializer;
+                }
+            }
+            return null;
+        }
+    };
 
     protected SerializerFactoryBase() {
         predefinedSerializers.add(new JsonObjectSerializer());
         predefinedSerializers.add(new JsonArraySerializer());
         predefinedSerializers.add(new StringSerializer());
         predefinedSerializers.add(new BufferSerializer());
-        predefinedSerializers.add(new CollectionSerializer());
+        predefinedSerializers.add(new CollectionSerializer(jsonWriter));
         predefinedSerializers.add(new NumberSerializer());
         predefinedSerializers.add(new JakartaJsonObjectSerializer());
         predefinedSerializers.add(new JakartaJsonArraySerializer());
-        predefinedSerializers.add(new ObjectSerializer());
+        predefinedSerializers.add(new ObjectSerializer(jsonWriter));
 
         predefinedSerializers.sort(Comparator.comparingInt(Serializer::getPriority));
         Collections.reverse(predefinedSerializers);
@@ -61,18 +88,53 @@ public abstract class SerializerFactoryBase {
             }
             if (serializer.handles(payload)) {
                 return serializer;
-            } else {
+            } else if (reportedMismatches.add(name + ":" + payload.getClass().getName())) {
                 log.warnf("Specified serializer (%s) does not handle the payload type %s", name, payload.getClass());
             }
         }
-        for (Serializer<?> serializer : predefinedSerializers) {
-            if (serializer.handles(payload)) {
-                return (Serializer<T>) serializer;
-            }
+        Serializer<?> serializer = predefinedSerializersByType.get(payload.getClass());
+        if (serializer != null) {
+            return (Serializer<T>) serializer;
         }
         throw new IllegalArgumentException("No predefined serializer found matching class: " + payload.getClass());
     }
 
+    /**
+     * resolve the predefined serializer for a payload type known upfront, e.g. from an {@code @Outgoing} method
+     * signature, so that the first message of the type does not pay for the resolution.
+     * Called by the generated subclass
+     *
+     * @param payloadClassName the name of the payload class
+     */
+    @SuppressWarnings("unused") // used by a generated subclass
+    public void resolveAhead(String payloadClassName) {
+        try {
+            Class<?> payloadType = Class.forName(payloadClassName, false, Thread.currentThread().getContextClassLoader());
+            predefinedSerializersByType.get(payloadType);
+        } catch (ClassNotFoundException | LinkageError e) {
+            log.debugf(e, "Unable to resolve a serializer ahead of time for %s", payloadClassName);
+        }
+    }
+
+    /**
+     * register a serializer generated in build time for a payload class of an outgoing channel.
+     * Called by the generated subclass
+     *
+     * @param serializer the generated serializer
+     */
+    @SuppressWarnings("unused") // used by a generated subclass
+    public void addGeneratedSerializer(GeneratedSerializer<?> serializer) {
+        // a generated serializer handles exactly one class, none of the other predefined serializers but the
+        // ObjectSerializer handles it
+        serializer.setJsonWriter(jsonWriter);
+        predefinedSerializers.add(0, serializer);
+    }
+
+    private ObjectMapper objectMapper() {
+        // not injected outside of a Quarkus application, e.g. in benchmarks
+        return mapper != null ? mapper : DatabindCodec.mapper();
+    }
+
     @SuppressWarnings("unused") // used by a generated subclass
     public void addSerializer(String className, Serializer<?> serializer) {
         serializersByClassName.put(className, serializer);
@@ -11,6 +11,11 @@ public class StringSerializer implements Serializer<String> {
         return payload instanceof String;
     }
 
+    @Override
+    public boolean handlesType(Class<?> payloadType) {
+        return String.class.isAssignableFrom(payloadType);
+    }
+
     @Override
     public Buffer serialize(String payload) {
         return Buffer.buffer(payload);